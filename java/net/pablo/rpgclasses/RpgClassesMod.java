@@ -3,9 +3,12 @@ package net.pablo.rpgclasses;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.BuildCreativeModeTabContentsEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.pablo.rpgclasses.config.ServerConfig;
 import net.pablo.rpgclasses.effect.ModEffects;
 import net.pablo.rpgclasses.item.ModCreativeModeTabs;
 import net.pablo.rpgclasses.item.ModItems;
@@ -13,7 +16,6 @@ import net.pablo.rpgclasses.keybinds.KeyBindings;
 import net.pablo.rpgclasses.network.NetworkHandler;
 import net.pablo.rpgclasses.setup.ModIcons;
 import net.pablo.rpgclasses.skills.PhantomStrikeManager;
-import net.pablo.rpgclasses.skills.SeismicSmashManager;
 
 @Mod(RpgClassesMod.MOD_ID)
 public class RpgClassesMod {
@@ -30,6 +32,8 @@ public class RpgClassesMod {
         ModItems.ITEMS.register(modEventBus);
         ModEffects.EFFECTS.register(modEventBus);
 
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, ServerConfig.SPEC);
+
 
     }
 
@@ -41,8 +45,6 @@ public class RpgClassesMod {
         // Register keybindings (works in your old style)
         MinecraftForge.EVENT_BUS.addListener(KeyBindings::register);
 
-        // Register SkybreakerStrike events
-        MinecraftForge.EVENT_BUS.addListener(SeismicSmashManager::onServerTick);
         // Register network channel
         NetworkHandler.register();
 
@@ -18,8 +18,8 @@ public class CapabilityEvents {
 
     @SubscribeEvent
     public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
-        if (event.getObject() instanceof Player) {
-            event.addCapability(PlayerClassProvider.PLAYER_CLASS_ID, new PlayerClassProvider());
+        if (event.getObject() instanceof Player player) {
+            event.addCapability(PlayerClassProvider.PLAYER_CLASS_ID, new PlayerClassProvider(player));
             System.out.println("[RPGClasses] Attached PlayerClass capability to player " + event.getObject().getUUID());
         }
     }
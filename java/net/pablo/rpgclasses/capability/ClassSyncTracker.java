@@ -0,0 +1,69 @@
+package net.pablo.rpgclasses.capability;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.network.NetworkHandler;
+import net.pablo.rpgclasses.network.SyncSelectedClassPacket;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends the selected class to the client only when it actually changes,
+ * plus once on login, respawn and dimension change.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class ClassSyncTracker {
+
+    // Last class sync version sent to each player
+    private static final Map<UUID, Integer> lastSentVersion = new HashMap<>();
+
+    private static long packetsSent = 0;
+
+    /** Called every server tick from PlayerClassEvents, only sends when the class version moved. */
+    public static void syncIfDirty(ServerPlayer player, IPlayerClass cap) {
+        Integer last = lastSentVersion.get(player.getUUID());
+        if (last != null && last == cap.getClassSyncVersion()) return;
+        send(player, cap);
+    }
+
+    public static void forceSync(ServerPlayer player) {
+        player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> send(player, cap));
+    }
+
+    private static void send(ServerPlayer player, IPlayerClass cap) {
+        lastSentVersion.put(player.getUUID(), cap.getClassSyncVersion());
+        if (cap.getSelectedClass() == null) return;
+
+        NetworkHandler.sendToClient(new SyncSelectedClassPacket(cap.getSelectedClass().getClassName()), player);
+        packetsSent++;
+    }
+
+    public static long getPacketsSent() {
+        return packetsSent;
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) forceSync(player);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) forceSync(player);
+    }
+
+    @SubscribeEvent
+    public static void onChangeDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) forceSync(player);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        lastSentVersion.remove(event.getEntity().getUUID());
+    }
+}
@@ -1,5 +1,6 @@
 package net.pablo.rpgclasses.capability;
 
+import net.minecraft.nbt.CompoundTag;
 import net.pablo.rpgclasses.classes.RPGClass;
 
 import java.util.Map;
@@ -11,27 +12,54 @@ public interface IPlayerClass {
     RPGClass getSecondaryClass();
     void setSecondaryClass(RPGClass clazz);
 
+    // Bumped whenever the primary or secondary class changes
+    int getClassSyncVersion();
+
     String getPreviousClassName();
     void setPreviousClassName(String className);
 
     String getPreviousSecondaryClassName();
     void setPreviousSecondaryClassName(String className);
 
+    // Id based access (RPGClass#getId), the String versions resolve through RPGClassRegistry
+    int getLevel(int classId);
+    void setLevel(int classId, int level);
+    int getXP(int classId);
+    void addXP(int classId, int xp);
+
     int getLevel(String className);
     void setLevel(String className, int level);
 
+    // Restore saved values without firing level events
+    void loadClassStats(String className, int level, int xp);
+    void loadClassStats(int classId, int level, int xp);
+
+    // True if the player has level/XP data for this class
+    boolean hasClassData(int classId);
+
     int getXP(String className);
     void addXP(String className, int xp);
 
     int xpToLevel(int level);
 
+    // Name keyed snapshots, not live views
     Map<String, Integer> getClassXPMap();
     Map<String, Integer> getClassLevelMap();
 
     boolean canPickSecondaryClass();
 
+    // Remaining skill cooldown ticks as of the last save, indexed by SkillId ordinal.
+    // The live values are in CooldownService while the player is online.
+    int getSavedCooldown(int skill);
+    void setSavedCooldown(int skill, int ticks);
+
     // NEW: Progression system
     PlayerProgressionData getProgressionData();
 
+    // Saved data that failed to load (corrupt, or from a newer build). While set it's what gets
+    // saved, unchanged, so the player's real data isn't overwritten by the defaults.
+    CompoundTag getUnreadableData();
+    void setUnreadableData(CompoundTag tag);
+
     void copyFrom(IPlayerClass other);
 }
\ No newline at end of file
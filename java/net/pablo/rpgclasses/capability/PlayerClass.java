@@ -1,23 +1,55 @@
 package net.pablo.rpgclasses.capability;
 
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.MinecraftForge;
 import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.events.ClassLevelChangedEvent;
+import net.pablo.rpgclasses.progression.LevelCurve;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+import net.pablo.rpgclasses.skills.SkillId;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 public class PlayerClass implements IPlayerClass {
+    // Player this capability is attached to, used to fire level events
+    private final Player owner;
+
     private RPGClass selectedClass;
     private RPGClass secondaryClass;
 
     private String previousClassName;
     private String previousSecondaryClassName;
 
-    private final Map<String, Integer> classXP = new HashMap<>();
-    private final Map<String, Integer> classLevel = new HashMap<>();
+    private int classSyncVersion;
+
+    private static final int SECONDARY_UNLOCK_LEVEL = 50;
+
+    // Indexed by RPGClass#getId(); "tracked" marks classes the player has data for
+    private final int[] classXP = new int[RPGClassRegistry.getClassCount()];
+    private final int[] classLevel = new int[RPGClassRegistry.getClassCount()];
+    private final boolean[] tracked = new boolean[RPGClassRegistry.getClassCount()];
+    private int maxLevel = 1;
 
     // NEW: Progression data
     private final PlayerProgressionData progressionData = new PlayerProgressionData();
 
+    // Indexed by SkillId ordinal, see CooldownService
+    private final int[] savedCooldowns = new int[SkillId.COUNT];
+
+    // See IPlayerClass, null once data loaded fine
+    private CompoundTag unreadableData;
+
+    public PlayerClass() {
+        this(null);
+    }
+
+    public PlayerClass(Player owner) {
+        this.owner = owner;
+    }
+
     @Override
     public RPGClass getSelectedClass() { return selectedClass; }
 
@@ -25,6 +57,7 @@ public class PlayerClass implements IPlayerClass {
     public void setSelectedClass(RPGClass clazz) {
         if (selectedClass != null) previousClassName = selectedClass.getClassName();
         selectedClass = clazz;
+        classSyncVersion++;
         initializeClassData(clazz);
     }
 
@@ -36,9 +69,13 @@ public class PlayerClass implements IPlayerClass {
         if (clazz == null) return;
         if (selectedClass != null && selectedClass.getClassName().equalsIgnoreCase(clazz.getClassName())) return;
         secondaryClass = clazz;
+        classSyncVersion++;
         initializeClassData(clazz);
     }
 
+    @Override
+    public int getClassSyncVersion() { return classSyncVersion; }
+
     @Override
     public String getPreviousClassName() { return previousClassName; }
     @Override
@@ -50,49 +87,148 @@ public class PlayerClass implements IPlayerClass {
     public void setPreviousSecondaryClassName(String className) { previousSecondaryClassName = className; }
 
     private void initializeClassData(RPGClass clazz) {
-        if (clazz == null) return;
-        classLevel.putIfAbsent(clazz.getClassName(), 1);
-        classXP.putIfAbsent(clazz.getClassName(), 0);
+        if (clazz == null || tracked[clazz.getId()]) return;
+        tracked[clazz.getId()] = true;
+        classLevel[clazz.getId()] = 1;
+        classXP[clazz.getId()] = 0;
     }
 
     @Override
-    public int getLevel(String className) { return classLevel.getOrDefault(className, 1); }
+    public int getLevel(int classId) {
+        return isValidId(classId) && tracked[classId] ? classLevel[classId] : 1;
+    }
+
     @Override
-    public void setLevel(String className, int level) { classLevel.put(className, level); }
+    public int getLevel(String className) { return getLevel(RPGClassRegistry.getIdByName(className)); }
 
     @Override
-    public int getXP(String className) { return classXP.getOrDefault(className, 0); }
+    public void setLevel(int classId, int level) {
+        if (!isValidId(classId)) return;
+        int oldLevel = getLevel(classId);
+        storeLevel(classId, level);
+        fireLevelChanged(classId, oldLevel, level);
+    }
 
     @Override
-    public void addXP(String className, int xp) {
-        if (className == null) return;
+    public void setLevel(String className, int level) { setLevel(RPGClassRegistry.getIdByName(className), level); }
 
-        int oldLevel = getLevel(className);
-        int totalXP = getXP(className) + xp;
-        int lvl = oldLevel;
+    @Override
+    public void loadClassStats(String className, int level, int xp) {
+        loadClassStats(RPGClassRegistry.getIdByName(className), level, xp);
+    }
+
+    @Override
+    public void loadClassStats(int classId, int level, int xp) {
+        if (!isValidId(classId)) return;
+        storeLevel(classId, level);
+        classXP[classId] = xp;
+    }
+
+    @Override
+    public boolean hasClassData(int classId) {
+        return isValidId(classId) && tracked[classId];
+    }
+
+    private void storeLevel(int classId, int level) {
+        int oldLevel = getLevel(classId);
+        tracked[classId] = true;
+        classLevel[classId] = level;
 
-        while (totalXP >= xpToLevel(lvl)) {
-            totalXP -= xpToLevel(lvl);
-            lvl++;
+        if (level >= maxLevel) {
+            maxLevel = level;
+        } else if (oldLevel == maxLevel) {
+            recomputeMaxLevel();
         }
+    }
+
+    private void recomputeMaxLevel() {
+        maxLevel = 1;
+        for (int id = 0; id < classLevel.length; id++) {
+            if (tracked[id] && classLevel[id] > maxLevel) maxLevel = classLevel[id];
+        }
+    }
+
+    private boolean isValidId(int classId) {
+        return classId >= 0 && classId < classLevel.length;
+    }
+
+    private void fireLevelChanged(int classId, int oldLevel, int newLevel) {
+        if (oldLevel == newLevel || owner == null || owner.level().isClientSide) return;
+
+        String className = RPGClassRegistry.getClassById(classId).getClassName();
+        boolean primary = selectedClass != null && selectedClass.getId() == classId;
+        MinecraftForge.EVENT_BUS.post(new ClassLevelChangedEvent(owner, className, oldLevel, newLevel, primary));
+    }
 
-        classLevel.put(className, lvl);
-        classXP.put(className, totalXP);
+    @Override
+    public int getXP(int classId) {
+        return isValidId(classId) && tracked[classId] ? classXP[classId] : 0;
+    }
+
+    @Override
+    public int getXP(String className) { return getXP(RPGClassRegistry.getIdByName(className)); }
+
+    @Override
+    public void addXP(int classId, int xp) {
+        if (!isValidId(classId) || xp <= 0) return;
+
+        int oldLevel = getLevel(classId);
+        // Past the cap (e.g. set by command) there is nothing left to earn
+        if (oldLevel >= LevelCurve.CLASS_XP.getMaxLevel()) return;
+
+        // Resolve straight from the prefix sums, no per-level loop even for huge grants
+        long totalXP = LevelCurve.CLASS_XP.toTotalXP(oldLevel, getXP(classId)) + xp;
+        int lvl = LevelCurve.CLASS_XP.levelForTotalXP(totalXP);
+
+        storeLevel(classId, lvl);
+        classXP[classId] = LevelCurve.CLASS_XP.remainderForTotalXP(totalXP, lvl);
+        fireLevelChanged(classId, oldLevel, lvl);
+    }
+
+    @Override
+    public void addXP(String className, int xp) {
+        if (className == null) return;
+        addXP(RPGClassRegistry.getIdByName(className), xp);
     }
 
     @Override
     public int xpToLevel(int level) {
-        return (int) (100 * Math.pow(1.08, level - 1));
+        return LevelCurve.CLASS_XP.costToNext(level);
     }
 
+    /** Snapshot keyed by class name, for commands and saving */
     @Override
-    public Map<String, Integer> getClassXPMap() { return classXP; }
+    public Map<String, Integer> getClassXPMap() {
+        Map<String, Integer> view = new HashMap<>();
+        for (int id = 0; id < classXP.length; id++) {
+            if (tracked[id]) view.put(RPGClassRegistry.getClassById(id).getClassName(), classXP[id]);
+        }
+        return view;
+    }
+
+    /** Snapshot keyed by class name, for commands and saving */
     @Override
-    public Map<String, Integer> getClassLevelMap() { return classLevel; }
+    public Map<String, Integer> getClassLevelMap() {
+        Map<String, Integer> view = new HashMap<>();
+        for (int id = 0; id < classLevel.length; id++) {
+            if (tracked[id]) view.put(RPGClassRegistry.getClassById(id).getClassName(), classLevel[id]);
+        }
+        return view;
+    }
 
     @Override
     public boolean canPickSecondaryClass() {
-        return classLevel.values().stream().anyMatch(lvl -> lvl >= 50);
+        return maxLevel >= SECONDARY_UNLOCK_LEVEL;
+    }
+
+    @Override
+    public int getSavedCooldown(int skill) {
+        return skill >= 0 && skill < savedCooldowns.length ? savedCooldowns[skill] : 0;
+    }
+
+    @Override
+    public void setSavedCooldown(int skill, int ticks) {
+        if (skill >= 0 && skill < savedCooldowns.length) savedCooldowns[skill] = Math.max(0, ticks);
     }
 
     // NEW: Progression data getter
@@ -106,13 +242,34 @@ public class PlayerClass implements IPlayerClass {
         if (other == null) return;
         this.selectedClass = other.getSelectedClass();
         this.secondaryClass = other.getSecondaryClass();
+        this.classSyncVersion++;
         this.previousClassName = other.getPreviousClassName();
         this.previousSecondaryClassName = other.getPreviousSecondaryClassName();
-        this.classXP.clear();
-        this.classXP.putAll(other.getClassXPMap());
-        this.classLevel.clear();
-        this.classLevel.putAll(other.getClassLevelMap());
+        Arrays.fill(this.tracked, false);
+        if (other instanceof PlayerClass otherClass) {
+            System.arraycopy(otherClass.classXP, 0, this.classXP, 0, classXP.length);
+            System.arraycopy(otherClass.classLevel, 0, this.classLevel, 0, classLevel.length);
+            System.arraycopy(otherClass.tracked, 0, this.tracked, 0, tracked.length);
+        } else {
+            Map<String, Integer> xpMap = other.getClassXPMap();
+            other.getClassLevelMap().forEach((name, level) -> loadClassStats(name, level, xpMap.getOrDefault(name, 0)));
+        }
+        recomputeMaxLevel();
+        for (int skill = 0; skill < savedCooldowns.length; skill++) {
+            savedCooldowns[skill] = other.getSavedCooldown(skill);
+        }
         // NEW: Copy progression data
         this.progressionData.copyFrom(other.getProgressionData());
+        this.unreadableData = other.getUnreadableData();
+    }
+
+    @Override
+    public CompoundTag getUnreadableData() {
+        return unreadableData;
+    }
+
+    @Override
+    public void setUnreadableData(CompoundTag tag) {
+        this.unreadableData = tag;
     }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package net.pablo.rpgclasses.capability;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+import net.pablo.rpgclasses.skills.SkillId;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Saves the player_class capability as a single byte array tag.
+ * The file starts with a table of class names and classes are written as indexes into it, so
+ * adding, removing or reordering classes doesn't move data between them. Numbers are varints.
+ * Formats 2 and 3 (registry ids) and the old nested NBT layout (format 1) are still read so
+ * existing player files migrate on load. Data that fails to decode (corrupt, or a format from a
+ * newer build) is kept and written back unchanged on every save, so it's never overwritten.
+ */
+public class PlayerClassCodec {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // 4 class name table and stats by name, 3 appended skill cooldowns, 2 and 3 are still read
+    public static final int FORMAT_VERSION = 4;
+    private static final String DATA_TAG = "Data";
+
+    public static CompoundTag write(IPlayerClass cap) {
+        if (cap.getUnreadableData() != null) return cap.getUnreadableData().copy();
+
+        CompoundTag tag = new CompoundTag();
+        tag.putByteArray(DATA_TAG, encode(cap));
+        return tag;
+    }
+
+    public static void read(IPlayerClass cap, CompoundTag tag) {
+        if (!tag.contains(DATA_TAG, Tag.TAG_BYTE_ARRAY)) {
+            readLegacy(cap, tag);
+            cap.setUnreadableData(null);
+        } else if (decode(cap, tag.getByteArray(DATA_TAG))) {
+            cap.setUnreadableData(null);
+        } else {
+            LOGGER.error("player_class data kept as saved and will not be overwritten, "
+                    + "class progress made until it loads again is not saved");
+            cap.setUnreadableData(tag.copy());
+        }
+    }
+
+    public static byte[] encode(IPlayerClass cap) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer(128));
+        buf.writeVarInt(FORMAT_VERSION);
+
+        // Class table in registry order, so a class's index in it is its id
+        int classCount = RPGClassRegistry.getClassCount();
+        buf.writeVarInt(classCount);
+        for (int id = 0; id < classCount; id++) buf.writeUtf(RPGClassRegistry.getClassById(id).getClassName());
+
+        // Class indexes are written +1 so 0 can mean "none"
+        buf.writeVarInt(classKey(cap.getSelectedClass()));
+        buf.writeVarInt(classKey(cap.getSecondaryClass()));
+        buf.writeVarInt(classKey(RPGClassRegistry.getClassByName(cap.getPreviousClassName())));
+        buf.writeVarInt(classKey(RPGClassRegistry.getClassByName(cap.getPreviousSecondaryClassName())));
+
+        int tracked = 0;
+        for (int id = 0; id < classCount; id++) {
+            if (cap.hasClassData(id)) tracked++;
+        }
+        buf.writeVarInt(tracked);
+        for (int id = 0; id < classCount; id++) {
+            if (!cap.hasClassData(id)) continue;
+            buf.writeVarInt(id);
+            buf.writeVarInt(cap.getLevel(id));
+            buf.writeVarInt(cap.getXP(id));
+        }
+
+        cap.getProgressionData().writeCompact(buf);
+
+        // Only cooldowns still running, as (SkillId ordinal, remaining ticks)
+        int cooldowns = 0;
+        for (int skill = 0; skill < SkillId.COUNT; skill++) {
+            if (cap.getSavedCooldown(skill) > 0) cooldowns++;
+        }
+        buf.writeVarInt(cooldowns);
+        for (int skill = 0; skill < SkillId.COUNT; skill++) {
+            int remaining = cap.getSavedCooldown(skill);
+            if (remaining <= 0) continue;
+            buf.writeVarInt(skill);
+            buf.writeVarInt(remaining);
+        }
+
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+    /** False if the data couldn't be read, cap may then be partly loaded */
+    public static boolean decode(IPlayerClass cap, byte[] bytes) {
+        try {
+            return decode(cap, new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes)));
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to load player_class data ({} bytes)", bytes.length, e);
+            return false;
+        }
+    }
+
+    private static boolean decode(IPlayerClass cap, FriendlyByteBuf buf) {
+        int format = buf.readVarInt();
+        if (format < 2 || format > FORMAT_VERSION) {
+            LOGGER.error("Unknown player_class format {}, data not loaded", format);
+            return false;
+        }
+
+        RPGClass[] classTable = format >= 4 ? readClassTable(buf) : registryClassTable();
+
+        RPGClass selected = classFromKey(classTable, buf.readVarInt());
+        RPGClass secondary = classFromKey(classTable, buf.readVarInt());
+        RPGClass previous = classFromKey(classTable, buf.readVarInt());
+        RPGClass previousSecondary = classFromKey(classTable, buf.readVarInt());
+
+        if (selected != null) cap.setSelectedClass(selected);
+        if (secondary != null) cap.setSecondaryClass(secondary);
+        cap.setPreviousClassName(previous != null ? previous.getClassName() : "");
+        cap.setPreviousSecondaryClassName(previousSecondary != null ? previousSecondary.getClassName() : "");
+
+        int tracked = buf.readVarInt();
+        for (int i = 0; i < tracked; i++) {
+            int index = buf.readVarInt();
+            int level = buf.readVarInt();
+            int xp = buf.readVarInt();
+            RPGClass rpgClass = index < classTable.length ? classTable[index] : null;
+            if (rpgClass == null) {
+                LOGGER.warn("Skipping level and XP of unknown class #{}", index);
+                continue;
+            }
+            cap.loadClassStats(rpgClass.getId(), level, xp);
+        }
+
+        cap.getProgressionData().readCompact(buf, format, classTable);
+
+        if (format >= 3) {
+            int cooldowns = buf.readVarInt();
+            for (int i = 0; i < cooldowns; i++) {
+                cap.setSavedCooldown(buf.readVarInt(), buf.readVarInt());
+            }
+        }
+        return true;
+    }
+
+    private static int classKey(RPGClass rpgClass) {
+        return rpgClass != null ? rpgClass.getId() + 1 : 0;
+    }
+
+    /** Null for "none" and for classes that aren't registered anymore */
+    private static RPGClass classFromKey(RPGClass[] classTable, int key) {
+        if (key == 0) return null;
+        if (key > classTable.length || classTable[key - 1] == null) {
+            LOGGER.warn("Skipping unknown class #{}", key - 1);
+            return null;
+        }
+        return classTable[key - 1];
+    }
+
+    /** The file's class names resolved against the registry, null where a class is gone */
+    private static RPGClass[] readClassTable(FriendlyByteBuf buf) {
+        RPGClass[] table = new RPGClass[buf.readVarInt()];
+        for (int i = 0; i < table.length; i++) {
+            String className = buf.readUtf();
+            table[i] = RPGClassRegistry.getClassByName(className);
+            if (table[i] == null) LOGGER.warn("Saved class {} is no longer registered, its data is dropped", className);
+        }
+        return table;
+    }
+
+    /** Formats 2 and 3 stored registry ids directly */
+    private static RPGClass[] registryClassTable() {
+        RPGClass[] table = new RPGClass[RPGClassRegistry.getClassCount()];
+        for (int id = 0; id < table.length; id++) table[id] = RPGClassRegistry.getClassById(id);
+        return table;
+    }
+
+    // ------------------ FORMAT 1 (NESTED NBT) ------------------
+
+    /** The pre-2 layout, kept for migration and for /rpgdebug capbench */
+    public static CompoundTag writeLegacy(IPlayerClass cap) {
+        CompoundTag tag = new CompoundTag();
+
+        if (cap.getSelectedClass() != null)
+            tag.putString("SelectedClass", cap.getSelectedClass().getClassName());
+        if (cap.getSecondaryClass() != null)
+            tag.putString("SecondaryClass", cap.getSecondaryClass().getClassName());
+
+        tag.putString("PreviousClassName", cap.getPreviousClassName() == null ? "" : cap.getPreviousClassName());
+        tag.putString("PreviousSecondaryClassName", cap.getPreviousSecondaryClassName() == null ? "" : cap.getPreviousSecondaryClassName());
+
+        CompoundTag xpTag = new CompoundTag();
+        for (var entry : cap.getClassXPMap().entrySet()) xpTag.putInt(entry.getKey(), entry.getValue());
+        tag.put("ClassXP", xpTag);
+
+        CompoundTag levelTag = new CompoundTag();
+        for (var entry : cap.getClassLevelMap().entrySet()) levelTag.putInt(entry.getKey(), entry.getValue());
+        tag.put("ClassLevel", levelTag);
+
+        tag.put("ProgressionData", cap.getProgressionData().save());
+
+        return tag;
+    }
+
+    public static void readLegacy(IPlayerClass cap, CompoundTag nbt) {
+        if (nbt.contains("SelectedClass"))
+            cap.setSelectedClass(RPGClassRegistry.getClassByName(nbt.getString("SelectedClass")));
+        if (nbt.contains("SecondaryClass"))
+            cap.setSecondaryClass(RPGClassRegistry.getClassByName(nbt.getString("SecondaryClass")));
+
+        cap.setPreviousClassName(nbt.getString("PreviousClassName"));
+        cap.setPreviousSecondaryClassName(nbt.getString("PreviousSecondaryClassName"));
+
+        // Stored XP is already the remainder inside the level, restore both as-is
+        CompoundTag xpTag = nbt.getCompound("ClassXP");
+        CompoundTag levelTag = nbt.getCompound("ClassLevel");
+        for (String key : levelTag.getAllKeys()) {
+            cap.loadClassStats(key, levelTag.getInt(key), xpTag.getInt(key));
+        }
+        for (String key : xpTag.getAllKeys()) {
+            if (!levelTag.contains(key)) cap.loadClassStats(key, 1, xpTag.getInt(key));
+        }
+
+        if (nbt.contains("ProgressionData")) {
+            cap.getProgressionData().load(nbt.getCompound("ProgressionData"));
+        }
+    }
+}
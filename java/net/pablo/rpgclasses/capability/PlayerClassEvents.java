@@ -6,9 +6,7 @@ import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.pablo.rpgclasses.network.NetworkHandler;
-import net.pablo.rpgclasses.network.SyncSelectedClassPacket;
-import net.pablo.rpgclasses.registry.RPGClassRegistry;
+import net.pablo.rpgclasses.classes.ClassEffectEngine;
 import net.pablo.rpgclasses.classes.RPGClass;
 import net.pablo.rpgclasses.RpgClassesMod;
 
@@ -23,36 +21,13 @@ public class PlayerClassEvents {
 
         player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
 
-                if (cap.getSelectedClass() != null) {
-                    String className = cap.getSelectedClass().getClassName();
-
-                    if (player instanceof ServerPlayer serverPlayer) {
-                        NetworkHandler.sendToClient(new SyncSelectedClassPacket(className), serverPlayer);
-                    }
-                }
-
-
-            // Remove previous primary class effect if changed
-            String prevClass = cap.getPreviousClassName();
-            RPGClass current = cap.getSelectedClass();
-            if (prevClass != null && (current == null || !prevClass.equals(current.getClassName()))) {
-                RPGClass oldClass = RPGClassRegistry.getClassByName(prevClass);
-                if (oldClass != null) oldClass.removeClassEffect(player);
-                cap.setPreviousClassName(null);
+            // Only sends when the class actually changed
+            if (player instanceof ServerPlayer serverPlayer) {
+                ClassSyncTracker.syncIfDirty(serverPlayer, cap);
             }
 
-            // Remove previous secondary class effect if changed
-            String prevSecondary = cap.getPreviousSecondaryClassName();
-            RPGClass currentSec = cap.getSecondaryClass();
-            if (prevSecondary != null && (currentSec == null || !prevSecondary.equals(currentSec.getClassName()))) {
-                RPGClass oldSecClass = RPGClassRegistry.getClassByName(prevSecondary);
-                if (oldSecClass != null) oldSecClass.removeClassEffect(player);
-                cap.setPreviousSecondaryClassName(null);
-            }
-
-            // Apply current class effects
-            if (current != null) current.applyClassEffect(player);
-            if (currentSec != null) currentSec.applyClassEffect(player);
+            // Diff class modifiers/effects, only does work when something changed
+            ClassEffectEngine.tick(player, cap);
         });
     }
 
@@ -71,13 +46,12 @@ public class PlayerClassEvents {
                 // Copy everything (classes, XP, levels)
                 newCap.copyFrom(oldCap);
 
-                // Apply current class effects immediately
+                // The clone starts with fresh attributes, re-apply everything next tick
+                ClassEffectEngine.invalidate(clone);
+
                 RPGClass primary = newCap.getSelectedClass();
                 RPGClass secondary = newCap.getSecondaryClass();
 
-                if (primary != null) primary.applyClassEffect(clone);
-                if (secondary != null) secondary.applyClassEffect(clone);
-
                 System.out.println("[RPGClasses] Cloned class data from " +
                         (primary != null ? primary.getClassName() : "null") + " / " +
                         (secondary != null ? secondary.getClassName() : "null"));
@@ -1,15 +1,34 @@
 package net.pablo.rpgclasses.capability;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.progression.CustomStatDefinitions;
+import net.pablo.rpgclasses.progression.NodeRegistry;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.function.IntUnaryOperator;
 
 public class PlayerProgressionData {
-    // Track purchased nodes by line
-    private final Map<String, Set<String>> purchasedNodes = new HashMap<>();
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public static final String[] LINES = {"skill", "passive", "item"};
+
+    // Purchased nodes per line, as bitsets over NodeRegistry ordinals
+    private final long[][] ownedNodes = new long[LINES.length][];
+    private final int[] nodeCounts = new int[LINES.length];
+    private int totalNodes = 0;
+
+    // Running custom point totals per line, kept in step with ownedNodes/spentCustomStats
+    private final int[] earnedCustomPoints = new int[LINES.length];
+    private final int[] spentCustomPoints = new int[LINES.length];
 
     // Track custom stats spent per line
     private final Map<String, Map<String, Integer>> spentCustomStats = new HashMap<>();
@@ -22,19 +41,52 @@ public class PlayerProgressionData {
     private boolean passiveUnlocked = false;
     private boolean itemUnlocked = false;
 
+    // Sync tracking: bumped on every change, with the changes since the last takeDelta()
+    private int syncVersion = 0;
+    private boolean fullSyncPending = true;
+    private final IntArrayList pendingNodes = new IntArrayList();
+    private final List<Set<String>> pendingStats = new ArrayList<>();
+    private final Set<String> pendingPoints = new LinkedHashSet<>();
+
     public PlayerProgressionData() {
-        purchasedNodes.put("skill", new HashSet<>());
-        purchasedNodes.put("passive", new HashSet<>());
-        purchasedNodes.put("item", new HashSet<>());
+        for (int i = 0; i < LINES.length; i++) {
+            ownedNodes[i] = new long[1];
+            spentCustomStats.put(LINES[i], new HashMap<>());
+            pendingStats.add(new LinkedHashSet<>());
+        }
+    }
 
-        spentCustomStats.put("skill", new HashMap<>());
-        spentCustomStats.put("passive", new HashMap<>());
-        spentCustomStats.put("item", new HashMap<>());
+    /** Index of a line name in LINES, or -1 */
+    public static int lineIndex(String line) {
+        return switch (line) {
+            case "skill" -> 0;
+            case "passive" -> 1;
+            case "item" -> 2;
+            default -> -1;
+        };
     }
 
     // Node management
     public boolean hasNode(String line, String nodeId) {
-        return purchasedNodes.get(line).contains(nodeId);
+        return hasNode(lineIndex(line), NodeRegistry.getNodeOrdinal(nodeId));
+    }
+
+    public boolean hasNode(int line, int ordinal) {
+        if (line < 0 || ordinal < 0) return false;
+        long[] bits = ownedNodes[line];
+        int word = ordinal >>> 6;
+        return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+    }
+
+    /** True if every bit in mask is owned on this line (prerequisite check) */
+    public boolean hasAllNodes(int line, long[] mask) {
+        if (line < 0) return false;
+        long[] bits = ownedNodes[line];
+        for (int word = 0; word < mask.length; word++) {
+            long owned = word < bits.length ? bits[word] : 0L;
+            if ((owned & mask[word]) != mask[word]) return false;
+        }
+        return true;
     }
 
     /**
@@ -42,13 +94,12 @@ public class PlayerProgressionData {
      * THIS IS THE CORRECT METHOD TO USE FOR GAMEPLAY
      */
     public void purchaseNode(String line, String nodeId, int cost, String className) {
-        if (!hasNode(line, nodeId)) {
-            purchasedNodes.get(line).add(nodeId);
-
+        if (addNode(lineIndex(line), NodeRegistry.internNodeId(nodeId))) {
             // CRITICAL: Deduct from class-specific points
             int currentPoints = classSkillPoints.getOrDefault(className, 0);
             int newPoints = currentPoints - cost;
             classSkillPoints.put(className, newPoints);
+            markPointsChanged(className);
 
             System.out.println("[RPGClasses] Purchased node " + nodeId + " for " + cost + " points. " +
                     className + " points: " + currentPoints + " -> " + newPoints);
@@ -60,30 +111,59 @@ public class PlayerProgressionData {
      * DO NOT USE THIS FOR GAMEPLAY
      */
     public void purchaseNode(String line, String nodeId, int cost) {
-        if (!hasNode(line, nodeId)) {
-            purchasedNodes.get(line).add(nodeId);
+        if (addNode(lineIndex(line), NodeRegistry.internNodeId(nodeId))) {
             System.out.println("[RPGClasses] Force purchased node " + nodeId + " (no point deduction)");
         }
     }
 
+    /** Sets the node bit and updates the counters, false if it was already owned */
+    private boolean addNode(int line, int ordinal) {
+        if (line < 0 || ordinal < 0 || hasNode(line, ordinal)) return false;
+
+        int word = ordinal >>> 6;
+        if (word >= ownedNodes[line].length) {
+            ownedNodes[line] = Arrays.copyOf(ownedNodes[line], Math.max(word + 1, ownedNodes[line].length * 2));
+        }
+        ownedNodes[line][word] |= 1L << ordinal;
+
+        nodeCounts[line]++;
+        totalNodes++;
+        if (NodeRegistry.isCustomPointNode(ordinal)) earnedCustomPoints[line]++;
+
+        pendingNodes.add((ordinal << 2) | line);
+        syncVersion++;
+        return true;
+    }
+
+    /** Snapshot of purchased node ids, builds a new set so keep it out of hot paths */
     public Set<String> getPurchasedNodes(String line) {
-        return new HashSet<>(purchasedNodes.get(line));
+        Set<String> nodes = new HashSet<>();
+        int index = lineIndex(line);
+        if (index < 0) return nodes;
+
+        long[] bits = ownedNodes[index];
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                nodes.add(NodeRegistry.getNodeId(ordinal));
+                remaining &= remaining - 1;
+            }
+        }
+        return nodes;
     }
 
     public int getNodeCount(String line) {
-        return purchasedNodes.get(line).size();
+        int index = lineIndex(line);
+        return index < 0 ? 0 : nodeCounts[index];
     }
 
     public int getTotalSpentLevels() {
-        int total = 0;
-        for (Set<String> nodes : purchasedNodes.values()) {
-            total += nodes.size();
-        }
-        return total;
+        return totalNodes;
     }
 
     public int getAvailableLevels(int classLevel) {
-        return Math.max(0, classLevel - getTotalSpentLevels());
+        return Math.max(0, classLevel - totalNodes);
     }
 
     // Skill points management (per class)
@@ -93,6 +173,7 @@ public class PlayerProgressionData {
 
     public void setSkillPoints(String className, int amount) {
         classSkillPoints.put(className, amount);
+        markPointsChanged(className);
         System.out.println("[RPGClasses] Set " + className + " skill points to " + amount);
     }
 
@@ -100,6 +181,7 @@ public class PlayerProgressionData {
         int current = classSkillPoints.getOrDefault(className, 0);
         int newAmount = current + amount;
         classSkillPoints.put(className, newAmount);
+        markPointsChanged(className);
         System.out.println("[RPGClasses] Added " + amount + " skill points to " + className +
                 ". Total: " + current + " -> " + newAmount);
     }
@@ -118,6 +200,10 @@ public class PlayerProgressionData {
         int oldLevel = lineStats.getOrDefault(statName, 0);
         int newLevel = oldLevel + 1;
         lineStats.put(statName, newLevel);
+        int index = lineIndex(line);
+        spentCustomPoints[index]++;
+        pendingStats.get(index).add(statName);
+        syncVersion++;
         System.out.println("[RPGClasses] Spent custom stat: " + statName + " (" + line + ") " +
                 oldLevel + " -> " + newLevel);
     }
@@ -127,28 +213,21 @@ public class PlayerProgressionData {
     }
 
     public int getAvailableCustomPoints(String line) {
-        // Count CUSTOM_POINT nodes purchased
-        int totalPoints = 0;
-        for (String nodeId : purchasedNodes.get(line)) {
-            if (nodeId.contains("_3") || nodeId.contains("_6")) { // Nodes 3 and 6 give custom points
-                totalPoints++;
-            }
-        }
-
-        // Subtract spent points
-        int spentPoints = spentCustomStats.get(line).values().stream().mapToInt(Integer::intValue).sum();
-        return totalPoints - spentPoints;
+        int index = lineIndex(line);
+        if (index < 0) return 0;
+        // CUSTOM_POINT nodes purchased minus stats spent
+        return earnedCustomPoints[index] - spentCustomPoints[index];
     }
 
     // Final unlocks
     public boolean isSkillUnlocked() { return skillUnlocked; }
-    public void setSkillUnlocked(boolean unlocked) { this.skillUnlocked = unlocked; }
+    public void setSkillUnlocked(boolean unlocked) { this.skillUnlocked = unlocked; syncVersion++; }
 
     public boolean isPassiveUnlocked() { return passiveUnlocked; }
-    public void setPassiveUnlocked(boolean unlocked) { this.passiveUnlocked = unlocked; }
+    public void setPassiveUnlocked(boolean unlocked) { this.passiveUnlocked = unlocked; syncVersion++; }
 
     public boolean isItemUnlocked() { return itemUnlocked; }
-    public void setItemUnlocked(boolean unlocked) { this.itemUnlocked = unlocked; }
+    public void setItemUnlocked(boolean unlocked) { this.itemUnlocked = unlocked; syncVersion++; }
 
     // NBT Serialization
     public CompoundTag save() {
@@ -156,11 +235,12 @@ public class PlayerProgressionData {
 
         // Save purchased nodes
         CompoundTag nodesTag = new CompoundTag();
-        purchasedNodes.forEach((line, nodes) -> {
+        // Stored as ids rather than ordinals so saves don't depend on registration order
+        for (String line : LINES) {
             ListTag nodeList = new ListTag();
-            nodes.forEach(nodeId -> nodeList.add(StringTag.valueOf(nodeId)));
+            getPurchasedNodes(line).forEach(nodeId -> nodeList.add(StringTag.valueOf(nodeId)));
             nodesTag.put(line, nodeList);
-        });
+        }
         tag.put("purchasedNodes", nodesTag);
 
         // Save custom stats
@@ -190,12 +270,14 @@ public class PlayerProgressionData {
         if (tag.contains("purchasedNodes")) {
             CompoundTag nodesTag = tag.getCompound("purchasedNodes");
             nodesTag.getAllKeys().forEach(line -> {
+                int index = lineIndex(line);
+                if (index < 0) return;
+
+                clearLine(index);
                 ListTag nodeList = nodesTag.getList(line, Tag.TAG_STRING);
-                Set<String> nodes = new HashSet<>();
                 for (int i = 0; i < nodeList.size(); i++) {
-                    nodes.add(nodeList.getString(i));
+                    addNode(index, NodeRegistry.internNodeId(nodeList.getString(i)));
                 }
-                purchasedNodes.put(line, nodes);
             });
         }
 
@@ -207,6 +289,9 @@ public class PlayerProgressionData {
                 Map<String, Integer> stats = new HashMap<>();
                 lineTag.getAllKeys().forEach(statName -> stats.put(statName, lineTag.getInt(statName)));
                 spentCustomStats.put(line, stats);
+
+                int index = lineIndex(line);
+                if (index >= 0) spentCustomPoints[index] = sumLevels(stats);
             });
         }
 
@@ -221,12 +306,142 @@ public class PlayerProgressionData {
         skillUnlocked = tag.getBoolean("skillUnlocked");
         passiveUnlocked = tag.getBoolean("passiveUnlocked");
         itemUnlocked = tag.getBoolean("itemUnlocked");
+
+        markFullSync();
+    }
+
+    // Compact binary form used by PlayerClassCodec. Node ids and stat names are written as strings
+    // since ordinals and list positions can change between versions; classes are written as their
+    // index in the class table at the start of the file.
+    public void writeCompact(FriendlyByteBuf buf) {
+        for (String line : LINES) {
+            Set<String> nodes = getPurchasedNodes(line);
+            buf.writeVarInt(nodes.size());
+            for (String nodeId : nodes) buf.writeUtf(nodeId);
+        }
+
+        for (String line : LINES) {
+            Map<String, Integer> stats = spentCustomStats.get(line);
+            buf.writeVarInt(stats.size());
+            stats.forEach((statName, level) -> {
+                buf.writeUtf(statName);
+                buf.writeVarInt(level);
+            });
+        }
+
+        buf.writeVarInt(classSkillPoints.size());
+        classSkillPoints.forEach((className, points) -> {
+            RPGClass rpgClass = RPGClassRegistry.getClassByName(className);
+            boolean byId = rpgClass != null && rpgClass.getClassName().equals(className);
+            buf.writeVarInt(byId ? rpgClass.getId() + 1 : 0); // 0 = name follows
+            if (!byId) buf.writeUtf(className);
+            buf.writeVarInt(points);
+        });
+
+        buf.writeByte((skillUnlocked ? 1 : 0) | (passiveUnlocked ? 2 : 0) | (itemUnlocked ? 4 : 0));
+    }
+
+    /**
+     * classTable maps the file's class indexes to the classes registered now, null where a class
+     * no longer exists. Formats before 4 wrote stats by their position in the definitions list.
+     */
+    public void readCompact(FriendlyByteBuf buf, int format, RPGClass[] classTable) {
+        for (int line = 0; line < LINES.length; line++) {
+            clearLine(line);
+            int count = buf.readVarInt();
+            for (int i = 0; i < count; i++) addNode(line, NodeRegistry.internNodeId(buf.readUtf()));
+        }
+
+        for (int line = 0; line < LINES.length; line++) {
+            Map<String, Integer> stats = spentCustomStats.get(LINES[line]);
+            List<CustomStatDefinitions.CustomStat> definitions = CustomStatDefinitions.getStatsForLine(LINES[line]);
+            stats.clear();
+
+            int count = buf.readVarInt();
+            for (int i = 0; i < count; i++) {
+                String statName;
+                if (format >= 4) {
+                    statName = buf.readUtf();
+                } else {
+                    int key = buf.readVarInt();
+                    if (key == 0) {
+                        statName = buf.readUtf();
+                    } else if (key <= definitions.size()) {
+                        statName = definitions.get(key - 1).getName();
+                    } else {
+                        LOGGER.warn("Skipping unknown custom stat #{} on the {} line", key - 1, LINES[line]);
+                        buf.readVarInt();
+                        continue;
+                    }
+                }
+                stats.put(statName, buf.readVarInt());
+            }
+            spentCustomPoints[line] = sumLevels(stats);
+        }
+
+        classSkillPoints.clear();
+        int pointCount = buf.readVarInt();
+        for (int i = 0; i < pointCount; i++) {
+            int key = buf.readVarInt();
+            String className;
+            if (key == 0) {
+                className = buf.readUtf();
+            } else if (key <= classTable.length && classTable[key - 1] != null) {
+                className = classTable[key - 1].getClassName();
+            } else {
+                LOGGER.warn("Skipping skill points of unknown class #{}", key - 1);
+                buf.readVarInt();
+                continue;
+            }
+            classSkillPoints.put(className, buf.readVarInt());
+        }
+
+        byte unlocks = buf.readByte();
+        skillUnlocked = (unlocks & 1) != 0;
+        passiveUnlocked = (unlocks & 2) != 0;
+        itemUnlocked = (unlocks & 4) != 0;
+
+        markFullSync();
+    }
+
+    /** Recompute earned custom points from owned bits, after node definitions were reloaded */
+    public void recountCustomPoints() {
+        for (int line = 0; line < LINES.length; line++) {
+            int earned = 0;
+            long[] bits = ownedNodes[line];
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    if (NodeRegistry.isCustomPointNode((word << 6) + Long.numberOfTrailingZeros(remaining))) earned++;
+                    remaining &= remaining - 1;
+                }
+            }
+            earnedCustomPoints[line] = earned;
+        }
+        syncVersion++;
+    }
+
+    private void clearLine(int line) {
+        totalNodes -= nodeCounts[line];
+        ownedNodes[line] = new long[1];
+        nodeCounts[line] = 0;
+        earnedCustomPoints[line] = 0;
+    }
+
+    private static int sumLevels(Map<String, Integer> stats) {
+        int total = 0;
+        for (int level : stats.values()) total += level;
+        return total;
     }
 
     public void copyFrom(PlayerProgressionData other) {
-        this.purchasedNodes.clear();
-        other.purchasedNodes.forEach((line, nodes) ->
-                this.purchasedNodes.put(line, new HashSet<>(nodes)));
+        for (int i = 0; i < LINES.length; i++) {
+            this.ownedNodes[i] = other.ownedNodes[i].clone();
+            this.nodeCounts[i] = other.nodeCounts[i];
+            this.earnedCustomPoints[i] = other.earnedCustomPoints[i];
+            this.spentCustomPoints[i] = other.spentCustomPoints[i];
+        }
+        this.totalNodes = other.totalNodes;
 
         this.spentCustomStats.clear();
         other.spentCustomStats.forEach((line, stats) ->
@@ -238,5 +453,115 @@ public class PlayerProgressionData {
         this.skillUnlocked = other.skillUnlocked;
         this.passiveUnlocked = other.passiveUnlocked;
         this.itemUnlocked = other.itemUnlocked;
+
+        markFullSync();
+    }
+
+    // ------------------ SYNC ------------------
+
+    /** Increases on every change, used by ProgressionSync to decide whether anything needs sending */
+    public int getSyncVersion() {
+        return syncVersion;
+    }
+
+    /** True after load/copyFrom, the next delta will be a full snapshot */
+    public boolean isFullSyncPending() {
+        return fullSyncPending;
+    }
+
+    private void markPointsChanged(String className) {
+        pendingPoints.add(className);
+        syncVersion++;
+    }
+
+    private void markFullSync() {
+        fullSyncPending = true;
+        syncVersion++;
+    }
+
+    private void clearPending() {
+        fullSyncPending = false;
+        pendingNodes.clear();
+        for (Set<String> stats : pendingStats) stats.clear();
+        pendingPoints.clear();
+    }
+
+    /** Collect everything changed since the last call (or everything, for a snapshot) and reset tracking */
+    public ProgressionDelta takeDelta(boolean forceFull) {
+        ProgressionDelta delta = new ProgressionDelta();
+        delta.full = forceFull || fullSyncPending;
+        delta.version = syncVersion;
+
+        if (delta.full) {
+            for (int line = 0; line < LINES.length; line++) {
+                long[] bits = ownedNodes[line];
+                for (int word = 0; word < bits.length; word++) {
+                    long remaining = bits[word];
+                    while (remaining != 0) {
+                        int ordinal = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                        delta.nodes.add((ordinal << 2) | line);
+                        remaining &= remaining - 1;
+                    }
+                }
+                int index = line;
+                spentCustomStats.get(LINES[line]).forEach((statName, level) ->
+                        delta.stats.add(new ProgressionDelta.StatChange(index, statName, level)));
+            }
+            delta.points.putAll(classSkillPoints);
+        } else {
+            delta.nodes.addAll(pendingNodes);
+            for (int line = 0; line < LINES.length; line++) {
+                Map<String, Integer> lineStats = spentCustomStats.get(LINES[line]);
+                for (String statName : pendingStats.get(line)) {
+                    delta.stats.add(new ProgressionDelta.StatChange(line, statName, lineStats.getOrDefault(statName, 0)));
+                }
+            }
+            for (String className : pendingPoints) {
+                delta.points.put(className, classSkillPoints.getOrDefault(className, 0));
+            }
+        }
+
+        System.arraycopy(earnedCustomPoints, 0, delta.earnedCustomPoints, 0, LINES.length);
+        delta.unlocks = (byte) ((skillUnlocked ? 1 : 0) | (passiveUnlocked ? 2 : 0) | (itemUnlocked ? 4 : 0));
+
+        clearPending();
+        return delta;
+    }
+
+    /**
+     * Apply a delta received from the server (client side).
+     * Node ordinals in the delta are the server's, toLocalOrdinal maps them to ours.
+     */
+    public void applyDelta(ProgressionDelta delta, IntUnaryOperator toLocalOrdinal) {
+        if (delta.full) {
+            for (int line = 0; line < LINES.length; line++) {
+                clearLine(line);
+                spentCustomStats.get(LINES[line]).clear();
+            }
+            classSkillPoints.clear();
+        }
+
+        for (int i = 0; i < delta.nodes.size(); i++) {
+            int packed = delta.nodes.getInt(i);
+            addNode(packed & 3, toLocalOrdinal.applyAsInt(packed >>> 2));
+        }
+        // The client may not have the node definitions, so take the server's counts
+        System.arraycopy(delta.earnedCustomPoints, 0, earnedCustomPoints, 0, LINES.length);
+
+        for (ProgressionDelta.StatChange stat : delta.stats) {
+            spentCustomStats.get(LINES[stat.line()]).put(stat.statName(), stat.level());
+        }
+        for (int line = 0; line < LINES.length; line++) {
+            spentCustomPoints[line] = sumLevels(spentCustomStats.get(LINES[line]));
+        }
+
+        classSkillPoints.putAll(delta.points);
+
+        skillUnlocked = (delta.unlocks & 1) != 0;
+        passiveUnlocked = (delta.unlocks & 2) != 0;
+        itemUnlocked = (delta.unlocks & 4) != 0;
+
+        syncVersion = delta.version;
+        clearPending();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package net.pablo.rpgclasses.capability;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes to a PlayerProgressionData between two versions, in the form sent to the client.
+ * A full delta is a complete snapshot and replaces whatever the client had.
+ */
+public class ProgressionDelta {
+
+    public record StatChange(int line, String statName, int level) {}
+
+    boolean full;
+    int baseVersion;
+    int version;
+
+    // New entries of the server's node ordinal table, starting at tableStart
+    int tableStart;
+    final List<String> tableIds = new ArrayList<>();
+
+    // Added nodes packed as (ordinal << 2) | line
+    final IntArrayList nodes = new IntArrayList();
+    final int[] earnedCustomPoints = new int[PlayerProgressionData.LINES.length];
+    final List<StatChange> stats = new ArrayList<>();
+    final Map<String, Integer> points = new LinkedHashMap<>();
+    byte unlocks;
+
+    ProgressionDelta() {}
+
+    public boolean isFull() { return full; }
+    public int getBaseVersion() { return baseVersion; }
+    public int getVersion() { return version; }
+    public int getTableStart() { return tableStart; }
+    public List<String> getTableIds() { return tableIds; }
+
+    public void setBaseVersion(int baseVersion) { this.baseVersion = baseVersion; }
+
+    /** Attach node ids for server ordinals [start, start + ids.size()) the client hasn't seen yet */
+    public void setTable(int start, List<String> ids) {
+        this.tableStart = start;
+        this.tableIds.clear();
+        this.tableIds.addAll(ids);
+    }
+
+    public void write(FriendlyByteBuf buf) {
+        buf.writeBoolean(full);
+        buf.writeVarInt(baseVersion);
+        buf.writeVarInt(version);
+
+        buf.writeVarInt(tableStart);
+        buf.writeVarInt(tableIds.size());
+        for (String id : tableIds) buf.writeUtf(id);
+
+        buf.writeVarInt(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) buf.writeVarInt(nodes.getInt(i));
+        for (int earned : earnedCustomPoints) buf.writeVarInt(earned);
+
+        buf.writeVarInt(stats.size());
+        for (StatChange stat : stats) {
+            buf.writeByte(stat.line());
+            buf.writeUtf(stat.statName());
+            buf.writeVarInt(stat.level());
+        }
+
+        buf.writeVarInt(points.size());
+        points.forEach((className, amount) -> {
+            buf.writeUtf(className);
+            buf.writeVarInt(amount);
+        });
+
+        buf.writeByte(unlocks);
+    }
+
+    public static ProgressionDelta read(FriendlyByteBuf buf) {
+        ProgressionDelta delta = new ProgressionDelta();
+        delta.full = buf.readBoolean();
+        delta.baseVersion = buf.readVarInt();
+        delta.version = buf.readVarInt();
+
+        delta.tableStart = buf.readVarInt();
+        int tableCount = buf.readVarInt();
+        for (int i = 0; i < tableCount; i++) delta.tableIds.add(buf.readUtf());
+
+        int nodeCount = buf.readVarInt();
+        for (int i = 0; i < nodeCount; i++) delta.nodes.add(buf.readVarInt());
+        for (int i = 0; i < delta.earnedCustomPoints.length; i++) delta.earnedCustomPoints[i] = buf.readVarInt();
+
+        int statCount = buf.readVarInt();
+        for (int i = 0; i < statCount; i++) {
+            delta.stats.add(new StatChange(buf.readByte(), buf.readUtf(), buf.readVarInt()));
+        }
+
+        int pointCount = buf.readVarInt();
+        for (int i = 0; i < pointCount; i++) delta.points.put(buf.readUtf(), buf.readVarInt());
+
+        delta.unlocks = buf.readByte();
+        return delta;
+    }
+}
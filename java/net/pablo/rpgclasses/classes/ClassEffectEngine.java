@@ -0,0 +1,169 @@
+package net.pablo.rpgclasses.classes;
+
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.living.MobEffectEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.capability.IPlayerClass;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies class modifiers and effects by diffing against what was applied last time.
+ * Attributes are only touched when the classes, levels or progression change,
+ * effects only when they are about to run out or got removed.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class ClassEffectEngine {
+
+    private static final int EFFECT_DURATION_TICKS = 200;
+    private static final int EFFECT_REFRESH_MARGIN_TICKS = 20;
+    private static final String MODIFIER_NAME = "rpgclass_bonus";
+
+    private static final Map<UUID, AppliedState> appliedStates = new HashMap<>();
+
+    private static class AppliedState {
+        RPGClass primary;
+        RPGClass secondary;
+        int primaryLevel;
+        int secondaryLevel;
+        int spentNodes;
+        ClassEffectSet effects;
+        long refreshEffectsAt;
+
+        boolean matches(IPlayerClass cap) {
+            if (effects == null) return false;
+            if (primary != cap.getSelectedClass() || secondary != cap.getSecondaryClass()) return false;
+            if (primary != null && primaryLevel != cap.getLevel(primary.getId())) return false;
+            if (secondary != null && secondaryLevel != cap.getLevel(secondary.getId())) return false;
+            return spentNodes == cap.getProgressionData().getTotalSpentLevels();
+        }
+    }
+
+    /** Called every server tick for each player, cheap when nothing changed */
+    public static void tick(Player player, IPlayerClass cap) {
+        AppliedState state = appliedStates.computeIfAbsent(player.getUUID(), id -> new AppliedState());
+        long now = player.level().getGameTime();
+
+        if (state.matches(cap)) {
+            if (now >= state.refreshEffectsAt) refreshEffects(player, state, now);
+            return;
+        }
+
+        rebuild(player, cap, state, now);
+    }
+
+    /** Forget what was applied, the next tick re-diffs against every class */
+    public static void invalidate(Player player) {
+        appliedStates.remove(player.getUUID());
+    }
+
+    private static void rebuild(Player player, IPlayerClass cap, AppliedState state, long now) {
+        ClassEffectSet target = new ClassEffectSet();
+        if (cap.getSelectedClass() != null) cap.getSelectedClass().collectClassEffects(target);
+        if (cap.getSecondaryClass() != null) cap.getSecondaryClass().collectClassEffects(target);
+
+        if (state.effects == null) {
+            // First time we see this player: modifiers are saved with the player,
+            // so clear anything left over from a class they no longer have
+            for (RPGClass rpgClass : RPGClassRegistry.getAllClasses()) {
+                ClassEffectSet old = new ClassEffectSet();
+                rpgClass.collectClassEffects(old);
+                removeStale(player, old, target, false);
+            }
+        } else {
+            removeStale(player, state.effects, target, true);
+        }
+
+        for (ClassEffectSet.Modifier modifier : target.getModifiers()) {
+            AttributeInstance instance = player.getAttribute(modifier.attribute());
+            if (instance == null) continue;
+
+            AttributeModifier existing = instance.getModifier(modifier.id());
+            if (existing != null) {
+                if (existing.getAmount() == modifier.amount()) continue;
+                instance.removeModifier(existing);
+            }
+            instance.addPermanentModifier(new AttributeModifier(modifier.id(), MODIFIER_NAME,
+                    modifier.amount(), AttributeModifier.Operation.ADDITION));
+        }
+
+        state.primary = cap.getSelectedClass();
+        state.secondary = cap.getSecondaryClass();
+        state.primaryLevel = state.primary != null ? cap.getLevel(state.primary.getId()) : 0;
+        state.secondaryLevel = state.secondary != null ? cap.getLevel(state.secondary.getId()) : 0;
+        state.spentNodes = cap.getProgressionData().getTotalSpentLevels();
+        state.effects = target;
+
+        refreshEffects(player, state, now);
+    }
+
+    private static void removeStale(Player player, ClassEffectSet old, ClassEffectSet target, boolean removeEffects) {
+        for (ClassEffectSet.Modifier modifier : old.getModifiers()) {
+            if (target.hasModifier(modifier.attribute(), modifier.id())) continue;
+
+            AttributeInstance instance = player.getAttribute(modifier.attribute());
+            if (instance != null && instance.getModifier(modifier.id()) != null) {
+                instance.removeModifier(modifier.id());
+            }
+        }
+
+        if (!removeEffects) return;
+        for (ClassEffectSet.Effect effect : old.getEffects()) {
+            if (!target.hasEffect(effect.effect())) player.removeEffect(effect.effect());
+        }
+    }
+
+    private static void refreshEffects(Player player, AppliedState state, long now) {
+        for (ClassEffectSet.Effect effect : state.effects.getEffects()) {
+            MobEffectInstance current = player.getEffect(effect.effect());
+            if (current == null
+                    || current.getAmplifier() < effect.amplifier()
+                    || current.getDuration() <= EFFECT_REFRESH_MARGIN_TICKS) {
+                player.addEffect(new MobEffectInstance(effect.effect(), EFFECT_DURATION_TICKS, effect.amplifier(), false, false));
+            }
+        }
+        state.refreshEffectsAt = now + EFFECT_DURATION_TICKS - EFFECT_REFRESH_MARGIN_TICKS;
+    }
+
+    private static void onManagedEffectGone(Player player, MobEffect effect) {
+        AppliedState state = appliedStates.get(player.getUUID());
+        if (state != null && state.effects != null && state.effects.hasEffect(effect)) {
+            state.refreshEffectsAt = 0;
+        }
+    }
+
+    // Milk buckets, commands and expiry: re-add on the next tick instead of waiting for the refresh
+    @SubscribeEvent
+    public static void onEffectRemoved(MobEffectEvent.Remove event) {
+        if (event.getEntity() instanceof Player player && !player.level().isClientSide && event.getEffect() != null) {
+            onManagedEffectGone(player, event.getEffect());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEffectExpired(MobEffectEvent.Expired event) {
+        if (event.getEntity() instanceof Player player && !player.level().isClientSide && event.getEffectInstance() != null) {
+            onManagedEffectGone(player, event.getEffectInstance().getEffect());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        invalidate(event.getEntity());
+    }
+}
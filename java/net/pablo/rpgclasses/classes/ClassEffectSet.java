@@ -0,0 +1,61 @@
+package net.pablo.rpgclasses.classes;
+
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The attribute modifiers and effects a class wants on a player.
+ * Filled by RPGClass#collectClassEffects and diffed by ClassEffectEngine.
+ */
+public class ClassEffectSet {
+
+    public record Modifier(Attribute attribute, UUID id, double amount) {}
+    public record Effect(MobEffect effect, int amplifier) {}
+
+    private final List<Modifier> modifiers = new ArrayList<>();
+    private final List<Effect> effects = new ArrayList<>();
+
+    public void addModifier(Attribute attribute, UUID id, double amount) {
+        // Classes sharing a modifier id (warrior/gambler) end up as one summed modifier
+        for (int i = 0; i < modifiers.size(); i++) {
+            Modifier existing = modifiers.get(i);
+            if (existing.attribute() == attribute && existing.id().equals(id)) {
+                modifiers.set(i, new Modifier(attribute, id, existing.amount() + amount));
+                return;
+            }
+        }
+        modifiers.add(new Modifier(attribute, id, amount));
+    }
+
+    public void addEffect(MobEffect effect, int amplifier) {
+        for (int i = 0; i < effects.size(); i++) {
+            Effect existing = effects.get(i);
+            if (existing.effect() == effect) {
+                if (amplifier > existing.amplifier()) effects.set(i, new Effect(effect, amplifier));
+                return;
+            }
+        }
+        effects.add(new Effect(effect, amplifier));
+    }
+
+    public List<Modifier> getModifiers() { return modifiers; }
+    public List<Effect> getEffects() { return effects; }
+
+    public boolean hasModifier(Attribute attribute, UUID id) {
+        for (Modifier modifier : modifiers) {
+            if (modifier.attribute() == attribute && modifier.id().equals(id)) return true;
+        }
+        return false;
+    }
+
+    public boolean hasEffect(MobEffect effect) {
+        for (Effect e : effects) {
+            if (e.effect() == effect) return true;
+        }
+        return false;
+    }
+}
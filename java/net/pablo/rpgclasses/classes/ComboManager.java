@@ -0,0 +1,97 @@
+package net.pablo.rpgclasses.classes;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.network.NetworkHandler;
+import net.pablo.rpgclasses.network.SyncComboPacket;
+import net.pablo.rpgclasses.utils.PlayerActivityTracker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Fighter combo counters, one runtime state per player.
+ * Each hit pushes an expiry deadline; only players whose deadline passed are
+ * touched on tick, and the client is synced only when the count changes.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class ComboManager {
+
+    public static final int COMBO_TIMEOUT_TICKS = 100; // 5 sec hit timeout
+
+    private static class ComboState {
+        int combo;
+        long lastHitTick = -1;
+        long expiresAt;
+    }
+
+    private record Expiry(long deadline, UUID playerId) {}
+
+    private static final Map<UUID, ComboState> states = new HashMap<>();
+    private static final PriorityQueue<Expiry> expiries = new PriorityQueue<>((a, b) -> Long.compare(a.deadline(), b.deadline()));
+
+    public static int getCombo(Player player) {
+        ComboState state = states.get(player.getUUID());
+        return state != null ? state.combo : 0;
+    }
+
+    /** Count a hit, several hits in the same tick (multi-target swings) count once */
+    public static void onHit(ServerPlayer player) {
+        long now = player.server.getTickCount();
+        ComboState state = states.computeIfAbsent(player.getUUID(), id -> new ComboState());
+        if (state.lastHitTick == now) return;
+
+        if (PlayerActivityTracker.isAfk(player)) {
+            reset(player);
+            return;
+        }
+
+        state.combo++;
+        state.lastHitTick = now;
+        state.expiresAt = now + COMBO_TIMEOUT_TICKS;
+        expiries.add(new Expiry(state.expiresAt, player.getUUID()));
+
+        sync(player, state, COMBO_TIMEOUT_TICKS);
+    }
+
+    public static void reset(ServerPlayer player) {
+        ComboState state = states.get(player.getUUID());
+        if (state == null || state.combo == 0) return;
+
+        state.combo = 0;
+        sync(player, state, 0);
+    }
+
+    private static void sync(ServerPlayer player, ComboState state, int ticksRemaining) {
+        NetworkHandler.sendToClient(new SyncComboPacket(state.combo, ticksRemaining), player);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || expiries.isEmpty()) return;
+
+        long now = event.getServer().getTickCount();
+        while (!expiries.isEmpty() && expiries.peek().deadline() <= now) {
+            Expiry expiry = expiries.poll();
+            ComboState state = states.get(expiry.playerId());
+            // Later hits push a newer deadline, skip the stale ones
+            if (state == null || state.expiresAt != expiry.deadline()) continue;
+
+            ServerPlayer player = event.getServer().getPlayerList().getPlayer(expiry.playerId());
+            if (player != null) reset(player);
+            else state.combo = 0;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        states.remove(event.getEntity().getUUID());
+    }
+}
@@ -1,12 +1,11 @@
 package net.pablo.rpgclasses.classes;
 
-import net.minecraft.world.entity.player.Player;
-
 public abstract class RPGClass {
     private final String className;
     private final double maxHealth;
     private final double movementSpeed;
     private final double attackDamage;
+    private int id = -1;
 
     public RPGClass(String name, double hp, double speed, double attack) {
         this.className = name;
@@ -16,10 +15,15 @@ public abstract class RPGClass {
     }
 
     public String getClassName() { return className; }
+
+    /** Small stable id assigned by RPGClassRegistry, used to index per-class arrays */
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
     public double getMaxHealth() { return maxHealth; }
     public double getMovementSpeed() { return movementSpeed; }
     public double getAttackDamage() { return attackDamage; }
 
-    public abstract void applyClassEffect(Player player);
-    public abstract void removeClassEffect(Player player);
+    /** Describe the modifiers and effects this class gives; applied by ClassEffectEngine */
+    public abstract void collectClassEffects(ClassEffectSet effects);
 }
@@ -1,10 +1,7 @@
 package net.pablo.rpgclasses.classes;
 
-import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
-import net.minecraft.world.entity.player.Player;
 
 import java.util.UUID;
 
@@ -18,33 +15,10 @@ public class Ranger extends RPGClass {
     }
 
     @Override
-    public void applyClassEffect(Player player) {
-        addAttributeModifier(player, Attributes.MAX_HEALTH, HEALTH_MODIFIER_UUID, getMaxHealth() - 20.0);
-        addAttributeModifier(player, Attributes.MOVEMENT_SPEED, SPEED_MODIFIER_UUID, getMovementSpeed());
-        addAttributeModifier(player, Attributes.ATTACK_DAMAGE, ATTACK_MODIFIER_UUID, getAttackDamage());
-        player.addEffect(new MobEffectInstance(MobEffects.MOVEMENT_SPEED, 200, 0, false, false));
-    }
-
-    @Override
-    public void removeClassEffect(Player player) {
-        removeAttributeModifier(player, Attributes.MAX_HEALTH, HEALTH_MODIFIER_UUID);
-        removeAttributeModifier(player, Attributes.MOVEMENT_SPEED, SPEED_MODIFIER_UUID);
-        removeAttributeModifier(player, Attributes.ATTACK_DAMAGE, ATTACK_MODIFIER_UUID);
-        player.removeEffect(MobEffects.MOVEMENT_SPEED);
-    }
-
-    private void addAttributeModifier(Player player, net.minecraft.world.entity.ai.attributes.Attribute attribute, UUID id, double amount) {
-        var instance = player.getAttribute(attribute);
-        if (instance != null && instance.getModifier(id) == null) {
-            instance.addPermanentModifier(new AttributeModifier(id, "rpgclass_bonus", amount, AttributeModifier.Operation.ADDITION));
-        }
-    }
-
-    private void removeAttributeModifier(Player player, net.minecraft.world.entity.ai.attributes.Attribute attribute, UUID id) {
-        var instance = player.getAttribute(attribute);
-        if (instance != null) {
-            var modifier = instance.getModifier(id);
-            if (modifier != null) instance.removeModifier(modifier);
-        }
+    public void collectClassEffects(ClassEffectSet effects) {
+        effects.addModifier(Attributes.MAX_HEALTH, HEALTH_MODIFIER_UUID, getMaxHealth() - 20.0);
+        effects.addModifier(Attributes.MOVEMENT_SPEED, SPEED_MODIFIER_UUID, getMovementSpeed());
+        effects.addModifier(Attributes.ATTACK_DAMAGE, ATTACK_MODIFIER_UUID, getAttackDamage());
+        effects.addEffect(MobEffects.MOVEMENT_SPEED, 0);
     }
 }
@@ -1,10 +1,7 @@
 package net.pablo.rpgclasses.classes;
 
-import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
-import net.minecraft.world.entity.player.Player;
 
 import java.util.UUID;
 
@@ -26,42 +23,17 @@ public class Tank extends RPGClass {
     }
 
     @Override
-    public void applyClassEffect(Player player) {
-        // Health: adjust relative to current max
-        addAttributeModifier(player, Attributes.MAX_HEALTH, HEALTH_MODIFIER_UUID, getMaxHealth() - player.getMaxHealth());
+    public void collectClassEffects(ClassEffectSet effects) {
+        // Health: bonus on top of the vanilla 20 base
+        effects.addModifier(Attributes.MAX_HEALTH, HEALTH_MODIFIER_UUID, getMaxHealth() - 20.0);
 
         // Armor
-        addAttributeModifier(player, Attributes.ARMOR, ARMOR_MODIFIER_UUID, getBaseArmor());
+        effects.addModifier(Attributes.ARMOR, ARMOR_MODIFIER_UUID, getBaseArmor());
 
         // Attack Damage
-        addAttributeModifier(player, Attributes.ATTACK_DAMAGE, ATTACK_DAMAGE_MODIFIER_UUID, getAttackDamage());
+        effects.addModifier(Attributes.ATTACK_DAMAGE, ATTACK_DAMAGE_MODIFIER_UUID, getAttackDamage());
 
         // Optional: resistance effect
-        if (!player.hasEffect(MobEffects.DAMAGE_RESISTANCE)) {
-            player.addEffect(new MobEffectInstance(MobEffects.DAMAGE_RESISTANCE, 200, 0, false, false));
-        }
-    }
-
-    @Override
-    public void removeClassEffect(Player player) {
-        removeAttributeModifier(player, Attributes.MAX_HEALTH, HEALTH_MODIFIER_UUID);
-        removeAttributeModifier(player, Attributes.ARMOR, ARMOR_MODIFIER_UUID);
-        removeAttributeModifier(player, Attributes.ATTACK_DAMAGE, ATTACK_DAMAGE_MODIFIER_UUID);
-        player.removeEffect(MobEffects.DAMAGE_RESISTANCE);
-    }
-
-    private void addAttributeModifier(Player player, net.minecraft.world.entity.ai.attributes.Attribute attribute, UUID id, double amount) {
-        var instance = player.getAttribute(attribute);
-        if (instance != null && instance.getModifier(id) == null) {
-            instance.addPermanentModifier(new AttributeModifier(id, "rpgclass_bonus", amount, AttributeModifier.Operation.ADDITION));
-        }
-    }
-
-    private void removeAttributeModifier(Player player, net.minecraft.world.entity.ai.attributes.Attribute attribute, UUID id) {
-        var instance = player.getAttribute(attribute);
-        if (instance != null) {
-            var modifier = instance.getModifier(id);
-            if (modifier != null) instance.removeModifier(modifier);
-        }
+        effects.addEffect(MobEffects.DAMAGE_RESISTANCE, 0);
     }
 }
@@ -0,0 +1,37 @@
+package net.pablo.rpgclasses.client;
+
+import net.minecraft.client.Minecraft;
+import net.pablo.rpgclasses.skills.SkillId;
+
+/** Client copy of the local player's skill cooldowns, filled by CooldownSyncPacket */
+public class ClientCooldownCache {
+    // Client game time when each skill is ready again, and the full cooldown it was synced with
+    private static final long[] readyAt = new long[SkillId.COUNT];
+    private static final int[] totalTicks = new int[SkillId.COUNT];
+
+    public static void set(SkillId skill, int ticksRemaining, int total) {
+        readyAt[skill.ordinal()] = clientTime() + ticksRemaining;
+        totalTicks[skill.ordinal()] = total;
+    }
+
+    public static boolean isOnCooldown(SkillId skill) {
+        return getRemainingTicks(skill) > 0;
+    }
+
+    public static int getRemainingTicks(SkillId skill) {
+        return (int) Math.max(0, readyAt[skill.ordinal()] - clientTime());
+    }
+
+    /** 1 right after the skill was used down to 0 when it's ready */
+    public static float getRemainingFraction(SkillId skill, float partialTick) {
+        int total = totalTicks[skill.ordinal()];
+        if (total <= 0) return 0f;
+        float remaining = readyAt[skill.ordinal()] - clientTime() - partialTick;
+        return Math.max(0f, Math.min(1f, remaining / total));
+    }
+
+    private static long clientTime() {
+        Minecraft minecraft = Minecraft.getInstance();
+        return minecraft.level != null ? minecraft.level.getGameTime() : 0;
+    }
+}
@@ -0,0 +1,191 @@
+package net.pablo.rpgclasses.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.network.FxPacket;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/** Turns FxPackets into particles, re-emitting lasting shapes on client ticks */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID, value = Dist.CLIENT)
+public class ClientFxManager {
+
+    // Lasting shapes past this are dropped, nothing we draw needs that many at once
+    private static final int MAX_ACTIVE = 512;
+    private static final float GOLDEN_ANGLE = (float) (Math.PI * (3.0 - Math.sqrt(5.0)));
+
+    private static class ActiveFx {
+        final FxPacket fx;
+        final ClientLevel level;
+        int age = 0;
+
+        ActiveFx(FxPacket fx, ClientLevel level) {
+            this.fx = fx;
+            this.level = level;
+        }
+    }
+
+    private static final List<ActiveFx> active = new ArrayList<>();
+
+    public static void add(FxPacket fx) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) return;
+
+        emit(level, fx, 0);
+        if (fx.getDurationTicks() > fx.getIntervalTicks() && active.size() < MAX_ACTIVE) {
+            active.add(new ActiveFx(fx, level));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || active.isEmpty()) return;
+        ClientLevel level = Minecraft.getInstance().level;
+        if (Minecraft.getInstance().isPaused()) return;
+
+        Iterator<ActiveFx> it = active.iterator();
+        while (it.hasNext()) {
+            ActiveFx entry = it.next();
+            // Dimension change or disconnect
+            if (entry.level != level) {
+                it.remove();
+                continue;
+            }
+            entry.age++;
+            if (entry.age >= entry.fx.getDurationTicks()) {
+                it.remove();
+                continue;
+            }
+            if (entry.age % entry.fx.getIntervalTicks() == 0) {
+                emit(level, entry.fx, entry.age / entry.fx.getIntervalTicks());
+            }
+        }
+    }
+
+    // ------------------ SHAPES ------------------
+
+    private static void emit(ClientLevel level, FxPacket fx, int emission) {
+        RandomSource random = RandomSource.create(fx.getSeed() * 31L + emission);
+        switch (fx.getShape()) {
+            case BEAM -> beam(level, fx, emission, random);
+            case RING -> ring(level, fx, emission);
+            case SPHERE -> sphere(level, fx);
+            case ARC -> arc(level, fx, random);
+            case SPIRAL -> spiral(level, fx, random);
+            case POINT -> point(level, fx, random);
+        }
+    }
+
+    private static void beam(ClientLevel level, FxPacket fx, int emission, RandomSource random) {
+        Vec3 vector = fx.getVector();
+        int count = fx.getCount();
+        int drawn = count;
+        if (fx.hasFlag(FxPacket.GROW)) {
+            drawn = Mth.ceil(count * (emission + 1) / (double) fx.getEmissions());
+        }
+        for (int i = 0; i < drawn; i++) {
+            double t = i / (double) count;
+            spawn(level, fx, fx.getX() + vector.x * t, fx.getY() + vector.y * t, fx.getZ() + vector.z * t,
+                    randomSpeed(random, fx), randomSpeed(random, fx), randomSpeed(random, fx));
+        }
+    }
+
+    private static void ring(ClientLevel level, FxPacket fx, int emission) {
+        Vec3 normal = fx.getVector();
+        if (normal.lengthSqr() < 1.0E-6) normal = new Vec3(0, 1, 0);
+        normal = normal.normalize();
+        // Two unit vectors spanning the ring's plane
+        Vec3 reference = Math.abs(normal.y) < 0.9 ? new Vec3(0, 1, 0) : new Vec3(1, 0, 0);
+        Vec3 u = normal.cross(reference).normalize();
+        Vec3 w = normal.cross(u);
+
+        int count = fx.getCount();
+        double phase = fx.getExtra() * emission;
+        double radius = fx.getRadius();
+        for (int i = 0; i < count; i++) {
+            double angle = phase + Math.PI * 2 * i / count;
+            double cos = Math.cos(angle), sin = Math.sin(angle);
+            double dx = u.x * cos + w.x * sin;
+            double dy = u.y * cos + w.y * sin;
+            double dz = u.z * cos + w.z * sin;
+            spawn(level, fx, fx.getX() + dx * radius, fx.getY() + dy * radius, fx.getZ() + dz * radius,
+                    dx * fx.getSpeed(), dy * fx.getSpeed(), dz * fx.getSpeed());
+        }
+    }
+
+    /** Fibonacci sphere, evenly spread without clumping at the poles */
+    private static void sphere(ClientLevel level, FxPacket fx) {
+        int count = fx.getCount();
+        double span = fx.hasFlag(FxPacket.DOME) ? 1.0 : 2.0;
+        double radius = fx.getRadius();
+        for (int i = 0; i < count; i++) {
+            double dy = 1.0 - (i + 0.5) / count * span;
+            double ring = Math.sqrt(Math.max(0.0, 1.0 - dy * dy));
+            double angle = GOLDEN_ANGLE * i;
+            double dx = Math.cos(angle) * ring;
+            double dz = Math.sin(angle) * ring;
+            spawn(level, fx, fx.getX() + dx * radius, fx.getY() + dy * radius, fx.getZ() + dz * radius,
+                    dx * fx.getSpeed(), dy * fx.getSpeed(), dz * fx.getSpeed());
+        }
+    }
+
+    private static void arc(ClientLevel level, FxPacket fx, RandomSource random) {
+        Vec3 direction = fx.getVector();
+        double yaw = Math.atan2(direction.z, direction.x);
+        double width = fx.getExtra();
+        int count = fx.getCount();
+        double radius = fx.getRadius();
+        for (int i = 0; i < count; i++) {
+            double t = count > 1 ? i / (double) (count - 1) : 0.5;
+            double angle = yaw + (t - 0.5) * width;
+            spawn(level, fx, fx.getX() + Math.cos(angle) * radius, fx.getY(), fx.getZ() + Math.sin(angle) * radius,
+                    randomSpeed(random, fx), randomSpeed(random, fx), randomSpeed(random, fx));
+        }
+    }
+
+    private static void spiral(ClientLevel level, FxPacket fx, RandomSource random) {
+        double height = fx.getVector().y;
+        double turns = fx.getExtra();
+        double phase = random.nextDouble() * Math.PI * 2;
+        int count = fx.getCount();
+        double radius = fx.getRadius();
+        for (int i = 0; i < count; i++) {
+            double t = count > 1 ? i / (double) (count - 1) : 0.0;
+            double angle = phase + Math.PI * 2 * turns * t;
+            spawn(level, fx, fx.getX() + Math.cos(angle) * radius, fx.getY() + height * t, fx.getZ() + Math.sin(angle) * radius,
+                    randomSpeed(random, fx), randomSpeed(random, fx), randomSpeed(random, fx));
+        }
+    }
+
+    /** Same spread as ServerLevel.sendParticles with a count */
+    private static void point(ClientLevel level, FxPacket fx, RandomSource random) {
+        Vec3 spread = fx.getVector();
+        int count = fx.getCount();
+        for (int i = 0; i < count; i++) {
+            spawn(level, fx,
+                    fx.getX() + random.nextGaussian() * spread.x,
+                    fx.getY() + random.nextGaussian() * spread.y,
+                    fx.getZ() + random.nextGaussian() * spread.z,
+                    randomSpeed(random, fx), randomSpeed(random, fx), randomSpeed(random, fx));
+        }
+    }
+
+    private static double randomSpeed(RandomSource random, FxPacket fx) {
+        return fx.getSpeed() == 0f ? 0.0 : (random.nextDouble() * 2.0 - 1.0) * fx.getSpeed();
+    }
+
+    private static void spawn(ClientLevel level, FxPacket fx, double x, double y, double z,
+                              double vx, double vy, double vz) {
+        level.addParticle(fx.getParticle(), x, y, z, vx, vy, vz);
+    }
+}
@@ -0,0 +1,42 @@
+package net.pablo.rpgclasses.client;
+
+import net.pablo.rpgclasses.capability.PlayerProgressionData;
+import net.pablo.rpgclasses.capability.ProgressionDelta;
+import net.pablo.rpgclasses.network.NetworkHandler;
+import net.pablo.rpgclasses.network.ProgressionAckPacket;
+import net.pablo.rpgclasses.progression.NodeRegistry;
+
+import java.util.Arrays;
+
+/**
+ * Client side of the progression delta protocol.
+ * Keeps the server -> local node ordinal mapping and checks deltas against our version.
+ */
+public class ClientProgressionSync {
+
+    // Index = server ordinal, value = our ordinal for the same node id
+    private static int[] serverToLocal = new int[0];
+
+    public static void apply(PlayerProgressionData progression, ProgressionDelta delta) {
+        if (!delta.isFull() && progression.getSyncVersion() != delta.getBaseVersion()) {
+            // We missed something (new player entity, dropped state), ask for a snapshot
+            NetworkHandler.sendToServer(new ProgressionAckPacket(progression.getSyncVersion(), true));
+            return;
+        }
+
+        if (delta.isFull()) serverToLocal = new int[0];
+        readTable(delta);
+
+        progression.applyDelta(delta, ordinal -> ordinal < serverToLocal.length ? serverToLocal[ordinal] : -1);
+        NetworkHandler.sendToServer(new ProgressionAckPacket(progression.getSyncVersion(), false));
+    }
+
+    private static void readTable(ProgressionDelta delta) {
+        int end = delta.getTableStart() + delta.getTableIds().size();
+        if (end > serverToLocal.length) serverToLocal = Arrays.copyOf(serverToLocal, end);
+
+        for (int i = 0; i < delta.getTableIds().size(); i++) {
+            serverToLocal[delta.getTableStart() + i] = NodeRegistry.internNodeId(delta.getTableIds().get(i));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package net.pablo.rpgclasses.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.particles.DustParticleOptions;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Plays Vermillion Laceration slash bursts on the client.
+ *
+ * The server only sends the burst center and a seed (VermillionBurstPacket); the slashes,
+ * their Bezier arcs and the particle jitter all come from that seed, so every client sees
+ * the same burst. Angles go through Mth's sin table, arc control points are computed once
+ * per slash.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID, value = Dist.CLIENT)
+public class VermillionSlashRenderer {
+
+    private static final float MIN_RADIUS = 2.0f;
+    private static final float ARC_ANGLE = Mth.HALF_PI; // 90 degrees
+    private static final double CURVE_HEIGHT = 0.5;
+    private static final int MAX_ACTIVE = 256;
+
+    private static final DustParticleOptions LINE = new DustParticleOptions(new Vector3f(1.0f, 1.0f, 1.0f), 2.0f);
+    private static final DustParticleOptions EDGE = new DustParticleOptions(new Vector3f(1.0f, 0.8f, 0.8f), 1.5f);
+    private static final DustParticleOptions TRAIL = new DustParticleOptions(new Vector3f(1.0f, 0.1f, 0.1f), 1.2f);
+
+    private static final List<Slash> active = new ArrayList<>();
+    private static ClientLevel activeLevel;
+
+    /** One arc swept over maxTicks, all geometry fixed at creation */
+    private static class Slash {
+        final double sx, sy, sz;   // start
+        final double cx, cy, cz;   // Bezier control point
+        final double ex, ey, ez;   // end
+        final double tx, ty, tz;   // unit tangent, start to end
+        final double px, py, pz;   // unit perpendicular for the slash width
+        final int maxTicks;
+        final boolean reverse;
+        final RandomSource random;
+        int tick = 0;
+
+        Slash(double centerX, double centerY, double centerZ, float auraRadius, RandomSource random) {
+            this.random = random;
+
+            // Random heading around the full circle, mostly flat, somewhere inside the aura
+            float heading = random.nextFloat() * Mth.TWO_PI;
+            float pitch = (random.nextFloat() - 0.5f) * Mth.PI / 4;
+            float radius = MIN_RADIUS + random.nextFloat() * (auraRadius - MIN_RADIUS);
+            this.maxTicks = 8 + random.nextInt(6);
+            this.reverse = random.nextBoolean();
+
+            float cosPitch = Mth.cos(pitch) * radius;
+            float y = Mth.sin(pitch) * radius;
+            float startAngle = heading - ARC_ANGLE / 2;
+            float endAngle = heading + ARC_ANGLE / 2;
+            sx = centerX + Mth.cos(startAngle) * cosPitch;
+            sy = centerY + y;
+            sz = centerZ + Mth.sin(startAngle) * cosPitch;
+            ex = centerX + Mth.cos(endAngle) * cosPitch;
+            ey = centerY + y;
+            ez = centerZ + Mth.sin(endAngle) * cosPitch;
+
+            // Midpoint pushed outward from the center gives the arc its bow
+            double mx = (sx + ex) * 0.5, my = (sy + ey) * 0.5, mz = (sz + ez) * 0.5;
+            double ox = mx - centerX, oy = my - centerY, oz = mz - centerZ;
+            double outward = Math.sqrt(ox * ox + oy * oy + oz * oz);
+            double bow = outward > 1.0E-6 ? CURVE_HEIGHT / outward : 0.0;
+            cx = mx + ox * bow;
+            cy = my + oy * bow;
+            cz = mz + oz * bow;
+
+            Vec3 tangent = new Vec3(ex - sx, ey - sy, ez - sz).normalize();
+            // Perpendicular for the slash width, crossed with up unless the tangent is nearly vertical
+            Vec3 perpendicular = tangent.cross(Math.abs(tangent.y) < 0.9 ? new Vec3(0, 1, 0) : new Vec3(1, 0, 0)).normalize();
+            tx = tangent.x;
+            ty = tangent.y;
+            tz = tangent.z;
+            px = perpendicular.x;
+            py = perpendicular.y;
+            pz = perpendicular.z;
+        }
+
+        /** Advances one tick and spawns this tick's particles, false once the slash is done */
+        boolean tick(ClientLevel level) {
+            tick++;
+            double progress = tick / (double) maxTicks;
+            double t = reverse ? 1 - progress : progress;
+
+            // Quadratic Bezier
+            double omt = 1 - t;
+            double a = omt * omt, b = 2 * omt * t, c = t * t;
+            double x = sx * a + cx * b + ex * c;
+            double y = sy * a + cy * b + ey * c;
+            double z = sz * a + cz * b + ez * c;
+
+            // Main slash line
+            double offset = (random.nextDouble() - 0.5) * 0.5;
+            level.addParticle(LINE, x + px * offset, y + py * offset, z + pz * offset, 0, 0, 0);
+
+            // Additional particles along the slash width
+            for (int i = 0; i < 2; i++) {
+                offset = (random.nextDouble() - 0.5) * 0.8;
+                level.addParticle(EDGE, x + px * offset, y + py * offset, z + pz * offset, 0, 0, 0);
+            }
+
+            // Glowing trail behind the leading edge
+            if (progress > 0.2) {
+                double bx = x - tx * 0.3, by = y - ty * 0.3, bz = z - tz * 0.3;
+                for (int i = 0; i < 3; i++) {
+                    level.addParticle(TRAIL,
+                            bx + (random.nextDouble() - 0.5) * 0.4,
+                            by + (random.nextDouble() - 0.5) * 0.4,
+                            bz + (random.nextDouble() - 0.5) * 0.4,
+                            0, 0, 0);
+                }
+            }
+
+            // Impact sparks near the end
+            if (progress > 0.8) {
+                for (int i = 0; i < 3; i++) {
+                    level.addParticle(ParticleTypes.FLAME,
+                            x + (random.nextDouble() - 0.5) * 0.5,
+                            y + (random.nextDouble() - 0.5) * 0.5,
+                            z + (random.nextDouble() - 0.5) * 0.5,
+                            (random.nextDouble() - 0.5) * 0.2,
+                            (random.nextDouble() - 0.5) * 0.2,
+                            (random.nextDouble() - 0.5) * 0.2);
+                }
+            }
+
+            return tick < maxTicks;
+        }
+    }
+
+    /** Starts a burst, the first slash step is drawn on the next client tick */
+    public static void addBurst(double x, double y, double z, float auraRadius, int slashCount, int seed) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) return;
+        if (level != activeLevel) {
+            active.clear();
+            activeLevel = level;
+        }
+
+        RandomSource random = RandomSource.create(seed);
+        for (int i = 0; i < slashCount && active.size() < MAX_ACTIVE; i++) {
+            active.add(new Slash(x, y, z, auraRadius, random.fork()));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || active.isEmpty()) return;
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.isPaused()) return;
+        if (minecraft.level == null || minecraft.level != activeLevel) {
+            active.clear();
+            return;
+        }
+
+        Iterator<Slash> it = active.iterator();
+        while (it.hasNext()) {
+            if (!it.next().tick(activeLevel)) it.remove();
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package net.pablo.rpgclasses.client.combo;
 
+import net.minecraft.client.Minecraft;
+
 public class ComboData {
     private static int combo = 0;
+    // Client game time when the combo runs out, and the full window it was synced with
+    private static long expiresAt = 0;
+    private static int timeoutTicks = 0;
 
-    public static void setCombo(int value) {
+    public static void setCombo(int value, int ticksRemaining) {
         combo = value;
+        timeoutTicks = ticksRemaining;
+        expiresAt = clientTime() + ticksRemaining;
     }
 
+    /** Current combo, already 0 once the timeout passed locally even before the server says so */
     public static int getCombo() {
-        return combo;
+        return combo > 0 && clientTime() < expiresAt ? combo : 0;
+    }
+
+    /** 1 right after a hit down to 0 when the combo expires */
+    public static float getRemainingFraction(float partialTick) {
+        if (timeoutTicks <= 0) return 0f;
+        float remaining = expiresAt - clientTime() - partialTick;
+        return Math.max(0f, Math.min(1f, remaining / timeoutTicks));
+    }
+
+    private static long clientTime() {
+        Minecraft minecraft = Minecraft.getInstance();
+        return minecraft.level != null ? minecraft.level.getGameTime() : 0;
     }
 }
@@ -9,6 +9,8 @@ import net.pablo.rpgclasses.client.combo.ComboData;
 public class ComboOverlay {
     public static final IGuiOverlay COMBO_OVERLAY = ComboOverlay::renderComboCounter;
 
+    private static final int TIMER_WIDTH = 40;
+
     private static void renderComboCounter(ForgeGui gui, GuiGraphics guiGraphics, float partialTick, int screenWidth, int screenHeight) {
         Minecraft minecraft = Minecraft.getInstance();
         if (minecraft.player == null) return;
@@ -19,6 +21,11 @@ public class ComboOverlay {
             int x = screenWidth / 2 + 50;
             int y = screenHeight / 2 - 30;
             guiGraphics.drawString(minecraft.font, "Combo: " + combo, x, y, 0xFFFFFF, true);
+
+            // Timeout bar, counted down locally between syncs
+            int filled = (int) (TIMER_WIDTH * ComboData.getRemainingFraction(partialTick));
+            guiGraphics.fill(x, y + 10, x + TIMER_WIDTH, y + 12, 0x80000000);
+            guiGraphics.fill(x, y + 10, x + filled, y + 12, 0xFFFFAA00);
         }
     }
 }
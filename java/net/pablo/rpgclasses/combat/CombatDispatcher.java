@@ -0,0 +1,213 @@
+package net.pablo.rpgclasses.combat;
+
+import net.minecraftforge.event.entity.living.LivingDamageEvent;
+import net.minecraftforge.event.entity.living.LivingHurtEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.capability.IPlayerClass;
+import net.pablo.rpgclasses.classes.ComboManager;
+import net.pablo.rpgclasses.combat.HitContext.Role;
+import net.pablo.rpgclasses.passive.SurgingBlow;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+import net.pablo.rpgclasses.skills.ArcaneBrandManager;
+import net.pablo.rpgclasses.skills.SpectralChainsManager;
+import net.pablo.rpgclasses.skills.StormSurgeManager;
+import net.pablo.rpgclasses.utils.PlayerActivityTracker;
+import net.pablo.rpgclasses.xphandlers.FighterXP;
+import net.pablo.rpgclasses.xphandlers.MobKillXP;
+import net.pablo.rpgclasses.xphandlers.RogueXP;
+import net.pablo.rpgclasses.xphandlers.TankXP;
+import net.pablo.rpgclasses.xphandlers.WarriorXP;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The mod's only LivingHurtEvent and LivingDamageEvent subscriber.
+ *
+ * Each event builds one HitContext (class capabilities looked up once per side) and hands it to
+ * the modules registered for the classes the attacker and victim actually have.
+ *
+ * Hurt (before armor) is a single pipeline of modifiers run in ascending order, each getting the
+ * amount the previous one returned, so e.g. combo counting always happens before Surging Blow
+ * reads the combo. Damage (after armor) goes to listeners, which only observe the final amount.
+ * Everything is registered in the static block below.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class CombatDispatcher {
+
+    /** Class id for modules that want every hit where that side is a player, never a registry id or -1 */
+    public static final int ANY_CLASS = Integer.MIN_VALUE;
+
+    // Hurt pipeline order, lower runs first
+    public static final int ORDER_COUNT_HIT = 0;
+    public static final int ORDER_SURGING_BLOW = 100;
+    public static final int ORDER_SPECTRAL_CHAINS = 200;
+    public static final int ORDER_ARCANE_BRAND = 300;
+    /** Observers of the final pre-armor amount */
+    public static final int ORDER_OBSERVE = 1000;
+
+    /** One hurt pipeline step, returns the new amount */
+    @FunctionalInterface
+    public interface Modifier {
+        float apply(HitContext hit, float amount);
+    }
+
+    private record Stage(Role role, int classId, int order, Modifier modifier) {}
+
+    private record Listener(Role role, int classId, Consumer<HitContext> listener) {}
+
+    private static final List<Stage> hurtPipeline = new ArrayList<>();
+    // Index = class id, last slot is ANY_CLASS
+    private static final List<List<Listener>> attackerListeners = new ArrayList<>();
+    private static final List<List<Listener>> victimListeners = new ArrayList<>();
+
+    // Events nest (a module hurting another entity mid-hit), so one context per depth
+    private static final List<HitContext> pool = new ArrayList<>();
+    private static int depth = 0;
+
+    // Counters for /rpgdebug combat
+    private static long hurtEvents = 0;
+    private static long damageEvents = 0;
+    private static long modifierCalls = 0;
+    private static long listenerCalls = 0;
+
+    static {
+        for (int i = 0; i <= RPGClassRegistry.getClassCount(); i++) {
+            attackerListeners.add(new ArrayList<>());
+            victimListeners.add(new ArrayList<>());
+        }
+
+        int fighter = classId("Fighter");
+        int mage = classId("Mage");
+        int ranger = classId("Ranger");
+        int rogue = classId("Rogue");
+        int tank = classId("Tank");
+        int warrior = classId("Warrior");
+
+        // Hurt
+        addModifier(Role.ATTACKER, fighter, ORDER_COUNT_HIT, (hit, amount) -> {
+            // Primary Fighters count the hit here, secondaries when FighterXP sees the damage
+            if (hit.isModulePrimary() && hit.getServerAttacker() != null) ComboManager.onHit(hit.getServerAttacker());
+            return amount;
+        });
+        addModifier(Role.ATTACKER, fighter, ORDER_SURGING_BLOW, SurgingBlow::modifyDamage);
+        addModifier(Role.ATTACKER, ranger, ORDER_SPECTRAL_CHAINS, SpectralChainsManager::amplifyDamage);
+        addModifier(Role.ATTACKER, mage, ORDER_ARCANE_BRAND, ArcaneBrandManager::amplifyDamage);
+        addModifier(Role.VICTIM, tank, ORDER_OBSERVE, StormSurgeManager::onHurt);
+        addModifier(Role.VICTIM, tank, ORDER_OBSERVE, TankXP::onHitTaken);
+
+        // Damage
+        addDamageListener(Role.ATTACKER, ANY_CLASS, MobKillXP::onDamage);
+        addDamageListener(Role.ATTACKER, fighter, FighterXP::onDamage);
+        addDamageListener(Role.ATTACKER, warrior, WarriorXP::onDamage);
+        addDamageListener(Role.ATTACKER, rogue, RogueXP::onDamage);
+        addDamageListener(Role.VICTIM, ANY_CLASS, hit -> PlayerActivityTracker.markHurt(hit.getVictimPlayer()));
+    }
+
+    /** Fails loudly rather than letting a renamed class register its modules for nobody */
+    private static int classId(String className) {
+        int id = RPGClassRegistry.getIdByName(className);
+        if (id < 0) throw new IllegalStateException("Combat modules reference unknown class " + className);
+        return id;
+    }
+
+    private static void checkClassId(int classId) {
+        if (classId != ANY_CLASS && (classId < 0 || classId >= RPGClassRegistry.getClassCount())) {
+            throw new IllegalArgumentException("Invalid combat module class id " + classId);
+        }
+    }
+
+    /** Same order keeps registration order */
+    public static void addModifier(Role role, int classId, int order, Modifier modifier) {
+        checkClassId(classId);
+        hurtPipeline.add(new Stage(role, classId, order, modifier));
+        hurtPipeline.sort(Comparator.comparingInt(Stage::order));
+    }
+
+    public static void addDamageListener(Role role, int classId, Consumer<HitContext> listener) {
+        checkClassId(classId);
+        List<List<Listener>> byClass = role == Role.ATTACKER ? attackerListeners : victimListeners;
+        byClass.get(classId == ANY_CLASS ? byClass.size() - 1 : classId).add(new Listener(role, classId, listener));
+    }
+
+    @SubscribeEvent
+    public static void onLivingHurt(LivingHurtEvent event) {
+        if (event.getEntity().level().isClientSide) return;
+        hurtEvents++;
+
+        HitContext hit = acquire();
+        try {
+            hit.set(event.getSource(), event.getEntity(), event.getAmount());
+            if (hit.getAttacker() == null && hit.getVictimPlayer() == null) return;
+
+            float amount = event.getAmount();
+            for (Stage stage : hurtPipeline) {
+                if (!hit.has(stage.role(), stage.classId())) continue;
+                hit.route(stage.role(), stage.classId());
+                amount = stage.modifier().apply(hit, amount);
+                hit.setAmount(amount);
+                modifierCalls++;
+            }
+            if (amount != event.getAmount()) event.setAmount(amount);
+        } finally {
+            release(hit);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLivingDamage(LivingDamageEvent event) {
+        if (event.getEntity().level().isClientSide) return;
+        damageEvents++;
+
+        HitContext hit = acquire();
+        try {
+            hit.set(event.getSource(), event.getEntity(), event.getAmount());
+            if (hit.getAttacker() != null) dispatch(hit, Role.ATTACKER, hit.getAttackerClassData(), attackerListeners);
+            if (hit.getVictimPlayer() != null) dispatch(hit, Role.VICTIM, hit.getVictimClassData(), victimListeners);
+        } finally {
+            release(hit);
+        }
+    }
+
+    /** Listeners for the side's primary and secondary class, then the ANY_CLASS ones */
+    private static void dispatch(HitContext hit, Role role, IPlayerClass data,
+                                 List<List<Listener>> byClass) {
+        int primary = data != null && data.getSelectedClass() != null ? data.getSelectedClass().getId() : -1;
+        int secondary = data != null && data.getSecondaryClass() != null ? data.getSecondaryClass().getId() : -1;
+
+        if (primary >= 0) notify(hit, byClass.get(primary));
+        if (secondary >= 0 && secondary != primary) notify(hit, byClass.get(secondary));
+        notify(hit, byClass.get(byClass.size() - 1));
+    }
+
+    private static void notify(HitContext hit, List<Listener> listeners) {
+        for (Listener listener : listeners) {
+            hit.route(listener.role(), listener.classId());
+            listener.listener().accept(hit);
+            listenerCalls++;
+        }
+    }
+
+    private static HitContext acquire() {
+        if (depth == pool.size()) pool.add(new HitContext());
+        return pool.get(depth++);
+    }
+
+    private static void release(HitContext hit) {
+        hit.clear();
+        depth--;
+    }
+
+    public static String getStats() {
+        return "hurt=" + hurtEvents
+                + ", damage=" + damageEvents
+                + ", modifierCalls=" + modifierCalls
+                + ", listenerCalls=" + listenerCalls
+                + ", stages=" + hurtPipeline.size()
+                + ", pooled=" + pool.size();
+    }
+}
@@ -0,0 +1,153 @@
+package net.pablo.rpgclasses.combat;
+
+import io.redspace.ironsspellbooks.damage.SpellDamageSource;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.entity.projectile.Projectile;
+import net.pablo.rpgclasses.capability.IPlayerClass;
+import net.pablo.rpgclasses.capability.PlayerClassProvider;
+import net.pablo.rpgclasses.classes.RPGClass;
+
+import javax.annotation.Nullable;
+
+/**
+ * Everything the combat modules want to know about one hit, worked out once by CombatDispatcher.
+ *
+ * Instances are pooled and reused, never keep one past the module call. While a module runs,
+ * the "module class" getters refer to the class it was registered for, on the side (attacker or
+ * victim) it was registered on.
+ */
+public class HitContext {
+
+    public enum Role { ATTACKER, VICTIM }
+
+    private DamageSource source;
+    private LivingEntity victim;
+    @Nullable private Entity sourceEntity;
+    @Nullable private Player attacker;
+    @Nullable private Player victimPlayer;
+    @Nullable private IPlayerClass attackerClass;
+    @Nullable private IPlayerClass victimClass;
+    private long attackerMask;
+    private long victimMask;
+    private boolean projectile;
+    private boolean spell;
+    private boolean ranged;
+    private float amount;
+
+    // Set by the dispatcher before each module call
+    private Role moduleRole;
+    private int moduleClassId;
+
+    void set(DamageSource source, LivingEntity victim, float amount) {
+        this.source = source;
+        this.victim = victim;
+        this.amount = amount;
+        this.sourceEntity = source.getEntity();
+        this.attacker = sourceEntity instanceof Player p ? p : null;
+        this.victimPlayer = victim instanceof Player p ? p : null;
+        this.attackerClass = classData(attacker);
+        this.victimClass = classData(victimPlayer);
+        this.attackerMask = classMask(attackerClass);
+        this.victimMask = classMask(victimClass);
+        this.projectile = source.getDirectEntity() instanceof Projectile;
+        this.spell = source instanceof SpellDamageSource;
+        this.ranged = source.isIndirect() || spell;
+    }
+
+    /** Drops entity references so the pool doesn't keep them alive */
+    void clear() {
+        source = null;
+        victim = null;
+        sourceEntity = null;
+        attacker = null;
+        victimPlayer = null;
+        attackerClass = null;
+        victimClass = null;
+    }
+
+    void route(Role role, int classId) {
+        this.moduleRole = role;
+        this.moduleClassId = classId;
+    }
+
+    void setAmount(float amount) {
+        this.amount = amount;
+    }
+
+    @Nullable
+    private static IPlayerClass classData(@Nullable Player player) {
+        return player == null ? null : player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).orElse(null);
+    }
+
+    private static long classMask(@Nullable IPlayerClass data) {
+        if (data == null) return 0L;
+        return bit(data.getSelectedClass()) | bit(data.getSecondaryClass());
+    }
+
+    private static long bit(@Nullable RPGClass rpgClass) {
+        return rpgClass == null || rpgClass.getId() < 0 ? 0L : 1L << rpgClass.getId();
+    }
+
+    /** Whether the player on that side has the class, ANY_CLASS matches any player */
+    boolean has(Role role, int classId) {
+        Player player = role == Role.ATTACKER ? attacker : victimPlayer;
+        if (player == null) return false;
+        if (classId == CombatDispatcher.ANY_CLASS) return true;
+        return ((role == Role.ATTACKER ? attackerMask : victimMask) & (1L << classId)) != 0;
+    }
+
+    // ------------------ HIT ------------------
+
+    public DamageSource getSource() { return source; }
+    public LivingEntity getVictim() { return victim; }
+    /** The entity responsible, player or not */
+    @Nullable public Entity getSourceEntity() { return sourceEntity; }
+    @Nullable public Player getAttacker() { return attacker; }
+    @Nullable public ServerPlayer getServerAttacker() { return attacker instanceof ServerPlayer sp ? sp : null; }
+    @Nullable public Player getVictimPlayer() { return victimPlayer; }
+    @Nullable public IPlayerClass getAttackerClassData() { return attackerClass; }
+    @Nullable public IPlayerClass getVictimClassData() { return victimClass; }
+    /** Fired or thrown, the direct entity is a projectile */
+    public boolean isProjectile() { return projectile; }
+    /** Iron's Spellbooks spell damage */
+    public boolean isSpell() { return spell; }
+    /** Projectile, other indirect damage or a spell */
+    public boolean isRanged() { return ranged; }
+    /** Current amount: before armor and after earlier modifiers while hurt, final while damage */
+    public float getAmount() { return amount; }
+
+    // ------------------ MODULE CLASS ------------------
+
+    /** The player on the module's side */
+    public Player getModulePlayer() {
+        return moduleRole == Role.ATTACKER ? attacker : victimPlayer;
+    }
+
+    public IPlayerClass getModuleClassData() {
+        return moduleRole == Role.ATTACKER ? attackerClass : victimClass;
+    }
+
+    public boolean isModulePrimary() {
+        IPlayerClass data = getModuleClassData();
+        return data != null && data.getSelectedClass() != null && data.getSelectedClass().getId() == moduleClassId;
+    }
+
+    public boolean isModuleSecondary() {
+        IPlayerClass data = getModuleClassData();
+        return data != null && data.getSecondaryClass() != null && data.getSecondaryClass().getId() == moduleClassId;
+    }
+
+    /** The module's class as the player has it, primary first, null for ANY_CLASS modules */
+    @Nullable
+    public RPGClass getModuleClass() {
+        IPlayerClass data = getModuleClassData();
+        if (data == null) return null;
+        if (isModulePrimary()) return data.getSelectedClass();
+        if (isModuleSecondary()) return data.getSecondaryClass();
+        return null;
+    }
+}
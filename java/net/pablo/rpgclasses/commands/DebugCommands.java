@@ -0,0 +1,234 @@
+package net.pablo.rpgclasses.commands;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.capability.ClassSyncTracker;
+import net.pablo.rpgclasses.capability.IPlayerClass;
+import net.pablo.rpgclasses.capability.PlayerClass;
+import net.pablo.rpgclasses.capability.PlayerClassCodec;
+import net.pablo.rpgclasses.capability.PlayerClassProvider;
+import net.pablo.rpgclasses.combat.CombatDispatcher;
+import net.pablo.rpgclasses.network.FxDispatcher;
+import net.pablo.rpgclasses.network.OutboundQueue;
+import net.pablo.rpgclasses.progression.ProgressionSync;
+import net.pablo.rpgclasses.skills.CooldownService;
+import net.pablo.rpgclasses.skills.SkillId;
+import net.pablo.rpgclasses.utils.EntityHandle;
+import net.pablo.rpgclasses.utils.PlayerActivityTracker;
+import net.pablo.rpgclasses.utils.SpatialQueryCache;
+import net.pablo.rpgclasses.utils.TickHealthMonitor;
+import net.pablo.rpgclasses.utils.TickScheduler;
+import net.pablo.rpgclasses.xphandlers.DamageContributionTracker;
+import net.pablo.rpgclasses.xphandlers.XPLedger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Debug commands for checking runtime counters of the mod
+ */
+@Mod.EventBusSubscriber
+public class DebugCommands {
+
+    @SubscribeEvent
+    public static void register(RegisterCommandsEvent event) {
+        CommandDispatcher<CommandSourceStack> dispatcher = event.getDispatcher();
+
+        dispatcher.register(
+                Commands.literal("rpgdebug")
+                        .requires(source -> source.hasPermission(2))
+                        .then(Commands.literal("classsync").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Class sync packets sent: §f" + ClassSyncTracker.getPacketsSent()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("progsync").executes(ctx -> {
+                            ServerPlayer player = ctx.getSource().getPlayerOrException();
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Progression sync: §f" + ProgressionSync.getStats(player)), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("netqueue").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Outbound messages: §f" + OutboundQueue.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("scheduler").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Tick scheduler: §f" + TickScheduler.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("fx").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6FX shapes: §f" + FxDispatcher.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("combat").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Combat dispatch: §f" + CombatDispatcher.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("damagetracker").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Damage contributions: §f" + DamageContributionTracker.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("activity").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Player activity: §f" + PlayerActivityTracker.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("xpledger").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6XP ledger: §f" + XPLedger.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("tickhealth").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Tick health: §f" + TickHealthMonitor.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("spatial").executes(ctx -> {
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Spatial cache: §f" + SpatialQueryCache.getStats()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("cooldowns").executes(ctx -> {
+                            ServerPlayer player = ctx.getSource().getPlayerOrException();
+                            StringBuilder remaining = new StringBuilder();
+                            for (SkillId skill : SkillId.values()) {
+                                int ticks = CooldownService.getRemainingTicks(player, skill);
+                                if (ticks > 0) remaining.append(' ').append(skill).append('=').append(ticks);
+                            }
+                            ctx.getSource().sendSuccess(() -> Component.literal(
+                                    "§6Cooldowns: §f" + CooldownService.getStats()
+                                            + (remaining.length() > 0 ? " |" + remaining : "")), false);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                        .then(Commands.literal("capbench")
+                                .executes(ctx -> runCapabilityBenchmark(ctx.getSource(), 2000))
+                                .then(Commands.argument("iterations", IntegerArgumentType.integer(1, 100000))
+                                        .executes(ctx -> runCapabilityBenchmark(ctx.getSource(),
+                                                IntegerArgumentType.getInteger(ctx, "iterations")))))
+                        .then(Commands.literal("entitybench")
+                                .executes(ctx -> runEntityBenchmark(ctx.getSource(), 2000))
+                                .then(Commands.argument("iterations", IntegerArgumentType.integer(1, 100000))
+                                        .executes(ctx -> runEntityBenchmark(ctx.getSource(),
+                                                IntegerArgumentType.getInteger(ctx, "iterations")))))
+        );
+    }
+
+    /** Round-trips the caller's capability through the legacy NBT layout and the compact format */
+    private static int runCapabilityBenchmark(CommandSourceStack source, int iterations) throws CommandSyntaxException {
+        ServerPlayer player = source.getPlayerOrException();
+        IPlayerClass cap = player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).orElse(null);
+        if (cap == null) return 0;
+
+        CompoundTag legacyTag = PlayerClassCodec.writeLegacy(cap);
+        CompoundTag compactTag = PlayerClassCodec.write(cap);
+
+        // Warm up both paths before timing
+        for (int i = 0; i < Math.max(1, iterations / 10); i++) {
+            PlayerClassCodec.readLegacy(new PlayerClass(), PlayerClassCodec.writeLegacy(cap));
+            PlayerClassCodec.read(new PlayerClass(), PlayerClassCodec.write(cap));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            PlayerClassCodec.readLegacy(new PlayerClass(), PlayerClassCodec.writeLegacy(cap));
+        }
+        long legacyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            PlayerClassCodec.read(new PlayerClass(), PlayerClassCodec.write(cap));
+        }
+        long compactNanos = System.nanoTime() - start;
+
+        source.sendSuccess(() -> Component.literal("§6=== player_class format benchmark (" + iterations + " round trips) ==="), false);
+        source.sendSuccess(() -> Component.literal(String.format("§eLegacy NBT: §f%d bytes (%d gzipped), %.2f µs/round trip",
+                nbtSize(legacyTag, false), nbtSize(legacyTag, true), legacyNanos / 1000.0 / iterations)), false);
+        source.sendSuccess(() -> Component.literal(String.format("§eCompact v%d: §f%d bytes (%d gzipped), %.2f µs/round trip",
+                PlayerClassCodec.FORMAT_VERSION, nbtSize(compactTag, false), nbtSize(compactTag, true),
+                compactNanos / 1000.0 / iterations)), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    /** Resolves the entities around the caller by UUID scan over all levels and through EntityHandles */
+    private static int runEntityBenchmark(CommandSourceStack source, int iterations) throws CommandSyntaxException {
+        ServerPlayer player = source.getPlayerOrException();
+        List<LivingEntity> nearby = SpatialQueryCache.sphere(player.serverLevel(), player.position(), 32.0,
+                new ArrayList<>(), e -> true);
+        List<UUID> ids = new ArrayList<>();
+        List<EntityHandle<LivingEntity>> handles = new ArrayList<>();
+        for (LivingEntity entity : nearby) {
+            ids.add(entity.getUUID());
+            handles.add(EntityHandle.of(entity, LivingEntity.class));
+        }
+        Iterable<ServerLevel> levels = source.getServer().getAllLevels();
+
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (UUID id : ids) {
+                for (ServerLevel level : levels) {
+                    if (level.getEntity(id) instanceof LivingEntity) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (EntityHandle<LivingEntity> handle : handles) {
+                if (handle.get() != null) found++;
+            }
+        }
+        long handleNanos = System.nanoTime() - start;
+
+        long lookups = Math.max(1L, (long) iterations * ids.size());
+        int resolved = found;
+        source.sendSuccess(() -> Component.literal("§6=== entity lookup benchmark (" + ids.size() + " entities x "
+                + iterations + ", " + resolved + " resolved) ==="), false);
+        source.sendSuccess(() -> Component.literal(String.format("§eUUID scan over all levels: §f%.1f ns/lookup",
+                scanNanos / (double) lookups)), false);
+        source.sendSuccess(() -> Component.literal(String.format("§eEntityHandle: §f%.1f ns/lookup",
+                handleNanos / (double) lookups)), false);
+        source.sendSuccess(() -> Component.literal("§eHandles: §f" + EntityHandle.getStats()), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int nbtSize(CompoundTag tag, boolean compressed) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (compressed) {
+                NbtIo.writeCompressed(tag, out);
+            } else {
+                NbtIo.write(tag, new DataOutputStream(out));
+            }
+            return out.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -16,10 +16,9 @@ import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.capability.IPlayerClass;
 import net.pablo.rpgclasses.capability.PlayerClassProvider;
 import net.pablo.rpgclasses.capability.PlayerProgressionData;
-import net.pablo.rpgclasses.network.NetworkHandler;
-import net.pablo.rpgclasses.network.SyncProgressionPacket;
 import net.pablo.rpgclasses.progression.NodeRegistry;
 import net.pablo.rpgclasses.progression.ProgressionNode;
+import net.pablo.rpgclasses.progression.ProgressionSync;
 import net.pablo.rpgclasses.registry.RPGClassRegistry;
 import net.pablo.rpgclasses.utils.DebugHelper;
 
@@ -48,11 +47,10 @@ public class ModCommands {
 
                                     player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
                                         if (cap.getSelectedClass() != null) {
-                                            cap.getSelectedClass().removeClassEffect(player);
                                             cap.setPreviousClassName(cap.getSelectedClass().getClassName());
                                         }
+                                        // ClassEffectEngine swaps the modifiers on the next tick
                                         cap.setSelectedClass(rpgClass);
-                                        rpgClass.applyClassEffect(player);
 
                                         spawnParticles(player, ParticleTypes.ENCHANT, 30);
                                         ctx.getSource().sendSuccess(() ->
@@ -88,12 +86,10 @@ public class ModCommands {
                                         }
 
                                         if (cap.getSecondaryClass() != null) {
-                                            cap.getSecondaryClass().removeClassEffect(player);
                                             cap.setPreviousSecondaryClassName(cap.getSecondaryClass().getClassName());
                                         }
 
                                         cap.setSecondaryClass(rpgClass);
-                                        rpgClass.applyClassEffect(player);
 
                                         spawnParticles(player, ParticleTypes.ENCHANT, 30);
                                         ctx.getSource().sendSuccess(() ->
@@ -125,9 +121,6 @@ public class ModCommands {
 
                                                 if (newLevel > oldLevel) {
                                                     spawnParticles(player, ParticleTypes.END_ROD, 40);
-                                                    player.sendSystemMessage(Component.literal(
-                                                            "§6⭐ Your " + className + " class leveled up to " + newLevel + "!"
-                                                    ));
                                                 }
                                             });
 
@@ -303,7 +296,7 @@ public class ModCommands {
             PlayerProgressionData newProgression = new PlayerProgressionData();
             progression.copyFrom(newProgression);
 
-            NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+            ProgressionSync.sync(player);
             DebugHelper.showSuccess(player, "Progression reset complete!");
         });
         return Command.SINGLE_SUCCESS;
@@ -413,7 +406,7 @@ public class ModCommands {
             DebugHelper.showSuccess(player, "Purchased " + node.getDisplayName() +
                     "! Points: " + currentPoints + " → " + newPoints);
 
-            NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+            ProgressionSync.sync(player);
         });
         return Command.SINGLE_SUCCESS;
     }
@@ -435,7 +428,7 @@ public class ModCommands {
             DebugHelper.showSuccess(player, "Added " + amount + " skill points! " +
                     oldPoints + " → " + newPoints);
 
-            NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+            ProgressionSync.sync(player);
         });
         return Command.SINGLE_SUCCESS;
     }
@@ -10,10 +10,9 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.capability.PlayerClassProvider;
 import net.pablo.rpgclasses.capability.PlayerProgressionData;
-import net.pablo.rpgclasses.network.NetworkHandler;
-import net.pablo.rpgclasses.network.SyncProgressionPacket;
 import net.pablo.rpgclasses.progression.NodeRegistry;
 import net.pablo.rpgclasses.progression.ProgressionNode;
+import net.pablo.rpgclasses.progression.ProgressionSync;
 import net.pablo.rpgclasses.utils.DebugHelper;
 
 /**
@@ -65,7 +64,7 @@ public class TestCommands {
             DebugHelper.showSuccess(player, "Set skill points to 100");
 
             // Sync to client
-            NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+            ProgressionSync.sync(player);
 
             DebugHelper.showSuccess(player, "Test environment ready!");
             DebugHelper.debugCapability(player);
@@ -191,7 +190,7 @@ public class TestCommands {
             }
 
             // Sync to client
-            NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+            ProgressionSync.sync(player);
 
             DebugHelper.showSuccess(player, "Sequential test complete!");
             DebugHelper.debugCapability(player);
@@ -243,7 +242,7 @@ public class TestCommands {
 
             // Reset points
             progression.setSkillPoints(className, 100);
-            NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+            ProgressionSync.sync(player);
 
             DebugHelper.showSuccess(player, "Point deduction test complete!");
         });
@@ -0,0 +1,70 @@
+package net.pablo.rpgclasses.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+/** Server-side settings, saved per world in serverconfig/rpgclasses-server.toml */
+public class ServerConfig {
+
+    public static final ForgeConfigSpec SPEC;
+
+    // Skill visuals
+    public static final ForgeConfigSpec.IntValue FX_PARTICLES_PER_PLAYER;
+    public static final ForgeConfigSpec.IntValue FX_PARTICLES_PER_TICK;
+    public static final ForgeConfigSpec.DoubleValue FX_FULL_DETAIL_DISTANCE;
+    public static final ForgeConfigSpec.DoubleValue FX_COSMETIC_CUTOFF_DISTANCE;
+
+    // Cosmetic quality under load
+    public static final ForgeConfigSpec.DoubleValue QUALITY_REDUCED_MSPT;
+    public static final ForgeConfigSpec.DoubleValue QUALITY_MINIMAL_MSPT;
+    public static final ForgeConfigSpec.DoubleValue QUALITY_RECOVERY_MARGIN;
+
+    // Class XP
+    public static final ForgeConfigSpec.IntValue XP_CONTRIBUTION_TTL_SECONDS;
+    public static final ForgeConfigSpec.IntValue XP_MAX_TRACKED_MOBS;
+    public static final ForgeConfigSpec.IntValue XP_CHAT_SUMMARY_SECONDS;
+
+    static {
+        ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
+
+        builder.comment("Particle shapes sent for skill visuals. Gameplay is never affected by these.").push("fx");
+        FX_PARTICLES_PER_PLAYER = builder
+                .comment("Particles each player may be sent per tick, shapes are thinned out once it's used up")
+                .defineInRange("particlesPerPlayerPerTick", 600, 0, 100000);
+        FX_PARTICLES_PER_TICK = builder
+                .comment("Particles sent to all players together per tick")
+                .defineInRange("particlesPerTick", 6000, 0, 1000000);
+        FX_FULL_DETAIL_DISTANCE = builder
+                .comment("Observers closer than this get full density, further away density falls off with distance")
+                .defineInRange("fullDetailDistance", 16.0, 1.0, 256.0);
+        FX_COSMETIC_CUTOFF_DISTANCE = builder
+                .comment("Observers further away than this don't get purely cosmetic shapes at all")
+                .defineInRange("cosmeticCutoffDistance", 48.0, 1.0, 512.0);
+        builder.pop();
+
+        builder.comment("Skill visuals and sounds get cheaper while the server is behind, based on the average tick time over 5 seconds").push("quality");
+        QUALITY_REDUCED_MSPT = builder
+                .comment("Average milliseconds per tick at which visuals are halved")
+                .defineInRange("reducedMspt", 40.0, 1.0, 1000.0);
+        QUALITY_MINIMAL_MSPT = builder
+                .comment("Average milliseconds per tick at which visuals are cut to the minimum")
+                .defineInRange("minimalMspt", 48.0, 1.0, 1000.0);
+        QUALITY_RECOVERY_MARGIN = builder
+                .comment("How far below a threshold the average has to fall before quality goes back up")
+                .defineInRange("recoveryMargin", 5.0, 0.0, 100.0);
+        builder.pop();
+
+        builder.push("xp");
+        XP_CONTRIBUTION_TTL_SECONDS = builder
+                .comment("Damage dealt to a mob stops counting towards its kill XP after this many seconds without another hit")
+                .defineInRange("contributionTtlSeconds", 300, 10, 86400);
+        XP_MAX_TRACKED_MOBS = builder
+                .comment("Most mobs whose damage contributions are remembered at once, the least recently hit are forgotten first")
+                .defineInRange("maxTrackedMobs", 20000, 100, 1000000);
+        XP_CHAT_SUMMARY_SECONDS = builder
+                .comment("Seconds between chat summaries of the class XP a player gained, 0 leaves XP gains to the HUD only")
+                .defineInRange("chatSummarySeconds", 30, 0, 3600);
+        builder.pop();
+
+        SPEC = builder.build();
+    }
+}
@@ -8,6 +8,9 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.phys.Vec3;
+import net.pablo.rpgclasses.network.FxDispatcher;
+import net.pablo.rpgclasses.network.FxPacket;
+import net.pablo.rpgclasses.utils.TickHealthMonitor;
 
 /**
  * Chained Effect - Applied by Spectral Chains ability
@@ -35,8 +38,8 @@ public class ChainedEffect extends MobEffect {
     public void applyEffectTick(LivingEntity entity, int amplifier) {
         // Spawn chain particles around the entity
         if (entity.level() instanceof ServerLevel serverLevel) {
-            // Particle tick rate: show particles every 10 ticks (0.5s)
-            if (entity.tickCount % 10 == 0) {
+            // Particle tick rate: show particles every 10 ticks (0.5s), less often while the server is behind
+            if (entity.tickCount % (10 * TickHealthMonitor.getQuality().intervalMultiplier) == 0) {
                 spawnChainParticles(serverLevel, entity);
             }
         }
@@ -55,31 +58,15 @@ public class ChainedEffect extends MobEffect {
         Vec3 pos = entity.position();
         double height = entity.getBbHeight();
 
-        // Ground chains (circling at feet)
-        for (int i = 0; i < 8; i++) {
-            double angle = (Math.PI * 2 * i) / 8;
-            double radius = entity.getBbWidth() * 0.7;
-            double x = pos.x + Math.cos(angle) * radius;
-            double z = pos.z + Math.sin(angle) * radius;
-
-            // Smoke particles for chain effect
-            level.sendParticles(ParticleTypes.SMOKE,
-                    x, pos.y + 0.1, z,
-                    1, 0.02, 0, 0.02, 0.01);
-        }
+        // Ground chains (circling at feet), smoke particles for chain effect
+        FxDispatcher.send(level, FxPacket.ring(ParticleTypes.SMOKE, pos.add(0, 0.1, 0), entity.getBbWidth() * 0.7, 8)
+                .speed(0.01));
 
         // Rising soul wisps (to indicate debuff)
         if (entity.tickCount % 20 == 0) { // Every second
-            for (int i = 0; i < 3; i++) {
-                double angle = entity.getRandom().nextDouble() * Math.PI * 2;
-                double radius = entity.getBbWidth() * 0.5;
-                double x = pos.x + Math.cos(angle) * radius;
-                double z = pos.z + Math.sin(angle) * radius;
-
-                level.sendParticles(ParticleTypes.SOUL_FIRE_FLAME,
-                        x, pos.y + height * 0.5, z,
-                        1, 0, 0.05, 0, 0.02);
-            }
+            double spread = entity.getBbWidth() * 0.35;
+            FxDispatcher.send(level, FxPacket.point(ParticleTypes.SOUL_FIRE_FLAME, pos.add(0, height * 0.5, 0),
+                    new Vec3(spread, 0.05, spread), 3).speed(0.02));
         }
     }
 
@@ -11,9 +11,19 @@ import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.pablo.rpgclasses.network.FxDispatcher;
+import net.pablo.rpgclasses.network.FxPacket;
+import net.pablo.rpgclasses.utils.TickHealthMonitor;
+import net.pablo.rpgclasses.utils.SpatialQueryCache;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class PhantomEffect extends MobEffect {
 
+    private static final double TARGET_CLEAR_RADIUS = 25.0; // Larger radius for better coverage
+    private static final List<LivingEntity> NEARBY_MOBS = new ArrayList<>();
+
     public PhantomEffect() {
         super(MobEffectCategory.BENEFICIAL, 0x5E5E5E); // gray color for phantom
     }
@@ -54,20 +64,23 @@ public class PhantomEffect extends MobEffect {
         }
 
         // 2️⃣ Prevent mobs from targeting the player
-        clearMobTargets(entity);
+        clearMobTargets(level, entity);
+
+        // Cosmetics below thin out while the server is behind
+        TickHealthMonitor.Quality quality = TickHealthMonitor.getQuality();
 
         // 3️⃣ Continuous particle trail for movement (fairness - shows position)
-        if (entity.getDeltaMovement().length() > 0.05) {
+        if (entity.getDeltaMovement().length() > 0.05 && quality.shouldPulse(entity.tickCount)) {
             spawnMovementTrail(level, entity);
         }
 
         // 4️⃣ Spawn ghost silhouette every 40 ticks (~2 seconds)
-        if (entity.tickCount % 40 == 0) {
+        if (entity.tickCount % (40 * quality.intervalMultiplier) == 0) {
             spawnGhostSilhouette(level, entity);
         }
 
         // 5️⃣ Ambient phantom particles
-        if (entity.tickCount % 10 == 0) {
+        if (entity.tickCount % (10 * quality.intervalMultiplier) == 0) {
             spawnAmbientParticles(level, entity);
         }
     }
@@ -113,23 +126,16 @@ public class PhantomEffect extends MobEffect {
         Vec3 motion = entity.getDeltaMovement();
 
         // Smoke trail behind the player - shows recent position
-        for (int i = 0; i < 3; i++) {
-            double offsetMult = (i + 1) * 0.3;
-            level.sendParticles(ParticleTypes.SMOKE,
-                    pos.x() - motion.x() * offsetMult,
-                    pos.y() + entity.getEyeHeight() * 0.5,
-                    pos.z() - motion.z() * offsetMult,
-                    1, 0.05, 0.05, 0.05, 0.01
-            );
-        }
+        Vec3 trailStart = new Vec3(pos.x() - motion.x() * 0.3, pos.y() + entity.getEyeHeight() * 0.5, pos.z() - motion.z() * 0.3);
+        Vec3 trailEnd = new Vec3(pos.x() - motion.x() * 1.2, trailStart.y, pos.z() - motion.z() * 1.2);
+        FxDispatcher.send(level, FxPacket.line(ParticleTypes.SMOKE, trailStart, trailEnd, 3).speed(0.01));
 
         // Faint soul particles for mystical effect
-        level.sendParticles(ParticleTypes.SOUL,
-                pos.x() + (level.random.nextDouble() - 0.5) * 0.5,
-                pos.y() + level.random.nextDouble() * entity.getBbHeight(),
-                pos.z() + (level.random.nextDouble() - 0.5) * 0.5,
-                1, 0.02, 0.02, 0.02, 0.005
-        );
+        FxDispatcher.send(level, FxPacket.point(ParticleTypes.SOUL,
+                new Vec3(pos.x() + (level.random.nextDouble() - 0.5) * 0.5,
+                        pos.y() + level.random.nextDouble() * entity.getBbHeight(),
+                        pos.z() + (level.random.nextDouble() - 0.5) * 0.5),
+                new Vec3(0.02, 0.02, 0.02), 1).speed(0.005));
     }
 
     private void spawnGhostSilhouette(ServerLevel level, LivingEntity entity) {
@@ -137,45 +143,16 @@ public class PhantomEffect extends MobEffect {
         float width = entity.getBbWidth();
         float height = entity.getBbHeight();
 
-        // Create a ghostly outline/silhouette
-        int particleCount = 25;
-        for (int i = 0; i < particleCount; i++) {
-            // Create particles around the entity's silhouette
-            double angle = (2 * Math.PI * i) / particleCount;
-            double x = pos.x() + Math.cos(angle) * width * 0.6;
-            double z = pos.z() + Math.sin(angle) * width * 0.6;
-            double y = pos.y() + level.random.nextDouble() * height;
-
-            // Large smoke particles for the silhouette
-            level.sendParticles(ParticleTypes.LARGE_SMOKE,
-                    x, y, z,
-                    1, 0.02, 0.05, 0.02, 0.01
-            );
-        }
-
-        // Add some soul particles for extra ghostly effect
-        for (int i = 0; i < 8; i++) {
-            double x = pos.x() + (level.random.nextDouble() - 0.5) * width;
-            double y = pos.y() + level.random.nextDouble() * height;
-            double z = pos.z() + (level.random.nextDouble() - 0.5) * width;
+        // Create a ghostly outline/silhouette, large smoke winding up around the entity
+        FxDispatcher.send(level, FxPacket.spiral(ParticleTypes.LARGE_SMOKE, pos, height, width * 0.6, 3.0, 25)
+                .speed(0.01));
 
-            level.sendParticles(ParticleTypes.SOUL,
-                    x, y, z,
-                    1, 0.03, 0.03, 0.03, 0.01
-            );
-        }
-
-        // Add ash particles for additional ghostly effect
-        for (int i = 0; i < 5; i++) {
-            double x = pos.x() + (level.random.nextDouble() - 0.5) * width * 1.2;
-            double y = pos.y() + level.random.nextDouble() * height;
-            double z = pos.z() + (level.random.nextDouble() - 0.5) * width * 1.2;
-
-            level.sendParticles(ParticleTypes.WHITE_ASH,
-                    x, y, z,
-                    1, 0.02, 0.05, 0.02, 0.01
-            );
-        }
+        // Add some soul and ash particles for extra ghostly effect, one packet each
+        Vec3 middle = pos.add(0, height * 0.5, 0);
+        FxDispatcher.send(level, FxPacket.point(ParticleTypes.SOUL, middle,
+                new Vec3(width * 0.3, height * 0.3, width * 0.3), 8).speed(0.01));
+        FxDispatcher.send(level, FxPacket.point(ParticleTypes.WHITE_ASH, middle,
+                new Vec3(width * 0.35, height * 0.3, width * 0.35), 5).speed(0.01));
 
         // Soft sound effect for the silhouette appearance
         level.playSound(null, entity.blockPosition(), SoundEvents.SOUL_ESCAPE,
@@ -192,13 +169,8 @@ public class PhantomEffect extends MobEffect {
             double z = pos.z() + (level.random.nextDouble() - 0.5) * entity.getBbWidth() * 1.5;
 
             // Mix of different particles for mystical effect
-            if (level.random.nextFloat() < 0.7f) {
-                level.sendParticles(ParticleTypes.SOUL,
-                        x, y, z, 1, 0.01, 0.01, 0.01, 0.001);
-            } else {
-                level.sendParticles(ParticleTypes.SMOKE,
-                        x, y, z, 1, 0.01, 0.01, 0.01, 0.001);
-            }
+            FxDispatcher.send(level, FxPacket.point(level.random.nextFloat() < 0.7f ? ParticleTypes.SOUL : ParticleTypes.SMOKE,
+                    new Vec3(x, y, z), new Vec3(0.01, 0.01, 0.01), 1).speed(0.001));
         }
     }
 
@@ -206,15 +178,9 @@ public class PhantomEffect extends MobEffect {
         Vec3 pos = entity.position();
 
         // Dramatic particle burst when phantom effect ends
-        level.sendParticles(ParticleTypes.LARGE_SMOKE,
-                pos.x(), pos.y() + entity.getEyeHeight(), pos.z(),
-                15, 0.3, 0.3, 0.3, 0.1
-        );
-
-        level.sendParticles(ParticleTypes.SOUL,
-                pos.x(), pos.y() + entity.getEyeHeight(), pos.z(),
-                10, 0.2, 0.2, 0.2, 0.05
-        );
+        Vec3 eye = pos.add(0, entity.getEyeHeight(), 0);
+        FxDispatcher.send(level, FxPacket.point(ParticleTypes.LARGE_SMOKE, eye, new Vec3(0.3, 0.3, 0.3), 15).speed(0.1));
+        FxDispatcher.send(level, FxPacket.point(ParticleTypes.SOUL, eye, new Vec3(0.2, 0.2, 0.2), 10).speed(0.05));
 
         // Sound effect for dramatic end
         level.playSound(null, entity.blockPosition(), SoundEvents.SOUL_ESCAPE,
@@ -223,12 +189,11 @@ public class PhantomEffect extends MobEffect {
 
     // === MOB TARGET CLEARING ===
 
-    private void clearMobTargets(LivingEntity entity) {
-        double radius = 25.0; // Larger radius for better coverage
-
+    private void clearMobTargets(ServerLevel level, LivingEntity entity) {
         // Clear targets from all nearby mobs
-        for (Mob mob : entity.level().getEntitiesOfClass(Mob.class,
-                entity.getBoundingBox().inflate(radius))) {
+        SpatialQueryCache.sphere(level, entity.position(), TARGET_CLEAR_RADIUS, NEARBY_MOBS, e -> e instanceof Mob);
+        for (LivingEntity nearby : NEARBY_MOBS) {
+            Mob mob = (Mob) nearby;
 
             // Clear current target if it's the phantom player
             if (mob.getTarget() == entity) {
@@ -0,0 +1,33 @@
+package net.pablo.rpgclasses.events;
+
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+
+/**
+ * Fired on the Forge bus (server side only) whenever a class level changes,
+ * either through XP gain or by setting the level directly.
+ */
+public class ClassLevelChangedEvent extends PlayerEvent {
+
+    private final String className;
+    private final int oldLevel;
+    private final int newLevel;
+    private final boolean primary;
+
+    public ClassLevelChangedEvent(Player player, String className, int oldLevel, int newLevel, boolean primary) {
+        super(player);
+        this.className = className;
+        this.oldLevel = oldLevel;
+        this.newLevel = newLevel;
+        this.primary = primary;
+    }
+
+    public String getClassName() { return className; }
+    public int getOldLevel() { return oldLevel; }
+    public int getNewLevel() { return newLevel; }
+
+    /** True if the class is the player's primary class, false for secondary or inactive classes */
+    public boolean isPrimary() { return primary; }
+
+    public boolean isLevelUp() { return newLevel > oldLevel; }
+}
@@ -8,12 +8,17 @@ import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.RenderGuiEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList; // Added for thread safety
-
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.registry.IconRegistry;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+
+/**
+ * Floating "+N XP" entries above the hotbar, primary class on the left and secondary on the right.
+ *
+ * Fed by XPGainPacket. Each side is a ring of preallocated entries, the newest overwrites the
+ * oldest once it's full. Text and its width are worked out when an entry arrives, so rendering
+ * doesn't allocate. Client thread only.
+ */
 @Mod.EventBusSubscriber(value = Dist.CLIENT)
 public class XPDisplay {
 
@@ -24,125 +29,141 @@ public class XPDisplay {
     private static final int TEXT_ICON_GAP = 2;
     private static final int MAX_STACK = 15;
 
-    // Use thread-safe lists to prevent ConcurrentModificationException
-    private static final List<FloatingXP> primaryXP = new CopyOnWriteArrayList<>();
-    private static final List<FloatingXP> secondaryXP = new CopyOnWriteArrayList<>();
+    private static final int XP_COLOR = 0xFFFFFF;
+    private static final int LEVEL_UP_COLOR = 0xFFD700;
+
+    private static final Lane primaryXP = new Lane();
+    private static final Lane secondaryXP = new Lane();
+
+    /** A gain from XPGainPacket, newLevel is 0 unless the class levelled up */
+    public static void onXPGain(int classId, int amount, boolean isPrimary, int newLevel) {
+        RPGClass rpgClass = RPGClassRegistry.getClassById(classId);
+        ItemStack icon = rpgClass != null ? IconRegistry.getIcon(rpgClass.getClassName()) : ItemStack.EMPTY;
+
+        showXP(amount, icon, isPrimary);
+        if (newLevel > 0) showLevelUp(newLevel, icon, isPrimary);
+    }
 
     // Call this to show XP gain
     public static void showXP(int amount, ItemStack icon, boolean isPrimary) {
-        FloatingXP xp = new FloatingXP(amount, icon, System.currentTimeMillis());
-        if (isPrimary) {
-            primaryXP.add(xp);
-            if (primaryXP.size() > MAX_STACK) {
-                primaryXP.remove(0);
-            }
-        } else {
-            secondaryXP.add(xp);
-            if (secondaryXP.size() > MAX_STACK) {
-                secondaryXP.remove(0);
-            }
-        }
+        (isPrimary ? primaryXP : secondaryXP).push("+" + amount + " XP", icon, XP_COLOR);
     }
 
-    public static void showLevelUp(int level, ItemStack icon) {
-        // Implement level-up notifications here if needed
+    public static void showLevelUp(int level, ItemStack icon, boolean isPrimary) {
+        (isPrimary ? primaryXP : secondaryXP).push("Level " + level + "!", icon, LEVEL_UP_COLOR);
     }
 
     @SubscribeEvent
     public static void renderXPOverlay(RenderGuiEvent.Post event) {
+        if (primaryXP.size == 0 && secondaryXP.size == 0) return;
+
         GuiGraphics gui = event.getGuiGraphics();
         Font font = mc.font;
         int screenWidth = mc.getWindow().getGuiScaledWidth();
         int screenHeight = mc.getWindow().getGuiScaledHeight();
+        long now = System.currentTimeMillis();
 
         // GUI Scale independent positioning
         int hotbarTop = screenHeight - 40;
         int baseY = hotbarTop - (int)(screenHeight * 0.04f);
 
-        renderXPList(gui, font, primaryXP, true, screenWidth, screenHeight, baseY);
-        renderXPList(gui, font, secondaryXP, false, screenWidth, screenHeight, baseY);
+        renderXPList(gui, font, primaryXP, true, screenWidth, screenHeight, baseY, now);
+        renderXPList(gui, font, secondaryXP, false, screenWidth, screenHeight, baseY, now);
     }
 
-    private static void renderXPList(GuiGraphics gui, Font font, List<FloatingXP> list, boolean isPrimary,
-                                     int screenWidth, int screenHeight, int baseY) {
-        if (list.isEmpty()) return;
+    private static void renderXPList(GuiGraphics gui, Font font, Lane lane, boolean isPrimary,
+                                     int screenWidth, int screenHeight, int baseY, long now) {
+        // Entries arrive in time order, so expired ones are always at the front
+        lane.expire(now - XP_FADE_DURATION);
+        if (lane.size == 0) return;
 
-        // Use iterator for safe removal (or use CopyOnWriteArrayList as above)
-        Iterator<FloatingXP> iterator = list.iterator();
-        List<FloatingXP> toRemove = new ArrayList<>(); // Store expired notifications
+        // MORE CENTRALIZED POSITIONING:
+        int centerX = (int)(screenWidth * (isPrimary ? 0.40f : 0.60f));
+        // Screen-relative visibility check
+        int minY = (int)(screenHeight * 0.10f);
 
-        while (iterator.hasNext()) {
-            FloatingXP xp = iterator.next();
-            long elapsed = System.currentTimeMillis() - xp.startTime;
-
-            if (elapsed > XP_FADE_DURATION) {
-                toRemove.add(xp); // Mark for removal instead of removing directly
-                continue;
-            }
+        for (int i = 0; i < lane.size; i++) {
+            FloatingXP xp = lane.entries[(lane.head + i) % MAX_STACK];
+            long elapsed = now - xp.startTime;
 
             float progress = elapsed / (float) XP_FADE_DURATION;
             float alpha = progress < 0.7f ? 1f : 1f - ((progress - 0.7f) / 0.3f);
 
             // Float upward from the same starting position
             float yOffset = -XP_FLOAT_SPEED * elapsed / 20f;
-
             int yPos = (int)(baseY + yOffset);
 
-            // Screen-relative visibility check
-            int minY = (int)(screenHeight * 0.10f);
-            if (yPos > minY && alpha > 0.05f) {
-                int color = 0xFFFFFF | ((int)(alpha * 255) << 24);
-
-                gui.pose().pushPose();
-                gui.pose().translate(0, 0, 500);
-
-                // Calculate total width of icon + text
-                String text = "+" + xp.amount + " XP";
-                int textWidth = font.width(text);
-                int totalWidth = textWidth;
-
-                if (!xp.icon.isEmpty()) {
-                    totalWidth += ICON_SIZE + TEXT_ICON_GAP;
-                }
-
-                // MORE CENTRALIZED POSITIONING:
-                int centerX;
-                if (isPrimary) {
-                    centerX = (int)(screenWidth * 0.40f);
-                } else {
-                    centerX = (int)(screenWidth * 0.60f);
-                }
-
-                // Calculate starting X position for the combined element
-                int startX = centerX - totalWidth / 2;
-                int currentX = startX;
-
-                // Draw icon if exists
-                if (!xp.icon.isEmpty()) {
-                    gui.renderItem(xp.icon, currentX, yPos - ICON_SIZE / 2);
-                    currentX += ICON_SIZE + TEXT_ICON_GAP;
-                }
-
-                // Draw XP text with 2px gap from icon
-                gui.drawString(font, text, currentX, yPos - font.lineHeight / 2, color, true);
-
-                gui.pose().popPose();
+            if (yPos <= minY || alpha <= 0.05f) continue;
+            int color = xp.color | ((int)(alpha * 255) << 24);
+
+            gui.pose().pushPose();
+            gui.pose().translate(0, 0, 500);
+
+            // Starting X of icon + text, centered as one element
+            int currentX = centerX - xp.totalWidth / 2;
+
+            // Draw icon if exists
+            if (!xp.icon.isEmpty()) {
+                gui.renderItem(xp.icon, currentX, yPos - ICON_SIZE / 2);
+                currentX += ICON_SIZE + TEXT_ICON_GAP;
+            }
+
+            // Draw XP text with 2px gap from icon
+            gui.drawString(font, xp.text, currentX, yPos - font.lineHeight / 2, color, true);
+
+            gui.pose().popPose();
+        }
+    }
+
+    /** Fixed ring of entries, oldest at head */
+    private static class Lane {
+        final FloatingXP[] entries = new FloatingXP[MAX_STACK];
+        int head = 0;
+        int size = 0;
+
+        Lane() {
+            for (int i = 0; i < MAX_STACK; i++) entries[i] = new FloatingXP();
+        }
+
+        void push(String text, ItemStack icon, int color) {
+            FloatingXP xp;
+            if (size == MAX_STACK) {
+                // Full, reuse the oldest
+                xp = entries[head];
+                head = (head + 1) % MAX_STACK;
+            } else {
+                xp = entries[(head + size) % MAX_STACK];
+                size++;
             }
+            xp.set(text, icon, color, System.currentTimeMillis());
         }
 
-        // Remove expired notifications after iteration
-        list.removeAll(toRemove);
+        void expire(long startedBefore) {
+            while (size > 0 && entries[head].startTime < startedBefore) {
+                entries[head].icon = ItemStack.EMPTY;
+                head = (head + 1) % MAX_STACK;
+                size--;
+            }
+        }
     }
 
     private static class FloatingXP {
-        int amount;
-        ItemStack icon;
+        String text = "";
+        ItemStack icon = ItemStack.EMPTY;
+        int color;
+        int totalWidth;
         long startTime;
 
-        FloatingXP(int amount, ItemStack icon, long startTime) {
-            this.amount = amount;
+        void set(String text, ItemStack icon, int color, long startTime) {
+            this.text = text;
             this.icon = icon;
+            this.color = color;
             this.startTime = startTime;
+
+            // Width of icon + text, worked out once
+            int width = mc.font.width(text);
+            if (!icon.isEmpty()) width += ICON_SIZE + TEXT_ICON_GAP;
+            this.totalWidth = width;
         }
     }
-}
\ No newline at end of file
+}
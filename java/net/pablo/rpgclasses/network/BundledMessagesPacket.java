@@ -0,0 +1,49 @@
+package net.pablo.rpgclasses.network;
+
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Several mod messages for one player sent as a single frame.
+ * Each entry is written as its channel id followed by the message's own encoding.
+ */
+public class BundledMessagesPacket {
+    private final List<Object> messages;
+
+    public BundledMessagesPacket(List<Object> messages) {
+        this.messages = messages;
+    }
+
+    public BundledMessagesPacket(FriendlyByteBuf buf) {
+        int count = buf.readVarInt();
+        this.messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = buf.readVarInt();
+            NetworkHandler.MessageCodec<?> codec = NetworkHandler.getCodec(id);
+            if (codec == null) throw new DecoderException("Unknown bundled message id " + id);
+            messages.add(codec.decoder().apply(buf));
+        }
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(messages.size());
+        for (Object message : messages) {
+            NetworkHandler.MessageCodec<?> codec = NetworkHandler.getCodec(message.getClass());
+            buf.writeVarInt(codec.id());
+            codec.encode(message, buf);
+        }
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        // Hand each message to its normal handler, in the order they were queued
+        for (Object message : messages) {
+            NetworkHandler.getCodec(message.getClass()).handle(message, ctx);
+        }
+        ctx.get().setPacketHandled(true);
+    }
+}
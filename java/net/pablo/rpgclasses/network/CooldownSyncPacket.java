@@ -0,0 +1,47 @@
+package net.pablo.rpgclasses.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import net.pablo.rpgclasses.client.ClientCooldownCache;
+import net.pablo.rpgclasses.skills.SkillId;
+
+import java.util.function.Supplier;
+
+/** Current cooldown of one skill, the client counts down on its own */
+public class CooldownSyncPacket implements StatePacket {
+    private final int skill;
+    private final int ticksRemaining;
+    private final int totalTicks;
+
+    public CooldownSyncPacket(SkillId skill, int ticksRemaining, int totalTicks) {
+        this.skill = skill.ordinal();
+        this.ticksRemaining = ticksRemaining;
+        this.totalTicks = totalTicks;
+    }
+
+    public CooldownSyncPacket(FriendlyByteBuf buf) {
+        this.skill = buf.readByte();
+        this.ticksRemaining = buf.readVarInt();
+        this.totalTicks = buf.readVarInt();
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeByte(skill);
+        buf.writeVarInt(ticksRemaining);
+        buf.writeVarInt(totalTicks);
+    }
+
+    // One state per skill, a later update for the same skill in the same tick replaces this one
+    @Override
+    public int stateKey() {
+        return skill;
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> {
+            SkillId id = SkillId.byOrdinal(skill);
+            if (id != null) ClientCooldownCache.set(id, ticksRemaining, totalTicks);
+        });
+        ctx.get().setPacketHandled(true);
+    }
+}
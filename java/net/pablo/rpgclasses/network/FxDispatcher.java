@@ -0,0 +1,156 @@
+package net.pablo.rpgclasses.network;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.phys.Vec3;
+import net.pablo.rpgclasses.config.ServerConfig;
+import net.pablo.rpgclasses.utils.TickHealthMonitor;
+import net.pablo.rpgclasses.utils.TickScheduler;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Sends FxPackets to the players tracking the chunk the effect is in, through the
+ * outbound queue so a cast's shapes ride in the same frame as everything else.
+ *
+ * Every recipient gets their own particle count. Density falls off past the full detail
+ * distance and is halved for shapes behind the player, cosmetic shapes aren't sent past
+ * the cutoff, and what's left is clamped to the player's and the server's per-tick budget
+ * (ServerConfig, fx section). While the server is behind, TickHealthMonitor's quality thins
+ * everything further. IMPORTANT shapes always arrive, just thinner. None of this touches
+ * gameplay, it only decides how many particles a client is asked to draw.
+ */
+public class FxDispatcher {
+
+    // Never thinner than this from distance alone
+    private static final double MIN_DISTANCE_SCALE = 0.25;
+    private static final double BEHIND_SCALE = 0.5;
+    // Shapes this close count as in view whichever way the player faces, they may be standing in them
+    private static final double BEHIND_MIN_DISTANCE = 4.0;
+    // IMPORTANT shapes keep at least this many particles once the budget is used up
+    private static final int IMPORTANT_MIN_COUNT = 6;
+
+    // Per-tick budget, reset when the server tick changes
+    private static long budgetTick = -1;
+    private static int globalUsed = 0;
+    private static final Object2IntOpenHashMap<UUID> playerUsed = new Object2IntOpenHashMap<>();
+
+    // Counters for /rpgdebug fx
+    private static long shapesSent = 0;
+    private static long packetsSent = 0;
+    private static long particlesRepresented = 0;
+    private static long droppedFar = 0;
+    private static long droppedBudget = 0;
+    private static long thinned = 0;
+
+    public static void send(ServerLevel level, FxPacket fx) {
+        send(level, new Vec3(fx.getX(), fx.getY(), fx.getZ()), fx);
+    }
+
+    /** Sends to players tracking the chunk at anchor, for shapes whose origin is far from their middle */
+    public static void send(ServerLevel level, Vec3 anchor, FxPacket fx) {
+        if (fx.getCount() <= 0) return;
+        List<ServerPlayer> players = trackingPlayers(level, anchor);
+        if (players.isEmpty()) return;
+
+        fx.setSeed(level.random.nextInt());
+        shapesSent++;
+        int emissions = fx.getEmissions();
+        boolean important = fx.hasFlag(FxPacket.IMPORTANT);
+        for (ServerPlayer player : players) {
+            int count = allowance(player, anchor, fx.getCount(), emissions, important);
+            if (count <= 0) continue;
+            if (count < fx.getCount()) thinned++;
+
+            FxPacket packet = count == fx.getCount() ? fx : fx.withCount(count);
+            NetworkHandler.sendToClient(packet, player);
+            packetsSent++;
+            particlesRepresented += packet.getTotalParticles();
+        }
+    }
+
+    /**
+     * Any other client-simulated effect, to the same players an FxPacket at pos would reach.
+     * The effect is made of units (slashes, bolts...) of roughly particlesPerUnit particles each,
+     * messageForUnits builds the message for however many units a player gets. Always cosmetic.
+     */
+    public static void sendTracking(ServerLevel level, Vec3 pos, int units, int particlesPerUnit,
+                                    IntFunction<?> messageForUnits) {
+        for (ServerPlayer player : trackingPlayers(level, pos)) {
+            int count = allowance(player, pos, units, particlesPerUnit, false);
+            if (count <= 0) continue;
+            if (count < units) thinned++;
+
+            NetworkHandler.sendToClient(messageForUnits.apply(count), player);
+            packetsSent++;
+            particlesRepresented += (long) count * particlesPerUnit;
+        }
+    }
+
+    /**
+     * How many of count the player gets, each costing cost particles, after distance, view and
+     * budget. Charges the budget for what it hands out, 0 means don't send at all.
+     */
+    private static int allowance(ServerPlayer player, Vec3 pos, int count, int cost, boolean important) {
+        long now = TickScheduler.now();
+        if (now != budgetTick) {
+            budgetTick = now;
+            globalUsed = 0;
+            playerUsed.clear();
+        }
+
+        Vec3 eye = player.getEyePosition();
+        double dx = pos.x - eye.x, dy = pos.y - eye.y, dz = pos.z - eye.z;
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        if (!important && distance > ServerConfig.FX_COSMETIC_CUTOFF_DISTANCE.get()) {
+            droppedFar++;
+            return 0;
+        }
+
+        double scale = TickHealthMonitor.getQuality().density;
+        double fullDetail = ServerConfig.FX_FULL_DETAIL_DISTANCE.get();
+        if (distance > fullDetail) scale *= Math.max(MIN_DISTANCE_SCALE, fullDetail / distance);
+        if (distance > BEHIND_MIN_DISTANCE) {
+            Vec3 look = player.getViewVector(1.0f);
+            if (look.x * dx + look.y * dy + look.z * dz < 0) scale *= BEHIND_SCALE;
+        }
+        int wanted = Math.max(1, (int) Math.round(count * scale));
+
+        UUID id = player.getUUID();
+        int used = playerUsed.getInt(id);
+        int left = Math.min(ServerConfig.FX_PARTICLES_PER_PLAYER.get() - used,
+                ServerConfig.FX_PARTICLES_PER_TICK.get() - globalUsed);
+        int granted = Math.min(wanted, Math.max(0, left) / Math.max(1, cost));
+        if (important) granted = Math.max(granted, Math.min(wanted, IMPORTANT_MIN_COUNT));
+        if (granted <= 0) {
+            droppedBudget++;
+            return 0;
+        }
+
+        int charged = granted * cost;
+        playerUsed.put(id, used + charged);
+        globalUsed += charged;
+        return granted;
+    }
+
+    private static List<ServerPlayer> trackingPlayers(ServerLevel level, Vec3 pos) {
+        return level.getChunkSource().chunkMap.getPlayers(new ChunkPos(BlockPos.containing(pos)), false);
+    }
+
+    public static String getStats() {
+        return "shapes=" + shapesSent
+                + ", packets=" + packetsSent
+                + ", particles=" + particlesRepresented
+                + (packetsSent > 0 ? String.format(" (%.1f per packet)", particlesRepresented / (double) packetsSent) : "")
+                + ", thinned=" + thinned
+                + ", droppedFar=" + droppedFar
+                + ", droppedBudget=" + droppedBudget
+                + ", usedThisTick=" + globalUsed + "/" + ServerConfig.FX_PARTICLES_PER_TICK.get();
+    }
+}
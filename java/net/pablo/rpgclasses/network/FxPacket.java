@@ -0,0 +1,248 @@
+package net.pablo.rpgclasses.network;
+
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.core.particles.ParticleType;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.network.NetworkEvent;
+import net.pablo.rpgclasses.client.ClientFxManager;
+
+import java.util.function.Supplier;
+
+/**
+ * One particle shape, expanded into particles by the client (see ClientFxManager).
+ *
+ * Replaces sendParticles loops that sent a packet per particle. The seed makes the random
+ * parts of the shape the same on every client. Build with the shape factories, adjust with
+ * the chained setters and send through FxDispatcher.
+ */
+public class FxPacket {
+
+    public enum Shape {
+        /** Line from origin to origin + vector, count particles */
+        BEAM,
+        /** Circle of radius around origin, in the plane normal to vector (up if zero) */
+        RING,
+        /** Evenly spread points on a sphere of radius around origin, upper half only with DOME */
+        SPHERE,
+        /** Horizontal arc of radius, extra radians wide, centered on the direction of vector */
+        ARC,
+        /** Helix of radius from origin up to origin + vector, extra turns */
+        SPIRAL,
+        /** Scattered around origin with a gaussian spread of vector per axis, like a counted sendParticles */
+        POINT;
+
+        private static final Shape[] VALUES = values();
+    }
+
+    // Flags
+    public static final int DOME = 1;  // SPHERE: only the upper hemisphere
+    public static final int GROW = 2;  // BEAM: each emission draws a longer part of the line, full length on the last
+    public static final int IMPORTANT = 4; // telegraphs an area or link that matters, never dropped for distance or budget
+
+    private final Shape shape;
+    private final ParticleOptions particle;
+    private final double x, y, z;
+    private float vx, vy, vz;
+    private final float radius;
+    private final int count;
+    private float extra;
+    private float speed;
+    private int flags;
+    private int durationTicks = 1;
+    private int intervalTicks = 1;
+    private int seed;
+
+    private FxPacket(Shape shape, ParticleOptions particle, Vec3 origin, Vec3 vector, double radius, int count) {
+        this.shape = shape;
+        this.particle = particle;
+        this.x = origin.x;
+        this.y = origin.y;
+        this.z = origin.z;
+        this.vx = (float) vector.x;
+        this.vy = (float) vector.y;
+        this.vz = (float) vector.z;
+        this.radius = (float) radius;
+        this.count = Math.max(0, count);
+    }
+
+    /** Same shape with a different particle count, for FxDispatcher's per-player density */
+    private FxPacket(FxPacket other, int count) {
+        this.shape = other.shape;
+        this.particle = other.particle;
+        this.x = other.x;
+        this.y = other.y;
+        this.z = other.z;
+        this.vx = other.vx;
+        this.vy = other.vy;
+        this.vz = other.vz;
+        this.radius = other.radius;
+        this.count = count;
+        this.extra = other.extra;
+        this.speed = other.speed;
+        this.flags = other.flags;
+        this.durationTicks = other.durationTicks;
+        this.intervalTicks = other.intervalTicks;
+        this.seed = other.seed;
+    }
+
+    // ------------------ SHAPES ------------------
+
+    /** Particles every spacing blocks from one point to the other */
+    public static FxPacket beam(ParticleOptions particle, Vec3 from, Vec3 to, double spacing) {
+        Vec3 vector = to.subtract(from);
+        int count = (int) Math.ceil(vector.length() / Math.max(0.05, spacing));
+        return new FxPacket(Shape.BEAM, particle, from, vector, 0.0, count);
+    }
+
+    /** Exactly count particles from one point towards the other, the end point itself excluded */
+    public static FxPacket line(ParticleOptions particle, Vec3 from, Vec3 to, int count) {
+        return new FxPacket(Shape.BEAM, particle, from, to.subtract(from), 0.0, count);
+    }
+
+    public static FxPacket ring(ParticleOptions particle, Vec3 center, double radius, int count) {
+        return new FxPacket(Shape.RING, particle, center, Vec3.ZERO, radius, count);
+    }
+
+    public static FxPacket sphere(ParticleOptions particle, Vec3 center, double radius, int count) {
+        return new FxPacket(Shape.SPHERE, particle, center, Vec3.ZERO, radius, count);
+    }
+
+    public static FxPacket arc(ParticleOptions particle, Vec3 center, Vec3 direction, double radius,
+                               double widthRadians, int count) {
+        FxPacket fx = new FxPacket(Shape.ARC, particle, center, direction, radius, count);
+        fx.extra = (float) widthRadians;
+        return fx;
+    }
+
+    public static FxPacket spiral(ParticleOptions particle, Vec3 base, double height, double radius,
+                                  double turns, int count) {
+        FxPacket fx = new FxPacket(Shape.SPIRAL, particle, base, new Vec3(0, height, 0), radius, count);
+        fx.extra = (float) turns;
+        return fx;
+    }
+
+    /** count particles scattered around center, spread is the per-axis deviation */
+    public static FxPacket point(ParticleOptions particle, Vec3 center, Vec3 spread, int count) {
+        return new FxPacket(Shape.POINT, particle, center, spread, 0.0, count);
+    }
+
+    // ------------------ MODIFIERS ------------------
+
+    /** Re-emits the shape every intervalTicks for durationTicks on the client */
+    public FxPacket lasting(int durationTicks, int intervalTicks) {
+        this.durationTicks = Math.max(1, durationTicks);
+        this.intervalTicks = Math.max(1, intervalTicks);
+        return this;
+    }
+
+    /** RING/SPHERE: outward particle speed, other shapes: random velocity of up to this much */
+    public FxPacket speed(double speed) {
+        this.speed = (float) speed;
+        return this;
+    }
+
+    /** RING: plane normal, default is a horizontal ring */
+    public FxPacket axis(Vec3 normal) {
+        this.vx = (float) normal.x;
+        this.vy = (float) normal.y;
+        this.vz = (float) normal.z;
+        return this;
+    }
+
+    public FxPacket flags(int flags) {
+        this.flags |= flags;
+        return this;
+    }
+
+    /** RING: rotation per emission in radians, so halos spin while the effect lasts */
+    public FxPacket spin(double radiansPerEmission) {
+        this.extra = (float) radiansPerEmission;
+        return this;
+    }
+
+    /** Set by FxDispatcher right before sending */
+    void setSeed(int seed) {
+        this.seed = seed;
+    }
+
+    FxPacket withCount(int count) {
+        return new FxPacket(this, count);
+    }
+
+    public Shape getShape() { return shape; }
+    public ParticleOptions getParticle() { return particle; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public Vec3 getVector() { return new Vec3(vx, vy, vz); }
+    public float getRadius() { return radius; }
+    public float getExtra() { return extra; }
+    public float getSpeed() { return speed; }
+    public int getCount() { return count; }
+    public boolean hasFlag(int flag) { return (flags & flag) != 0; }
+    public int getDurationTicks() { return durationTicks; }
+    public int getIntervalTicks() { return intervalTicks; }
+    public int getSeed() { return seed; }
+
+    /** Times the client draws the shape, once unless lasting */
+    public int getEmissions() {
+        return (durationTicks + intervalTicks - 1) / intervalTicks;
+    }
+
+    /** Number of particles the client ends up spawning for this packet */
+    public int getTotalParticles() {
+        return count * getEmissions();
+    }
+
+    // ------------------ NETWORK ------------------
+
+    public FxPacket(FriendlyByteBuf buf) {
+        this.shape = Shape.VALUES[buf.readByte()];
+        this.particle = readParticle(buf, BuiltInRegistries.PARTICLE_TYPE.byId(buf.readVarInt()));
+        this.x = buf.readDouble();
+        this.y = buf.readDouble();
+        this.z = buf.readDouble();
+        this.vx = buf.readFloat();
+        this.vy = buf.readFloat();
+        this.vz = buf.readFloat();
+        this.radius = buf.readFloat();
+        this.extra = buf.readFloat();
+        this.speed = buf.readFloat();
+        this.count = buf.readVarInt();
+        this.flags = buf.readByte();
+        this.durationTicks = buf.readVarInt();
+        this.intervalTicks = buf.readVarInt();
+        this.seed = buf.readInt();
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeByte(shape.ordinal());
+        buf.writeVarInt(BuiltInRegistries.PARTICLE_TYPE.getId(particle.getType()));
+        particle.writeToNetwork(buf);
+        buf.writeDouble(x);
+        buf.writeDouble(y);
+        buf.writeDouble(z);
+        buf.writeFloat(vx);
+        buf.writeFloat(vy);
+        buf.writeFloat(vz);
+        buf.writeFloat(radius);
+        buf.writeFloat(extra);
+        buf.writeFloat(speed);
+        buf.writeVarInt(count);
+        buf.writeByte(flags);
+        buf.writeVarInt(durationTicks);
+        buf.writeVarInt(intervalTicks);
+        buf.writeInt(seed);
+    }
+
+    private static <T extends ParticleOptions> T readParticle(FriendlyByteBuf buf, ParticleType<T> type) {
+        return type.getDeserializer().fromNetwork(type, buf);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> ClientFxManager.add(this));
+        ctx.get().setPacketHandled(true);
+    }
+}
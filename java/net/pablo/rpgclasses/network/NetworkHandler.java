@@ -1,19 +1,31 @@
 package net.pablo.rpgclasses.network;
 
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkEvent;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 import net.pablo.rpgclasses.RpgClassesMod;
 import net.pablo.rpgclasses.skills.ClassSkillPressedPacket;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 public class NetworkHandler {
-    private static final String PROTOCOL_VERSION = "1";
+    private static final String PROTOCOL_VERSION = "8";
     private static int packetId = 0;
 
     public static SimpleChannel INSTANCE; // no static init
 
+    // Codec table so BundledMessagesPacket can carry any registered message
+    private static final Map<Integer, MessageCodec<?>> CODECS_BY_ID = new HashMap<>();
+    private static final Map<Class<?>, MessageCodec<?>> CODECS_BY_TYPE = new HashMap<>();
+
     public static void register() {
         if (INSTANCE != null) return; // prevent double registration
 
@@ -25,50 +37,126 @@ public class NetworkHandler {
         );
 
         // Existing packets
-        INSTANCE.registerMessage(packetId++, SyncComboPacket.class,
+        registerMessage(SyncComboPacket.class,
                 SyncComboPacket::encode,
                 SyncComboPacket::new,
                 SyncComboPacket::handle
         );
 
-        INSTANCE.registerMessage(packetId++, ClassSkillPressedPacket.class,
+        registerMessage(ClassSkillPressedPacket.class,
                 ClassSkillPressedPacket::encode,
                 ClassSkillPressedPacket::decode,
                 ClassSkillPressedPacket::handle
         );
 
-        INSTANCE.registerMessage(packetId++, SyncSelectedClassPacket.class,
+        registerMessage(SyncSelectedClassPacket.class,
                 SyncSelectedClassPacket::encode,
                 SyncSelectedClassPacket::decode,
                 SyncSelectedClassPacket::handle
         );
 
         // NEW: Progression system packets
-        INSTANCE.registerMessage(packetId++, PurchaseNodePacket.class,
+        registerMessage(PurchaseNodePacket.class,
                 PurchaseNodePacket::toBytes,
                 PurchaseNodePacket::new,
                 PurchaseNodePacket::handle
         );
 
-        INSTANCE.registerMessage(packetId++, SpendCustomStatPacket.class,
+        registerMessage(SpendCustomStatPacket.class,
                 SpendCustomStatPacket::toBytes,
                 SpendCustomStatPacket::new,
                 SpendCustomStatPacket::handle
         );
 
-        INSTANCE.registerMessage(packetId++, SyncProgressionPacket.class,
-                SyncProgressionPacket::toBytes,
-                SyncProgressionPacket::new,
-                SyncProgressionPacket::handle
+        registerMessage(ProgressionDeltaPacket.class,
+                ProgressionDeltaPacket::toBytes,
+                ProgressionDeltaPacket::new,
+                ProgressionDeltaPacket::handle
+        );
+
+        registerMessage(ProgressionAckPacket.class,
+                ProgressionAckPacket::toBytes,
+                ProgressionAckPacket::new,
+                ProgressionAckPacket::handle
+        );
+
+        registerMessage(CooldownSyncPacket.class,
+                CooldownSyncPacket::encode,
+                CooldownSyncPacket::new,
+                CooldownSyncPacket::handle
+        );
+
+        registerMessage(FxPacket.class,
+                FxPacket::encode,
+                FxPacket::new,
+                FxPacket::handle
+        );
+
+        registerMessage(VermillionBurstPacket.class,
+                VermillionBurstPacket::encode,
+                VermillionBurstPacket::new,
+                VermillionBurstPacket::handle
+        );
+
+        registerMessage(XPGainPacket.class,
+                XPGainPacket::encode,
+                XPGainPacket::new,
+                XPGainPacket::handle
+        );
+
+        registerMessage(BundledMessagesPacket.class,
+                BundledMessagesPacket::encode,
+                BundledMessagesPacket::new,
+                BundledMessagesPacket::handle
         );
     }
 
+    /** Registers with the channel and records the codec so the message can travel inside a bundle */
+    private static <MSG> void registerMessage(Class<MSG> type, BiConsumer<MSG, FriendlyByteBuf> encoder,
+                                              Function<FriendlyByteBuf, MSG> decoder,
+                                              BiConsumer<MSG, Supplier<NetworkEvent.Context>> handler) {
+        int id = packetId++;
+        INSTANCE.registerMessage(id, type, encoder, decoder, handler);
+
+        MessageCodec<MSG> codec = new MessageCodec<>(id, encoder, decoder, handler);
+        CODECS_BY_ID.put(id, codec);
+        CODECS_BY_TYPE.put(type, codec);
+    }
+
+    record MessageCodec<MSG>(int id, BiConsumer<MSG, FriendlyByteBuf> encoder,
+                             Function<FriendlyByteBuf, MSG> decoder,
+                             BiConsumer<MSG, Supplier<NetworkEvent.Context>> handler) {
+        @SuppressWarnings("unchecked")
+        void encode(Object message, FriendlyByteBuf buf) {
+            encoder.accept((MSG) message, buf);
+        }
+
+        @SuppressWarnings("unchecked")
+        void handle(Object message, Supplier<NetworkEvent.Context> ctx) {
+            handler.accept((MSG) message, ctx);
+        }
+    }
+
+    static MessageCodec<?> getCodec(int id) {
+        return CODECS_BY_ID.get(id);
+    }
+
+    static MessageCodec<?> getCodec(Class<?> type) {
+        return CODECS_BY_TYPE.get(type);
+    }
+
+    /** Queues the message, OutboundQueue sends everything for the player at the end of the tick */
     public static <MSG> void sendToClient(MSG message, ServerPlayer player) {
         if (INSTANCE != null) {
-            INSTANCE.sendTo(message, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+            OutboundQueue.enqueue(player, message);
         }
     }
 
+    /** Bypasses the queue, only for OutboundQueue's flush */
+    static <MSG> void sendNow(MSG message, ServerPlayer player) {
+        INSTANCE.sendTo(message, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+    }
+
     // NEW: Send to server method (for client-side use)
     public static <MSG> void sendToServer(MSG message) {
         if (INSTANCE != null) {
@@ -0,0 +1,93 @@
+package net.pablo.rpgclasses.network;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collects server -> client messages during a tick and sends them at the end of it,
+ * one frame per player. StatePackets replace an earlier queued copy of the same state.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class OutboundQueue {
+
+    private record StateKey(Class<?> type, int key) {}
+
+    private static class PlayerQueue {
+        ServerPlayer player;
+        final List<Object> messages = new ArrayList<>();
+        // Index into messages of the queued copy of each state
+        final Map<StateKey, Integer> stateSlots = new HashMap<>();
+
+        PlayerQueue(ServerPlayer player) {
+            this.player = player;
+        }
+    }
+
+    private static final Map<UUID, PlayerQueue> queues = new HashMap<>();
+
+    private static long messagesEnqueued = 0;
+    private static long messagesSuperseded = 0;
+    private static long framesSent = 0;
+    private static long bundlesSent = 0;
+
+    static void enqueue(ServerPlayer player, Object message) {
+        PlayerQueue queue = queues.computeIfAbsent(player.getUUID(), id -> new PlayerQueue(player));
+        // Respawning creates a new player entity, send through the current one
+        queue.player = player;
+        messagesEnqueued++;
+
+        if (message instanceof StatePacket state) {
+            StateKey key = new StateKey(message.getClass(), state.stateKey());
+            Integer slot = queue.stateSlots.get(key);
+            if (slot != null) {
+                queue.messages.set(slot, message);
+                messagesSuperseded++;
+                return;
+            }
+            queue.stateSlots.put(key, queue.messages.size());
+        }
+        queue.messages.add(message);
+    }
+
+    // Lowest so messages queued by other end-of-tick handlers (XPLedger...) still go out this tick
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || queues.isEmpty()) return;
+
+        for (PlayerQueue queue : queues.values()) {
+            if (queue.messages.isEmpty() || queue.player.hasDisconnected()) continue;
+
+            if (queue.messages.size() == 1) {
+                NetworkHandler.sendNow(queue.messages.get(0), queue.player);
+            } else {
+                NetworkHandler.sendNow(new BundledMessagesPacket(new ArrayList<>(queue.messages)), queue.player);
+                bundlesSent++;
+            }
+            framesSent++;
+
+            queue.messages.clear();
+            queue.stateSlots.clear();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        queues.remove(event.getEntity().getUUID());
+    }
+
+    public static String getStats() {
+        return "enqueued=" + messagesEnqueued + " superseded=" + messagesSuperseded +
+                " frames=" + framesSent + " (bundles=" + bundlesSent + ")";
+    }
+}
@@ -0,0 +1,43 @@
+package net.pablo.rpgclasses.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+import net.pablo.rpgclasses.progression.ProgressionSync;
+
+import java.util.function.Supplier;
+
+/**
+ * Client -> server: the progression version the client now has,
+ * or a request for a full snapshot when a delta didn't fit.
+ */
+public class ProgressionAckPacket {
+    private final int version;
+    private final boolean resync;
+
+    public ProgressionAckPacket(int version, boolean resync) {
+        this.version = version;
+        this.resync = resync;
+    }
+
+    public ProgressionAckPacket(FriendlyByteBuf buf) {
+        this.version = buf.readVarInt();
+        this.resync = buf.readBoolean();
+    }
+
+    public void toBytes(FriendlyByteBuf buf) {
+        buf.writeVarInt(version);
+        buf.writeBoolean(resync);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> supplier) {
+        NetworkEvent.Context ctx = supplier.get();
+        ctx.enqueueWork(() -> {
+            ServerPlayer player = ctx.getSender();
+            if (player == null) return;
+
+            ProgressionSync.onAck(player, version, resync);
+        });
+        ctx.setPacketHandled(true);
+    }
+}
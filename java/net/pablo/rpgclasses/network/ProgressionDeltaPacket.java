@@ -0,0 +1,43 @@
+package net.pablo.rpgclasses.network;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import net.pablo.rpgclasses.capability.PlayerClassProvider;
+import net.pablo.rpgclasses.capability.ProgressionDelta;
+import net.pablo.rpgclasses.client.ClientProgressionSync;
+
+import java.util.function.Supplier;
+
+/**
+ * Server -> client progression changes, either a delta against the client's
+ * current version or a full snapshot.
+ */
+public class ProgressionDeltaPacket {
+    private final ProgressionDelta delta;
+
+    public ProgressionDeltaPacket(ProgressionDelta delta) {
+        this.delta = delta;
+    }
+
+    public ProgressionDeltaPacket(FriendlyByteBuf buf) {
+        this.delta = ProgressionDelta.read(buf);
+    }
+
+    public void toBytes(FriendlyByteBuf buf) {
+        delta.write(buf);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> supplier) {
+        NetworkEvent.Context ctx = supplier.get();
+        ctx.enqueueWork(() -> {
+            // CLIENT SIDE
+            Minecraft mc = Minecraft.getInstance();
+            if (mc.player == null) return;
+
+            mc.player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap ->
+                    ClientProgressionSync.apply(cap.getProgressionData(), delta));
+        });
+        ctx.setPacketHandled(true);
+    }
+}
@@ -7,6 +7,7 @@ import net.pablo.rpgclasses.capability.PlayerClassProvider;
 import net.pablo.rpgclasses.capability.PlayerProgressionData;
 import net.pablo.rpgclasses.progression.NodeRegistry;
 import net.pablo.rpgclasses.progression.ProgressionNode;
+import net.pablo.rpgclasses.progression.ProgressionSync;
 import net.pablo.rpgclasses.utils.DebugHelper;
 
 import java.util.function.Supplier;
@@ -115,7 +116,7 @@ public class PurchaseNodePacket {
                         "§a✓ Unlocked: " + node.getDisplayName()));
 
                 // Sync to client
-                NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+                ProgressionSync.sync(player);
             });
         });
         ctx.setPacketHandled(true);
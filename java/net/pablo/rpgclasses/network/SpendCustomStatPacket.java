@@ -8,6 +8,7 @@ import net.minecraftforge.network.NetworkEvent;
 import net.pablo.rpgclasses.capability.PlayerClassProvider;
 import net.pablo.rpgclasses.capability.PlayerProgressionData;
 import net.pablo.rpgclasses.progression.CustomStatDefinitions;
+import net.pablo.rpgclasses.progression.ProgressionSync;
 import net.pablo.rpgclasses.utils.DebugHelper;
 
 import java.util.UUID;
@@ -103,7 +104,7 @@ public class SpendCustomStatPacket {
                                 " §7(" + line + " points: " + remainingPoints + ")"));
 
                 // Sync to client
-                NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+                ProgressionSync.sync(player);
             });
         });
         ctx.setPacketHandled(true);
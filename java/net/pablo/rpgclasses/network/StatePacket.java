@@ -0,0 +1,14 @@
+package net.pablo.rpgclasses.network;
+
+/**
+ * A server -> client message that carries complete state rather than a change.
+ * If several are queued for the same player in one tick, only the latest one with
+ * the same type and stateKey is sent.
+ */
+public interface StatePacket {
+
+    /** Distinguishes independent states of the same packet type, most packets have only one */
+    default int stateKey() {
+        return 0;
+    }
+}
@@ -6,24 +6,29 @@ import net.pablo.rpgclasses.client.combo.ComboData;
 
 import java.util.function.Supplier;
 
-public class SyncComboPacket {
+public class SyncComboPacket implements StatePacket {
     private final int combo;
+    // Ticks until the combo runs out, the client counts down on its own
+    private final int ticksRemaining;
 
-    public SyncComboPacket(int combo) {
+    public SyncComboPacket(int combo, int ticksRemaining) {
         this.combo = combo;
+        this.ticksRemaining = ticksRemaining;
     }
 
     public SyncComboPacket(FriendlyByteBuf buf) {
-        this.combo = buf.readInt();
+        this.combo = buf.readVarInt();
+        this.ticksRemaining = buf.readVarInt();
     }
 
     public void encode(FriendlyByteBuf buf) {
-        buf.writeInt(combo);
+        buf.writeVarInt(combo);
+        buf.writeVarInt(ticksRemaining);
     }
 
     public void handle(Supplier<NetworkEvent.Context> ctx) {
         ctx.get().enqueueWork(() -> {
-            ComboData.setCombo(combo); // update client-side storage
+            ComboData.setCombo(combo, ticksRemaining); // update client-side storage
         });
         ctx.get().setPacketHandled(true);
     }
@@ -6,7 +6,7 @@ import net.pablo.rpgclasses.client.ClientClassCache;
 
 import java.util.function.Supplier;
 
-public class SyncSelectedClassPacket {
+public class SyncSelectedClassPacket implements StatePacket {
     private final String className;
 
     public SyncSelectedClassPacket(String className) {
@@ -0,0 +1,48 @@
+package net.pablo.rpgclasses.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.network.NetworkEvent;
+import net.pablo.rpgclasses.client.VermillionSlashRenderer;
+
+import java.util.function.Supplier;
+
+/** One Vermillion Laceration slash burst, the client generates and animates the slashes from the seed */
+public class VermillionBurstPacket {
+    private final double x, y, z;
+    private final float auraRadius;
+    private final int slashCount;
+    private final int seed;
+
+    public VermillionBurstPacket(Vec3 center, float auraRadius, int slashCount, int seed) {
+        this.x = center.x;
+        this.y = center.y;
+        this.z = center.z;
+        this.auraRadius = auraRadius;
+        this.slashCount = slashCount;
+        this.seed = seed;
+    }
+
+    public VermillionBurstPacket(FriendlyByteBuf buf) {
+        this.x = buf.readDouble();
+        this.y = buf.readDouble();
+        this.z = buf.readDouble();
+        this.auraRadius = buf.readFloat();
+        this.slashCount = buf.readByte();
+        this.seed = buf.readInt();
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeDouble(x);
+        buf.writeDouble(y);
+        buf.writeDouble(z);
+        buf.writeFloat(auraRadius);
+        buf.writeByte(slashCount);
+        buf.writeInt(seed);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> VermillionSlashRenderer.addBurst(x, y, z, auraRadius, slashCount, seed));
+        ctx.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,72 @@
+package net.pablo.rpgclasses.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import net.pablo.rpgclasses.hud.XPDisplay;
+
+import java.util.function.Supplier;
+
+/** The class XP a player gained in one tick, one entry per class and primary/secondary, for the HUD */
+public class XPGainPacket {
+
+    private static final int PRIMARY = 1;
+    private static final int LEVEL_UP = 2;
+
+    private final byte[] classIds;
+    private final byte[] flags;
+    private final int[] amounts;
+    // Only meaningful for LEVEL_UP entries
+    private final int[] levels;
+    private int size = 0;
+
+    public XPGainPacket(int capacity) {
+        this.classIds = new byte[capacity];
+        this.flags = new byte[capacity];
+        this.amounts = new int[capacity];
+        this.levels = new int[capacity];
+    }
+
+    public XPGainPacket(FriendlyByteBuf buf) {
+        this(buf.readUnsignedByte());
+        int count = classIds.length;
+        for (int i = 0; i < count; i++) {
+            classIds[i] = buf.readByte();
+            flags[i] = buf.readByte();
+            amounts[i] = buf.readVarInt();
+            levels[i] = (flags[i] & LEVEL_UP) != 0 ? buf.readVarInt() : 0;
+        }
+        size = count;
+    }
+
+    /** newLevel is the level reached, or 0 if this gain didn't level the class up */
+    public void add(int classId, int amount, boolean primary, int newLevel) {
+        classIds[size] = (byte) classId;
+        flags[size] = (byte) ((primary ? PRIMARY : 0) | (newLevel > 0 ? LEVEL_UP : 0));
+        amounts[size] = amount;
+        levels[size] = newLevel;
+        size++;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeByte(size);
+        for (int i = 0; i < size; i++) {
+            buf.writeByte(classIds[i]);
+            buf.writeByte(flags[i]);
+            buf.writeVarInt(amounts[i]);
+            if ((flags[i] & LEVEL_UP) != 0) buf.writeVarInt(levels[i]);
+        }
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> {
+            for (int i = 0; i < size; i++) {
+                XPDisplay.onXPGain(classIds[i], amounts[i], (flags[i] & PRIMARY) != 0, levels[i]);
+            }
+        });
+        ctx.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,93 @@
+package net.pablo.rpgclasses.progression;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Immutable XP curve, precomputed once up to the level cap.
+ * Holds the XP cost of every level plus cumulative prefix sums so that
+ * "total XP -> level + remainder" is a binary search instead of a loop.
+ */
+public final class LevelCurve {
+
+    public static final int MAX_LEVEL = 200;
+
+    /** Class XP curve: level N -> N+1 costs 100 * 1.08^(N-1) */
+    public static final LevelCurve CLASS_XP = new LevelCurve(100.0, 1.08, MAX_LEVEL);
+
+    private final int maxLevel;
+    // costs[level] = XP needed to go from level to level + 1
+    private final int[] costs;
+    // cumulative[level] = total XP needed to reach level from level 1
+    private final long[] cumulative;
+
+    public LevelCurve(double base, double growth, int maxLevel) {
+        this.maxLevel = maxLevel;
+        this.costs = new int[maxLevel + 1];
+        this.cumulative = new long[maxLevel + 1];
+
+        for (int level = 1; level <= maxLevel; level++) {
+            costs[level] = (int) (base * Math.pow(growth, level - 1));
+            if (level > 1) cumulative[level] = cumulative[level - 1] + costs[level - 1];
+        }
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /** XP needed to go from this level to the next */
+    public int costToNext(int level) {
+        return costs[clampLevel(level)];
+    }
+
+    /** Total XP needed to reach this level from level 1 */
+    public long totalXPForLevel(int level) {
+        return cumulative[clampLevel(level)];
+    }
+
+    public long toTotalXP(int level, int xpIntoLevel) {
+        return totalXPForLevel(level) + xpIntoLevel;
+    }
+
+    /** Highest level whose cumulative cost is covered by totalXP */
+    public int levelForTotalXP(long totalXP) {
+        if (totalXP >= cumulative[maxLevel]) return maxLevel;
+
+        int low = 1;
+        int high = maxLevel;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulative[mid] <= totalXP) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    /** XP left over inside the level, XP past the cap is dropped */
+    public int remainderForTotalXP(long totalXP, int level) {
+        if (level >= maxLevel) return 0;
+        return (int) (totalXP - cumulative[level]);
+    }
+
+    private int clampLevel(int level) {
+        if (level < 1) return 1;
+        return Math.min(level, maxLevel);
+    }
+
+    // ------------------ PER-LEVEL GAIN TABLES ------------------
+
+    /** Precompute a per-level value (index = level) so handlers don't call Math.pow per event */
+    public static double[] tabulate(int maxLevel, IntToDoubleFunction perLevel) {
+        double[] table = new double[maxLevel + 1];
+        for (int level = 1; level <= maxLevel; level++) {
+            table[level] = perLevel.applyAsDouble(level);
+        }
+        return table;
+    }
+
+    /** Lookup in a tabulated table, levels past the end use the last entry */
+    public static double lookup(double[] table, int level) {
+        if (level < 1) return table[1];
+        return table[Math.min(level, table.length - 1)];
+    }
+}
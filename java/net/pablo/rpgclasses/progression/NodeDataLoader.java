@@ -0,0 +1,87 @@
+package net.pablo.rpgclasses.progression;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads progression trees from data/<namespace>/progression_nodes/<class>.json.
+ * Runs on server start and on /reload, then hands the compiled index to NodeRegistry.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class NodeDataLoader extends SimpleJsonResourceReloadListener {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Gson GSON = new GsonBuilder().create();
+
+    public NodeDataLoader() {
+        super(GSON, "progression_nodes");
+    }
+
+    @SubscribeEvent
+    public static void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new NodeDataLoader());
+    }
+
+    @Override
+    protected void apply(Map<ResourceLocation, JsonElement> files, ResourceManager resourceManager, ProfilerFiller profiler) {
+        // Sorted so new ordinals are handed out in the same order every time
+        Map<ResourceLocation, JsonElement> sorted = new TreeMap<>(files);
+        Map<String, List<NodeIndex.Definition>> definitions = new HashMap<>();
+
+        sorted.forEach((location, json) -> {
+            String className = location.getPath().toLowerCase();
+            try {
+                definitions.put(className, parseTree(GsonHelper.convertToJsonObject(json, "progression tree")));
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to parse progression tree {}", location, e);
+            }
+        });
+
+        NodeRegistry.applyIndex(NodeIndex.compile(definitions));
+    }
+
+    private static List<NodeIndex.Definition> parseTree(JsonObject json) {
+        List<NodeIndex.Definition> nodes = new ArrayList<>();
+        for (JsonElement element : GsonHelper.getAsJsonArray(json, "nodes")) {
+            JsonObject node = GsonHelper.convertToJsonObject(element, "node");
+
+            JsonArray prereqArray = GsonHelper.getAsJsonArray(node, "prerequisites", new JsonArray());
+            String[] prerequisites = new String[prereqArray.size()];
+            for (int i = 0; i < prerequisites.length; i++) {
+                prerequisites[i] = GsonHelper.convertToString(prereqArray.get(i), "prerequisite");
+            }
+
+            nodes.add(new NodeIndex.Definition(
+                    GsonHelper.getAsString(node, "id"),
+                    GsonHelper.getAsString(node, "line"),
+                    GsonHelper.getAsInt(node, "cost"),
+                    GsonHelper.getAsString(node, "reward_type"),
+                    GsonHelper.getAsString(node, "reward_value", ""),
+                    GsonHelper.getAsString(node, "display_name"),
+                    GsonHelper.getAsString(node, "description", ""),
+                    prerequisites));
+        }
+        return nodes;
+    }
+}
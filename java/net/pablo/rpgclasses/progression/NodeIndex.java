@@ -0,0 +1,157 @@
+package net.pablo.rpgclasses.progression;
+
+import net.pablo.rpgclasses.capability.PlayerProgressionData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+
+/**
+ * Immutable, compiled view of every progression tree.
+ * Built once per datapack reload by NodeDataLoader and swapped into NodeRegistry,
+ * so lookups never filter lists and prerequisites are already bitmasks.
+ */
+final class NodeIndex {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    static final NodeIndex EMPTY = new NodeIndex(Map.of(), new long[1]);
+
+    /** One node as read from JSON, before ids are resolved */
+    record Definition(String id, String line, int cost, String rewardType, String rewardValue,
+                      String displayName, String description, String[] prerequisites) {}
+
+    static final class ClassTree {
+        final List<ProgressionNode> nodes;
+        final List<List<ProgressionNode>> nodesByLine;
+        final Map<String, ProgressionNode> nodesById;
+
+        ClassTree(List<ProgressionNode> nodes) {
+            this.nodes = List.copyOf(nodes);
+
+            List<List<ProgressionNode>> byLine = new ArrayList<>();
+            for (String line : PlayerProgressionData.LINES) {
+                byLine.add(nodes.stream().filter(node -> node.getLine().equals(line)).toList());
+            }
+            this.nodesByLine = List.copyOf(byLine);
+
+            Map<String, ProgressionNode> byId = new HashMap<>();
+            for (ProgressionNode node : nodes) byId.put(node.getId(), node);
+            this.nodesById = Map.copyOf(byId);
+        }
+    }
+
+    private final Map<String, ClassTree> classes;
+    private final long[] customPointMask;
+
+    private NodeIndex(Map<String, ClassTree> classes, long[] customPointMask) {
+        this.classes = classes;
+        this.customPointMask = customPointMask;
+    }
+
+    ClassTree getClassTree(String className) {
+        return classes.get(className);
+    }
+
+    Set<String> getClassNames() {
+        return classes.keySet();
+    }
+
+    boolean isCustomPointNode(int ordinal) {
+        int word = ordinal >>> 6;
+        return word < customPointMask.length && (customPointMask[word] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * Validate and compile the raw definitions. A class whose tree has unknown
+     * prerequisites, cross-line prerequisites or a cycle is skipped as a whole.
+     */
+    static NodeIndex compile(Map<String, List<Definition>> definitions) {
+        Map<String, ClassTree> classes = new HashMap<>();
+        long[] customPointMask = new long[1];
+
+        for (Map.Entry<String, List<Definition>> entry : definitions.entrySet()) {
+            String className = entry.getKey();
+            List<Definition> defs = entry.getValue();
+
+            String error = validate(defs);
+            if (error != null) {
+                LOGGER.warn("Skipping progression tree for {}: {}", className, error);
+                continue;
+            }
+
+            // Intern everything first so prerequisite masks can point at any node of the tree
+            for (Definition def : defs) NodeRegistry.internNodeId(def.id());
+
+            List<ProgressionNode> nodes = new ArrayList<>();
+            for (Definition def : defs) {
+                long[] mask = new long[1];
+                for (String prereq : def.prerequisites()) {
+                    mask = setBit(mask, NodeRegistry.getNodeOrdinal(prereq));
+                }
+
+                int ordinal = NodeRegistry.getNodeOrdinal(def.id());
+                if ("CUSTOM_POINT".equals(def.rewardType())) customPointMask = setBit(customPointMask, ordinal);
+
+                nodes.add(new ProgressionNode(def.id(), def.line(), def.cost(), def.rewardType(), def.rewardValue(),
+                        def.displayName(), def.description(), def.prerequisites(), ordinal, trim(mask)));
+            }
+
+            classes.put(className, new ClassTree(nodes));
+        }
+
+        return new NodeIndex(Map.copyOf(classes), customPointMask);
+    }
+
+    private static String validate(List<Definition> defs) {
+        Map<String, Definition> byId = new HashMap<>();
+        for (Definition def : defs) {
+            if (PlayerProgressionData.lineIndex(def.line()) < 0) return "node " + def.id() + " has unknown line " + def.line();
+            if (byId.put(def.id(), def) != null) return "duplicate node " + def.id();
+        }
+
+        for (Definition def : defs) {
+            for (String prereq : def.prerequisites()) {
+                Definition required = byId.get(prereq);
+                if (required == null) return "node " + def.id() + " requires unknown node " + prereq;
+                if (!required.line().equals(def.line())) return "node " + def.id() + " requires " + prereq + " from another line";
+            }
+        }
+
+        // Depth-first search for cycles: 1 = on the current path, 2 = done
+        Map<String, Integer> state = new HashMap<>();
+        for (Definition def : defs) {
+            String cycleAt = findCycle(def, byId, state);
+            if (cycleAt != null) return "prerequisite cycle through " + cycleAt;
+        }
+        return null;
+    }
+
+    private static String findCycle(Definition def, Map<String, Definition> byId, Map<String, Integer> state) {
+        int current = state.getOrDefault(def.id(), 0);
+        if (current == 2) return null;
+        if (current == 1) return def.id();
+
+        state.put(def.id(), 1);
+        for (String prereq : def.prerequisites()) {
+            String cycleAt = findCycle(byId.get(prereq), byId, state);
+            if (cycleAt != null) return cycleAt;
+        }
+        state.put(def.id(), 2);
+        return null;
+    }
+
+    private static long[] setBit(long[] bits, int ordinal) {
+        int word = ordinal >>> 6;
+        if (word >= bits.length) bits = Arrays.copyOf(bits, word + 1);
+        bits[word] |= 1L << ordinal;
+        return bits;
+    }
+
+    // Drop trailing empty words so the prerequisite test only walks words that matter
+    private static long[] trim(long[] bits) {
+        int length = bits.length;
+        while (length > 0 && bits[length - 1] == 0) length--;
+        return length == bits.length ? bits : Arrays.copyOf(bits, length);
+    }
+}
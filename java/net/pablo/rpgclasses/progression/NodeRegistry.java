@@ -1,106 +1,95 @@
 package net.pablo.rpgclasses.progression;
 
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import net.pablo.rpgclasses.capability.PlayerClassProvider;
 import net.pablo.rpgclasses.capability.PlayerProgressionData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class NodeRegistry {
 
-    private static final Map<String, List<ProgressionNode>> CLASS_NODES = new HashMap<>();
-
-    static {
-        initializeWarriorNodes();
-        initializeFighterNodes();
-        // Initialize other classes with placeholder data
-        CLASS_NODES.put("rogue", new ArrayList<>());
-        CLASS_NODES.put("ranger", new ArrayList<>());
-        CLASS_NODES.put("mage", new ArrayList<>());
-        CLASS_NODES.put("tank", new ArrayList<>());
-        CLASS_NODES.put("gambler", new ArrayList<>());
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // Swapped wholesale on every datapack reload, never mutated
+    private static volatile NodeIndex index = NodeIndex.EMPTY;
+
+    // Node id <-> ordinal. Append-only so bits stored in player data never change meaning.
+    // The client thread interns too (singleplayer shares these), so reads are lock-free
+    // concurrent collections and only interning locks. Ids go in the list before the map,
+    // so any ordinal a reader gets already resolves.
+    private static final Map<String, Integer> NODE_ORDINALS = new ConcurrentHashMap<>();
+    private static final List<String> NODE_IDS = new CopyOnWriteArrayList<>();
+
+    static void applyIndex(NodeIndex newIndex) {
+        index = newIndex;
+
+        int nodeCount = 0;
+        for (String className : newIndex.getClassNames()) nodeCount += newIndex.getClassTree(className).nodes.size();
+        LOGGER.info("Loaded {} progression nodes for {} classes", nodeCount, newIndex.getClassNames().size());
+
+        // A node may have changed reward type, recount custom points for everyone online
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) return;
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap ->
+                    cap.getProgressionData().recountCustomPoints());
+        }
+    }
+
+    // ------------------ NODE ORDINALS ------------------
+
+    /** Ordinal of a node id, assigning a new one for ids we haven't seen (old saves, test nodes) */
+    public static synchronized int internNodeId(String nodeId) {
+        Integer ordinal = NODE_ORDINALS.get(nodeId);
+        if (ordinal != null) return ordinal;
+
+        int next = NODE_IDS.size();
+        NODE_IDS.add(nodeId);
+        NODE_ORDINALS.put(nodeId, next);
+        return next;
     }
 
-    private static void initializeWarriorNodes() {
-        List<ProgressionNode> nodes = new ArrayList<>();
-
-        // SKILL LINE (Total: 33 levels) - SEQUENTIAL ORDER
-        nodes.add(new ProgressionNode("warrior_skill_1", "skill", 5, "STAT", "+2 HP", "Vitality I", "Increases max health by 2"));
-        nodes.add(new ProgressionNode("warrior_skill_2", "skill", 5, "STAT", "+1 ATK", "Power I", "Increases attack damage by 1", "warrior_skill_1"));
-        nodes.add(new ProgressionNode("warrior_skill_3", "skill", 5, "CUSTOM_POINT", "skill", "Custom Stat Point", "Unlock custom stat point", "warrior_skill_2"));
-        nodes.add(new ProgressionNode("warrior_skill_4", "skill", 5, "STAT", "+2% Lifesteal", "Blood Siphon", "Gain 2% lifesteal", "warrior_skill_3"));
-        nodes.add(new ProgressionNode("warrior_skill_5", "skill", 5, "STAT", "+3 HP", "Vitality II", "Increases max health by 3", "warrior_skill_4"));
-        nodes.add(new ProgressionNode("warrior_skill_6", "skill", 5, "CUSTOM_POINT", "skill", "Custom Stat Point", "Unlock custom stat point", "warrior_skill_5"));
-        nodes.add(new ProgressionNode("warrior_skill_7", "skill", 3, "UNLOCK", "SKILL", "Vermillion Laceration", "Unlock Warrior skill!", "warrior_skill_6"));
-
-        // PASSIVE LINE (Total: 33 levels) - SEQUENTIAL ORDER
-        nodes.add(new ProgressionNode("warrior_passive_1", "passive", 5, "STAT", "+2% DMG", "Might I", "Increases damage by 2%"));
-        nodes.add(new ProgressionNode("warrior_passive_2", "passive", 5, "STAT", "+3 HP", "Vitality I", "Increases max health by 3", "warrior_passive_1"));
-        nodes.add(new ProgressionNode("warrior_passive_3", "passive", 5, "CUSTOM_POINT", "passive", "Custom Stat Point", "Unlock custom stat point", "warrior_passive_2"));
-        nodes.add(new ProgressionNode("warrior_passive_4", "passive", 5, "STAT", "+2% DMG", "Might II", "Increases damage by 2%", "warrior_passive_3"));
-        nodes.add(new ProgressionNode("warrior_passive_5", "passive", 5, "STAT", "+3 HP", "Vitality II", "Increases max health by 3", "warrior_passive_4"));
-        nodes.add(new ProgressionNode("warrior_passive_6", "passive", 5, "CUSTOM_POINT", "passive", "Custom Stat Point", "Unlock custom stat point", "warrior_passive_5"));
-        nodes.add(new ProgressionNode("warrior_passive_7", "passive", 3, "UNLOCK", "PASSIVE", "Bloodlust", "Unlock Warrior passive!", "warrior_passive_6"));
-
-        // ITEM LINE (Total: 34 levels) - SEQUENTIAL ORDER
-        nodes.add(new ProgressionNode("warrior_item_1", "item", 5, "STAT", "+1 ATK", "Sharpness I", "Increases attack damage by 1"));
-        nodes.add(new ProgressionNode("warrior_item_2", "item", 5, "STAT", "+5 HP", "Fortitude I", "Increases max health by 5", "warrior_item_1"));
-        nodes.add(new ProgressionNode("warrior_item_3", "item", 5, "CUSTOM_POINT", "item", "Custom Stat Point", "Unlock custom stat point", "warrior_item_2"));
-        nodes.add(new ProgressionNode("warrior_item_4", "item", 5, "STAT", "+1 ATK", "Sharpness II", "Increases attack damage by 1", "warrior_item_3"));
-        nodes.add(new ProgressionNode("warrior_item_5", "item", 5, "STAT", "+5 HP", "Fortitude II", "Increases max health by 5", "warrior_item_4"));
-        nodes.add(new ProgressionNode("warrior_item_6", "item", 5, "CUSTOM_POINT", "item", "Custom Stat Point", "Unlock custom stat point", "warrior_item_5"));
-        nodes.add(new ProgressionNode("warrior_item_7", "item", 4, "UNLOCK", "ITEM", "Crimson Oath", "Unlock Warrior item!", "warrior_item_6"));
-
-        CLASS_NODES.put("warrior", nodes);
+    /** Ordinal of a node id, or -1 if it was never seen */
+    public static int getNodeOrdinal(String nodeId) {
+        Integer ordinal = NODE_ORDINALS.get(nodeId);
+        return ordinal != null ? ordinal : -1;
     }
 
-    private static void initializeFighterNodes() {
-        List<ProgressionNode> nodes = new ArrayList<>();
-
-        // SKILL LINE - SEQUENTIAL ORDER
-        nodes.add(new ProgressionNode("fighter_skill_1", "skill", 5, "STAT", "+2% AOE DMG", "Area Impact", "AOE damage +2%"));
-        nodes.add(new ProgressionNode("fighter_skill_2", "skill", 5, "STAT", "+1 ATK", "Power Strike", "Attack damage +1", "fighter_skill_1"));
-        nodes.add(new ProgressionNode("fighter_skill_3", "skill", 5, "CUSTOM_POINT", "skill", "Custom Stat Point", "Unlock custom stat", "fighter_skill_2"));
-        nodes.add(new ProgressionNode("fighter_skill_4", "skill", 5, "STAT", "+0.5s Stun", "Stunning Blow", "Stun duration +0.5s", "fighter_skill_3"));
-        nodes.add(new ProgressionNode("fighter_skill_5", "skill", 5, "STAT", "+2% AOE", "Area Impact II", "AOE radius +2%", "fighter_skill_4"));
-        nodes.add(new ProgressionNode("fighter_skill_6", "skill", 5, "CUSTOM_POINT", "skill", "Custom Stat Point", "Unlock custom stat", "fighter_skill_5"));
-        nodes.add(new ProgressionNode("fighter_skill_7", "skill", 3, "UNLOCK", "SKILL", "Seismic Smash", "Unlock Fighter skill!", "fighter_skill_6"));
-
-        // PASSIVE LINE - SEQUENTIAL ORDER
-        nodes.add(new ProgressionNode("fighter_passive_1", "passive", 5, "STAT", "+2% Combo DMG", "Combo Master", "Combo damage +2%"));
-        nodes.add(new ProgressionNode("fighter_passive_2", "passive", 5, "STAT", "+1% ATK Speed", "Swift Strikes", "Attack speed +1%", "fighter_passive_1"));
-        nodes.add(new ProgressionNode("fighter_passive_3", "passive", 5, "CUSTOM_POINT", "passive", "Custom Stat Point", "Unlock custom stat", "fighter_passive_2"));
-        nodes.add(new ProgressionNode("fighter_passive_4", "passive", 5, "STAT", "+2% DMG", "Might", "All damage +2%", "fighter_passive_3"));
-        nodes.add(new ProgressionNode("fighter_passive_5", "passive", 5, "STAT", "+1 ATK", "Power", "Attack damage +1", "fighter_passive_4"));
-        nodes.add(new ProgressionNode("fighter_passive_6", "passive", 5, "CUSTOM_POINT", "passive", "Custom Stat Point", "Unlock custom stat", "fighter_passive_5"));
-        nodes.add(new ProgressionNode("fighter_passive_7", "passive", 3, "UNLOCK", "PASSIVE", "Combo Mastery", "Unlock Fighter passive!", "fighter_passive_6"));
-
-        // ITEM LINE - SEQUENTIAL ORDER
-        nodes.add(new ProgressionNode("fighter_item_1", "item", 5, "STAT", "+1 ATK", "Weapon Enhancement", "Attack damage +1"));
-        nodes.add(new ProgressionNode("fighter_item_2", "item", 5, "STAT", "+2% Fury", "Fury Build", "Fury generation +2%", "fighter_item_1"));
-        nodes.add(new ProgressionNode("fighter_item_3", "item", 5, "CUSTOM_POINT", "item", "Custom Stat Point", "Unlock custom stat", "fighter_item_2"));
-        nodes.add(new ProgressionNode("fighter_item_4", "item", 5, "STAT", "+1 ATK", "Weapon Enhancement II", "Attack damage +1", "fighter_item_3"));
-        nodes.add(new ProgressionNode("fighter_item_5", "item", 5, "STAT", "+3% Shockwave", "Shockwave Power", "Shockwave damage +3%", "fighter_item_4"));
-        nodes.add(new ProgressionNode("fighter_item_6", "item", 5, "CUSTOM_POINT", "item", "Custom Stat Point", "Unlock custom stat", "fighter_item_5"));
-        nodes.add(new ProgressionNode("fighter_item_7", "item", 4, "UNLOCK", "ITEM", "Bloodforged Sigil", "Unlock Fighter item!", "fighter_item_6"));
-
-        CLASS_NODES.put("fighter", nodes);
+    public static String getNodeId(int ordinal) {
+        if (ordinal < 0 || ordinal >= NODE_IDS.size()) return null;
+        return NODE_IDS.get(ordinal);
+    }
+
+    public static int getNodeOrdinalCount() {
+        return NODE_IDS.size();
+    }
+
+    public static boolean isCustomPointNode(int ordinal) {
+        return index.isCustomPointNode(ordinal);
     }
 
     // Public API
     public static List<ProgressionNode> getNodesForClass(String className) {
-        return CLASS_NODES.getOrDefault(className.toLowerCase(), new ArrayList<>());
+        NodeIndex.ClassTree tree = index.getClassTree(className.toLowerCase());
+        return tree != null ? tree.nodes : List.of();
     }
 
     public static List<ProgressionNode> getNodesForLine(String className, String line) {
-        return getNodesForClass(className).stream()
-                .filter(node -> node.getLine().equals(line))
-                .toList();
+        NodeIndex.ClassTree tree = index.getClassTree(className.toLowerCase());
+        int lineIndex = PlayerProgressionData.lineIndex(line);
+        if (tree == null || lineIndex < 0) return List.of();
+        return tree.nodesByLine.get(lineIndex);
     }
 
     public static ProgressionNode getNode(String className, String nodeId) {
-        return getNodesForClass(className).stream()
-                .filter(node -> node.getId().equals(nodeId))
-                .findFirst()
-                .orElse(null);
+        NodeIndex.ClassTree tree = index.getClassTree(className.toLowerCase());
+        return tree != null ? tree.nodesById.get(nodeId) : null;
     }
 
     /**
@@ -108,22 +97,16 @@ public class NodeRegistry {
      * ENFORCES SEQUENTIAL ORDERING within each line.
      */
     public static boolean canPurchaseNode(PlayerProgressionData progression, ProgressionNode node) {
+        int line = node.getLineIndex();
+
         // Can't buy if already owned
-        if (progression.hasNode(node.getLine(), node.getId())) {
+        if (progression.hasNode(line, node.getOrdinal())) {
             return false;
         }
 
         // SEQUENTIAL ORDER ENFORCEMENT
         // If node has prerequisites, ALL must be purchased
-        if (node.hasPrerequisites()) {
-            for (String prereq : node.getPrerequisites()) {
-                if (!progression.hasNode(node.getLine(), prereq)) {
-                    return false; // Missing prerequisite
-                }
-            }
-        }
-
-        return true;
+        return progression.hasAllNodes(line, node.getPrerequisiteMask());
     }
 
     /**
@@ -133,7 +116,7 @@ public class NodeRegistry {
         List<ProgressionNode> lineNodes = getNodesForLine(className, line);
 
         for (ProgressionNode node : lineNodes) {
-            if (!progression.hasNode(line, node.getId()) && canPurchaseNode(progression, node)) {
+            if (canPurchaseNode(progression, node)) {
                 return node;
             }
         }
@@ -1,5 +1,7 @@
 package net.pablo.rpgclasses.progression;
 
+import net.pablo.rpgclasses.capability.PlayerProgressionData;
+
 public class ProgressionNode {
     private final String id;              // "warrior_skill_1"
     private final String line;            // "skill", "passive", "item"
@@ -10,9 +12,13 @@ public class ProgressionNode {
     private final String description;     // Tooltip info
     private final String[] prerequisites; // Required nodes before this one
 
-    public ProgressionNode(String id, String line, int cost, String rewardType,
-                           String rewardValue, String displayName, String description,
-                           String... prerequisites) {
+    private final int lineIndex;          // Index into PlayerProgressionData.LINES
+    private final int ordinal;            // Global bit index, see NodeRegistry#getNodeOrdinal
+    private final long[] prerequisiteMask; // Bitset over ordinals with every prerequisite set
+
+    ProgressionNode(String id, String line, int cost, String rewardType,
+                    String rewardValue, String displayName, String description,
+                    String[] prerequisites, int ordinal, long[] prerequisiteMask) {
         this.id = id;
         this.line = line;
         this.cost = cost;
@@ -21,6 +27,9 @@ public class ProgressionNode {
         this.displayName = displayName;
         this.description = description;
         this.prerequisites = prerequisites;
+        this.lineIndex = PlayerProgressionData.lineIndex(line);
+        this.ordinal = ordinal;
+        this.prerequisiteMask = prerequisiteMask;
     }
 
     public String getId() { return id; }
@@ -32,6 +41,10 @@ public class ProgressionNode {
     public String getDescription() { return description; }
     public String[] getPrerequisites() { return prerequisites; }
 
+    public int getLineIndex() { return lineIndex; }
+    public int getOrdinal() { return ordinal; }
+    public long[] getPrerequisiteMask() { return prerequisiteMask; }
+
     public boolean hasPrerequisites() {
         return prerequisites != null && prerequisites.length > 0;
     }
@@ -0,0 +1,117 @@
+package net.pablo.rpgclasses.progression;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.capability.PlayerClassProvider;
+import net.pablo.rpgclasses.capability.PlayerProgressionData;
+import net.pablo.rpgclasses.capability.ProgressionDelta;
+import net.pablo.rpgclasses.network.NetworkHandler;
+import net.pablo.rpgclasses.network.ProgressionDeltaPacket;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps each client's copy of the progression data up to date.
+ * Sends only what changed since the last sync, and a full snapshot on login,
+ * respawn, dimension change or when the client reports a version mismatch.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class ProgressionSync {
+
+    private static class ClientState {
+        int sentVersion;
+        int ackedVersion = -1;
+        // How much of the node ordinal table the client already knows
+        int knownOrdinals;
+    }
+
+    private static final Map<UUID, ClientState> clients = new HashMap<>();
+
+    private static long fullSnapshots = 0;
+    private static long deltas = 0;
+    private static long resyncRequests = 0;
+
+    /** Send whatever changed since the last sync, does nothing if the data didn't change */
+    public static void sync(ServerPlayer player) {
+        player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
+            PlayerProgressionData progression = cap.getProgressionData();
+            ClientState state = clients.get(player.getUUID());
+
+            if (state == null || progression.isFullSyncPending()) {
+                send(player, progression, true);
+            } else if (state.sentVersion != progression.getSyncVersion()) {
+                send(player, progression, false);
+            }
+        });
+    }
+
+    public static void sendFull(ServerPlayer player) {
+        player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap ->
+                send(player, cap.getProgressionData(), true));
+    }
+
+    private static void send(ServerPlayer player, PlayerProgressionData progression, boolean full) {
+        ClientState state = clients.computeIfAbsent(player.getUUID(), id -> new ClientState());
+
+        ProgressionDelta delta = progression.takeDelta(full);
+        delta.setBaseVersion(state.sentVersion);
+
+        // Append any node ids the client doesn't know the ordinal of yet
+        int ordinalCount = NodeRegistry.getNodeOrdinalCount();
+        if (delta.isFull()) state.knownOrdinals = 0;
+        if (state.knownOrdinals < ordinalCount) {
+            List<String> ids = new ArrayList<>(ordinalCount - state.knownOrdinals);
+            for (int ordinal = state.knownOrdinals; ordinal < ordinalCount; ordinal++) {
+                ids.add(NodeRegistry.getNodeId(ordinal));
+            }
+            delta.setTable(state.knownOrdinals, ids);
+            state.knownOrdinals = ordinalCount;
+        }
+
+        state.sentVersion = delta.getVersion();
+        NetworkHandler.sendToClient(new ProgressionDeltaPacket(delta), player);
+
+        if (delta.isFull()) fullSnapshots++;
+        else deltas++;
+    }
+
+    public static void onAck(ServerPlayer player, int version, boolean resync) {
+        if (resync) {
+            resyncRequests++;
+            sendFull(player);
+            return;
+        }
+
+        ClientState state = clients.get(player.getUUID());
+        if (state != null) state.ackedVersion = version;
+    }
+
+    public static String getStats(ServerPlayer player) {
+        ClientState state = clients.get(player.getUUID());
+        String own = state != null ? " | you: sent v" + state.sentVersion + ", acked v" + state.ackedVersion : "";
+        return "full=" + fullSnapshots + " deltas=" + deltas + " resyncs=" + resyncRequests + own;
+    }
+
+    // The client recreates its player (and capability) on respawn and dimension change
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) sendFull(player);
+    }
+
+    @SubscribeEvent
+    public static void onChangeDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) sendFull(player);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        clients.remove(event.getEntity().getUUID());
+    }
+}
@@ -4,104 +4,89 @@ import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
-import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.RpgClassesMod;
 import net.pablo.rpgclasses.capability.PlayerClassProvider;
 import net.pablo.rpgclasses.capability.PlayerProgressionData;
-import net.pablo.rpgclasses.network.NetworkHandler;
-import net.pablo.rpgclasses.network.SyncProgressionPacket;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import net.pablo.rpgclasses.events.ClassLevelChangedEvent;
+import net.pablo.rpgclasses.utils.DebugHelper;
 
 /**
  * Manages skill point rewards when players level up their class.
- * Grants 1 skill point per class level gained.
+ * Grants 1 skill point per class level gained, driven by ClassLevelChangedEvent.
  */
 @Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
 public class SkillPointManager {
 
-    // Track last known level to detect level ups
-    private static final Map<UUID, Integer> lastKnownLevel = new HashMap<>();
     private static final int POINTS_PER_LEVEL = 1;
 
     @SubscribeEvent
-    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) return;
-        if (event.player.level().isClientSide) return;
-
-        Player player = event.player;
+    public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)) return;
 
         player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
-            if (cap.getSelectedClass() == null) {
-                debugMessage(player, "§7[DEBUG] No class selected");
-                return;
-            }
-
-            String className = cap.getSelectedClass().getClassName();
-            int currentLevel = cap.getLevel(className);
-            UUID playerId = player.getUUID();
             PlayerProgressionData progression = cap.getProgressionData();
 
-            Integer lastLevel = lastKnownLevel.get(playerId);
-
-            if (lastLevel == null) {
-                // First time seeing this player
-                lastKnownLevel.put(playerId, currentLevel);
-
+            if (cap.getSelectedClass() != null) {
+                String className = cap.getSelectedClass().getClassName();
+                int currentLevel = cap.getLevel(className);
                 int currentPoints = progression.getSkillPoints(className);
-                debugMessage(player, "§b[INIT] " + className + " L" + currentLevel + " | Points: " + currentPoints);
 
-                // Grant points for existing levels if none exist
+                // Grant points for levels earned before skill points existed
                 if (currentPoints == 0 && currentLevel > 1) {
-                    int pointsToGrant = (currentLevel - 1) * POINTS_PER_LEVEL;
+                    int pointsToGrant = getExpectedSkillPoints(currentLevel);
                     progression.addSkillPoints(className, pointsToGrant);
 
                     debugMessage(player, "§a[GRANT] +%d points for existing levels", pointsToGrant);
                     spawnParticles(player, ParticleTypes.HAPPY_VILLAGER, 10);
-
-                    if (player instanceof ServerPlayer serverPlayer) {
-                        NetworkHandler.sendToClient(new SyncProgressionPacket(progression), serverPlayer);
-                    }
                 }
-                return;
             }
 
-            // Check if player leveled up
-            if (currentLevel > lastLevel) {
-                int levelsGained = currentLevel - lastLevel;
-                int pointsToGrant = levelsGained * POINTS_PER_LEVEL;
-                int pointsBefore = progression.getSkillPoints(className);
-
-                progression.addSkillPoints(className, pointsToGrant);
-                int pointsAfter = progression.getSkillPoints(className);
-
-                lastKnownLevel.put(playerId, currentLevel);
-
-                // Debug feedback
-                debugMessage(player, "§6[LEVEL UP] %s: %d → %d", className, lastLevel, currentLevel);
-                debugMessage(player, "§6[POINTS] Before: %d | Granted: +%d | After: %d",
-                        pointsBefore, pointsToGrant, pointsAfter);
-
-                // Visual feedback
-                spawnParticles(player, ParticleTypes.END_ROD, 20);
-                spawnParticles(player, ParticleTypes.HAPPY_VILLAGER, 15);
-
-                if (player instanceof ServerPlayer serverPlayer) {
-                    player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
-                            "§e⭐ +" + pointsToGrant + " " + className + " Skill Point" +
-                                    (pointsToGrant > 1 ? "s" : "") +
-                                    "! §7(Total: " + pointsAfter + ")"
-                    ));
-                    NetworkHandler.sendToClient(new SyncProgressionPacket(progression), serverPlayer);
-                }
-            } else if (currentLevel < lastLevel) {
-                debugMessage(player, "§c[WARN] Level decreased: %d → %d", lastLevel, currentLevel);
-                lastKnownLevel.put(playerId, currentLevel);
-            }
+            ProgressionSync.sendFull(player);
+        });
+    }
+
+    @SubscribeEvent
+    public static void onClassLevelChanged(ClassLevelChangedEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)) return;
+
+        String className = event.getClassName();
+        int oldLevel = event.getOldLevel();
+        int newLevel = event.getNewLevel();
+
+        if (!event.isLevelUp()) {
+            debugMessage(player, "§c[WARN] Level decreased: %d → %d", oldLevel, newLevel);
+            return;
+        }
+
+        player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
+            PlayerProgressionData progression = cap.getProgressionData();
+            int pointsToGrant = (newLevel - oldLevel) * POINTS_PER_LEVEL;
+            int pointsBefore = progression.getSkillPoints(className);
+
+            progression.addSkillPoints(className, pointsToGrant);
+            int pointsAfter = progression.getSkillPoints(className);
+
+            // Debug feedback
+            debugMessage(player, "§6[LEVEL UP] %s: %d → %d", className, oldLevel, newLevel);
+            debugMessage(player, "§6[POINTS] Before: %d | Granted: +%d | After: %d",
+                    pointsBefore, pointsToGrant, pointsAfter);
+
+            // Visual feedback
+            spawnParticles(player, ParticleTypes.END_ROD, 20);
+            spawnParticles(player, ParticleTypes.HAPPY_VILLAGER, 15);
+
+            player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
+                    "§6⭐ Your " + className + " class leveled up to " + newLevel + "!"
+            ));
+            player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
+                    "§e⭐ +" + pointsToGrant + " " + className + " Skill Point" +
+                            (pointsToGrant > 1 ? "s" : "") +
+                            "! §7(Total: " + pointsAfter + ")"
+            ));
+            ProgressionSync.sync(player);
         });
     }
 
@@ -120,7 +105,7 @@ public class SkillPointManager {
                     "§a✓ Granted " + amount + " " + className + " skill points! §7(Total: " + after + ")"
             ));
 
-            NetworkHandler.sendToClient(new SyncProgressionPacket(progression), player);
+            ProgressionSync.sync(player);
         });
     }
 
@@ -130,6 +115,7 @@ public class SkillPointManager {
 
     // Debug utilities
     private static void debugMessage(Player player, String message, Object... args) {
+        if (!DebugHelper.SHOW_DEBUG_MESSAGES) return;
         if (args.length > 0) {
             message = String.format(message, args);
         }
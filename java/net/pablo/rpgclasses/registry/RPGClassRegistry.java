@@ -2,11 +2,17 @@ package net.pablo.rpgclasses.registry;
 
 import net.pablo.rpgclasses.classes.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class RPGClassRegistry {
     private static final Map<String, RPGClass> CLASSES = new HashMap<>();
+    // Index = class id, ids follow registration order so they are stable between runs
+    private static final List<RPGClass> CLASSES_BY_ID = new ArrayList<>();
 
     static {
         register(new Fighter());
@@ -19,6 +25,8 @@ public class RPGClassRegistry {
     }
 
     public static void register(RPGClass rpgClass) {
+        rpgClass.setId(CLASSES_BY_ID.size());
+        CLASSES_BY_ID.add(rpgClass);
         CLASSES.put(rpgClass.getClassName().toLowerCase(), rpgClass);
     }
 
@@ -26,5 +34,24 @@ public class RPGClassRegistry {
         if (name == null) return null;
         return CLASSES.get(name.toLowerCase());
     }
-    
+
+    public static RPGClass getClassById(int id) {
+        if (id < 0 || id >= CLASSES_BY_ID.size()) return null;
+        return CLASSES_BY_ID.get(id);
+    }
+
+    /** Id of the class with this name, or -1 if it isn't registered */
+    public static int getIdByName(String name) {
+        RPGClass rpgClass = getClassByName(name);
+        return rpgClass != null ? rpgClass.getId() : -1;
+    }
+
+    public static int getClassCount() {
+        return CLASSES_BY_ID.size();
+    }
+
+    public static Collection<RPGClass> getAllClasses() {
+        return Collections.unmodifiableList(CLASSES_BY_ID);
+    }
+
 }
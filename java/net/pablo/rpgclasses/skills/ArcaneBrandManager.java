@@ -12,24 +12,37 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.event.TickEvent;
-import net.minecraftforge.event.entity.living.LivingHurtEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.combat.HitContext;
+import net.pablo.rpgclasses.network.FxDispatcher;
+import net.pablo.rpgclasses.network.FxPacket;
+import net.pablo.rpgclasses.utils.SpatialQueryCache;
+import net.pablo.rpgclasses.utils.TickHealthMonitor;
 
 import java.util.*;
 
+/**
+ * Beams, halos and mark expiry run once per tick per ServerLevel from that level's task list,
+ * so the cost doesn't depend on how many players are online.
+ */
 @Mod.EventBusSubscriber
 public class ArcaneBrandManager {
 
-    private static final Map<UUID, Map<UUID, Long>> playerMarks = new HashMap<>();
-    private static final Map<UUID, Map<UUID, Long>> playerHaloTargets = new HashMap<>();
-    private static final Map<UUID, BeamTask> activeBeams = new HashMap<>();
+    private static final Map<ServerLevel, LevelTasks> levelTasks = new IdentityHashMap<>();
 
-    private static final long MARK_DURATION_MILLIS = 12_000; // 10s
+    private static final long MARK_DURATION_TICKS = 240; // 12s
     private static final float SPELL_DAMAGE_MULTIPLIER = 1.30f;
     private static final float MAX_BONUS_DAMAGE = 6f;
 
+    private static final double CAST_RADIUS = 8.0;
+    private static final int MAX_TARGETS = 5;
+    private static final List<LivingEntity> CAST_TARGETS = new ArrayList<>();
+
     private static final int BEAM_TICKS = 10;
     private static final double BEAM_STEP = 0.5;
 
@@ -39,24 +52,19 @@ public class ArcaneBrandManager {
 
     /** Cast Arcane Brand around the caster */
     public static void cast(Player caster) {
-        if (ArcaneBrandCooldownManager.isOnCooldown(caster)) return;
+        if (CooldownService.isOnCooldown(caster, SkillId.ARCANE_BRAND)) return;
         if (!(caster.level() instanceof ServerLevel level)) return;
 
-        var targets = level.getEntitiesOfClass(LivingEntity.class,
-                caster.getBoundingBox().inflate(8),
-                e -> e != caster
-        ).stream().limit(5).toList();
-
-        if (targets.isEmpty()) return;
+        SpatialQueryCache.sphere(level, caster.position(), CAST_RADIUS, CAST_TARGETS, e -> e != caster);
+        if (CAST_TARGETS.isEmpty()) return;
 
         UUID casterId = caster.getUUID();
-        playerMarks.putIfAbsent(casterId, new HashMap<>());
-        playerHaloTargets.putIfAbsent(casterId, new HashMap<>());
+        LevelTasks tasks = levelTasks.computeIfAbsent(level, k -> new LevelTasks());
 
-        for (LivingEntity target : targets) {
-            activeBeams.put(UUID.randomUUID(), new BeamTask(level, caster, target, casterId));
+        for (int i = 0; i < Math.min(MAX_TARGETS, CAST_TARGETS.size()); i++) {
+            tasks.beams.add(new BeamTask(level, caster, CAST_TARGETS.get(i), casterId));
         }
-        ArcaneBrandCooldownManager.setCooldown(caster);
+        CooldownService.start(caster, SkillId.ARCANE_BRAND);
     }
 
     /** Track mana spending by tick */
@@ -69,6 +77,16 @@ public class ArcaneBrandManager {
         }
     }
 
+    /** Work for one level: beams in flight and marks indexed by target, then by caster */
+    private static class LevelTasks {
+        final List<BeamTask> beams = new ArrayList<>();
+        final Map<UUID, Map<UUID, Long>> marksByTarget = new HashMap<>();
+
+        boolean isEmpty() {
+            return beams.isEmpty() && marksByTarget.isEmpty();
+        }
+    }
+
     /** Progressive beam task holder */
     private static class BeamTask {
         final ServerLevel level;
@@ -77,8 +95,6 @@ public class ArcaneBrandManager {
         final UUID casterId;
         final Vec3 start;
         final Vec3 end;
-        final Vec3 direction;
-        final double distance;
         int tick = 0;
 
         BeamTask(ServerLevel level, LivingEntity caster, LivingEntity target, UUID casterId) {
@@ -88,90 +104,119 @@ public class ArcaneBrandManager {
             this.casterId = casterId;
             this.start = caster.position().add(0, caster.getEyeHeight() * 0.8, 0);
             this.end = target.position().add(0, target.getBbHeight() * 0.5, 0);
-            this.direction = end.subtract(start).normalize();
-            this.distance = start.distanceTo(end);
         }
 
         boolean tick() {
             if (!caster.isAlive() || !target.isAlive()) return true;
-            tick++;
-
-            double progress = (double) tick / BEAM_TICKS;
-            double currentDistance = progress * distance;
 
-            for (double d = 0; d < currentDistance; d += BEAM_STEP) {
-                Vec3 pos = start.add(direction.scale(d));
-                level.sendParticles(ParticleTypes.END_ROD, pos.x, pos.y, pos.z, 1, 0, 0, 0, 0.01);
+            // The client extends the beam a step per tick from this one packet
+            if (tick == 0) {
+                FxDispatcher.send(level, start.add(end).scale(0.5),
+                        FxPacket.beam(ParticleTypes.END_ROD, start, end, BEAM_STEP)
+                                .flags(FxPacket.GROW | FxPacket.IMPORTANT).lasting(BEAM_TICKS, 1).speed(0.01));
             }
+            tick++;
 
             if (tick >= BEAM_TICKS) {
-                applyMark(casterId, target);
+                applyMark(level, casterId, target);
                 return true;
             }
             return false;
         }
     }
 
-    /** Apply mark and halo */
-    private static void applyMark(UUID casterId, LivingEntity target) {
-        long expiry = System.currentTimeMillis() + MARK_DURATION_MILLIS;
-        playerMarks.get(casterId).put(target.getUUID(), expiry);
-        playerHaloTargets.get(casterId).put(target.getUUID(), expiry);
+    /** Apply mark, the halo is drawn for as long as the target has any mark */
+    private static void applyMark(ServerLevel level, UUID casterId, LivingEntity target) {
+        long expiry = level.getGameTime() + MARK_DURATION_TICKS;
+        levelTasks.computeIfAbsent(level, k -> new LevelTasks())
+                .marksByTarget.computeIfAbsent(target.getUUID(), k -> new HashMap<>())
+                .put(casterId, expiry);
     }
 
-    /** Cleanup + tick beams + halo rotation */
+    /** Tick beams, expire marks and rotate halos for this level */
     @SubscribeEvent
-    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
-        if (!(event.player.level() instanceof ServerLevel level)) return;
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
         if (event.phase != TickEvent.Phase.END) return;
+        if (!(event.level instanceof ServerLevel level)) return;
 
-        // Tick beams
-        Iterator<Map.Entry<UUID, BeamTask>> it = activeBeams.entrySet().iterator();
-        while (it.hasNext()) {
-            if (it.next().getValue().tick()) it.remove();
-        }
+        LevelTasks tasks = levelTasks.get(level);
+        if (tasks == null) return;
+
+        // Tick beams (applying a mark may add to marksByTarget, never to beams)
+        tasks.beams.removeIf(BeamTask::tick);
+
+        long currentTick = level.getGameTime();
+        double angle = (currentTick % 360) * Math.PI / 30;
+        boolean drawHalos = TickHealthMonitor.getQuality().shouldPulse(currentTick);
 
-        long now = System.currentTimeMillis();
-        long currentTick = event.player.level().getGameTime();
-
-        // Rotate halos per caster
-        for (Map.Entry<UUID, Map<UUID, Long>> entry : playerHaloTargets.entrySet()) {
-            Map<UUID, Long> haloMap = entry.getValue();
-            Iterator<Map.Entry<UUID, Long>> haloIt = haloMap.entrySet().iterator();
-            while (haloIt.hasNext()) {
-                Map.Entry<UUID, Long> haloEntry = haloIt.next();
-                if (haloEntry.getValue() < now) {
-                    haloIt.remove();
-                    continue;
-                }
-                LivingEntity target = level.getEntity(haloEntry.getKey()) instanceof LivingEntity l ? l : null;
-                if (target == null || !target.isAlive()) {
-                    haloIt.remove();
-                    continue;
-                }
-
-                double radius = target.getBbWidth() * 0.8;
-                double yOffset = target.getBbHeight() * 0.6;
-                double angle = (level.getGameTime() % 360) * Math.PI / 30;
-
-                double x1 = target.getX() + radius * Math.cos(angle);
-                double z1 = target.getZ() + radius * Math.sin(angle);
-
-                level.sendParticles(ParticleTypes.GLOW, x1, target.getY() + yOffset, z1, 1, 0, 0, 0, 0.01);
+        Iterator<Map.Entry<UUID, Map<UUID, Long>>> targetIt = tasks.marksByTarget.entrySet().iterator();
+        while (targetIt.hasNext()) {
+            Map.Entry<UUID, Map<UUID, Long>> entry = targetIt.next();
+            Map<UUID, Long> marks = entry.getValue();
+            marks.values().removeIf(expiry -> expiry <= currentTick);
+
+            LivingEntity target = level.getEntity(entry.getKey()) instanceof LivingEntity l ? l : null;
+            if (marks.isEmpty() || target == null || !target.isAlive()) {
+                targetIt.remove();
+                continue;
             }
+
+            if (!drawHalos) continue;
+            double radius = target.getBbWidth() * 0.8;
+            double yOffset = target.getBbHeight() * 0.6;
+
+            double x1 = target.getX() + radius * Math.cos(angle);
+            double z1 = target.getZ() + radius * Math.sin(angle);
+
+            FxDispatcher.send(level, FxPacket.point(ParticleTypes.GLOW, new Vec3(x1, target.getY() + yOffset, z1), Vec3.ZERO, 1)
+                    .speed(0.01));
         }
 
-        // Clean up old mana tick entries
-        recentManaUseTick.entrySet().removeIf(entry -> currentTick - entry.getValue() > SPELL_CAST_TICK_WINDOW);
+        if (tasks.isEmpty()) levelTasks.remove(level);
+    }
+
+    /** Marks on a removed entity can never be consumed */
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        LevelTasks tasks = levelTasks.get(level);
+        if (tasks != null) tasks.marksByTarget.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) levelTasks.remove(level);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        recentManaUseTick.remove(event.getEntity().getUUID());
+    }
+
+    /** Removes the caster's mark on the target, returns whether it was still active */
+    private static boolean consumeMark(Player caster, LivingEntity target) {
+        if (!(target.level() instanceof ServerLevel level)) return false;
+        LevelTasks tasks = levelTasks.get(level);
+        if (tasks == null) return false;
+
+        Map<UUID, Long> marks = tasks.marksByTarget.get(target.getUUID());
+        if (marks == null) return false;
+        Long expiry = marks.remove(caster.getUUID());
+        if (marks.isEmpty()) tasks.marksByTarget.remove(target.getUUID());
+        return expiry != null && expiry > level.getGameTime();
     }
 
     /** Check if target is marked by caster */
     public static boolean isMarked(Player caster, LivingEntity target) {
-        Map<UUID, Long> marks = playerMarks.get(caster.getUUID());
+        if (!(target.level() instanceof ServerLevel level)) return false;
+        LevelTasks tasks = levelTasks.get(level);
+        if (tasks == null) return false;
+
+        Map<UUID, Long> marks = tasks.marksByTarget.get(target.getUUID());
         if (marks == null) return false;
 
-        Long expiry = marks.get(target.getUUID());
-        return expiry != null && expiry > System.currentTimeMillis();
+        Long expiry = marks.get(caster.getUUID());
+        return expiry != null && expiry > level.getGameTime();
     }
 
     /** Modify damage for hybrid amplification */
@@ -193,36 +238,18 @@ public class ArcaneBrandManager {
             }
         }
 
-        if (isAmplifiable && isMarked(caster, target)) {
+        // Remove mark after empowered damage
+        if (isAmplifiable && consumeMark(caster, target)) {
             float amplified = baseDamage * SPELL_DAMAGE_MULTIPLIER;
-            // Remove mark after empowered damage
-            playerMarks.get(caster.getUUID()).remove(target.getUUID());
-            playerHaloTargets.get(caster.getUUID()).remove(target.getUUID());
             return Math.min(amplified, baseDamage + MAX_BONUS_DAMAGE);
         }
 
         return baseDamage;
     }
 
-    /** Event: apply amplification */
-    @SubscribeEvent
-    public static void onLivingHurt(LivingHurtEvent event) {
-        LivingEntity target = event.getEntity();
-        if (target == null) return;
-
-        Object source = event.getSource();
-        Player caster = null;
-
-        if (source instanceof SpellDamageSource sds && sds.getEntity() instanceof Player p) {
-            caster = p;
-        }
-// Use proper cast and check for DamageSource entity
-        else if (source instanceof net.minecraft.world.damagesource.DamageSource ds && ds.getEntity() instanceof Player p) {
-            caster = p;
-        }
-
-
-        event.setAmount(modifyDamage(target, caster, event.getAmount(), source));
+    /** Hurt pipeline step for Mage attackers, see CombatDispatcher */
+    public static float amplifyDamage(HitContext hit, float amount) {
+        return modifyDamage(hit.getVictim(), hit.getAttacker(), amount, hit.getSource());
     }
 
     /** Event: mana restore on kill (only if mark was still active) */
@@ -243,7 +270,8 @@ public class ArcaneBrandManager {
         if (!(event.getEntity() instanceof LivingEntity)) return;
         LivingEntity target = (LivingEntity) event.getEntity();
         if (caster == null) return;
-        if (!isMarked(caster, target)) return;
+        // Remove mark & halo
+        if (!consumeMark(caster, target)) return;
 
         MagicData pmg = MagicData.getPlayerMagicData(caster);
         if (pmg != null) {
@@ -253,9 +281,5 @@ public class ArcaneBrandManager {
                 Messages.sendToPlayer(new ClientboundSyncMana(pmg), serverPlayer);
             }
         }
-
-        // Remove marks & halos
-        playerMarks.get(caster.getUUID()).remove(target.getUUID());
-        playerHaloTargets.get(caster.getUUID()).remove(target.getUUID());
     }
 }
@@ -10,6 +10,7 @@ import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.client.ClientClassCache;
+import net.pablo.rpgclasses.client.ClientCooldownCache;
 import net.pablo.rpgclasses.keybinds.KeyBindings;
 import net.pablo.rpgclasses.network.NetworkHandler;
 
@@ -28,7 +29,7 @@ public class ClassSkillClientHandler {
             // Client-side feedback per class
             switch (ClientClassCache.selectedClass) {
                 case "fighter":
-                    if (player.onGround() && !SeismicCooldownManager.isOnCooldown(player)) {
+                    if (player.onGround() && !ClientCooldownCache.isOnCooldown(SkillId.SEISMIC_SMASH)) {
                         player.setDeltaMovement(player.getDeltaMovement().x, 0.8, player.getDeltaMovement().z);
 
                         // Particles & sound
@@ -42,7 +43,7 @@ public class ClassSkillClientHandler {
                     }
                     break;
                 case "tank":
-                    if (!StormCooldownManager.isOnCooldown(player)) {
+                    if (!ClientCooldownCache.isOnCooldown(SkillId.STORM_SURGE)) {
                         NetworkHandler.INSTANCE.sendToServer(new ClassSkillPressedPacket());
                     }
                     break;
@@ -25,7 +25,7 @@ public class ClassSkillPressedPacket {
 
             switch (cap.getSelectedClass().getClass().getSimpleName()) {
                 case "Fighter":
-                    if (SeismicCooldownManager.isOnCooldown(player)) {
+                    if (CooldownService.isOnCooldown(player, SkillId.SEISMIC_SMASH)) {
                         // Optionally: send feedback packet/sound to client
                         return;
                     }
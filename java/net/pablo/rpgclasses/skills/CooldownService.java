@@ -0,0 +1,214 @@
+package net.pablo.rpgclasses.skills;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.capability.IPlayerClass;
+import net.pablo.rpgclasses.capability.PlayerClassProvider;
+import net.pablo.rpgclasses.network.CooldownSyncPacket;
+import net.pablo.rpgclasses.network.NetworkHandler;
+import net.pablo.rpgclasses.utils.TickScheduler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Skill cooldowns for every player, server side.
+ *
+ * Each online player gets a slot; deadlines are server ticks stored in flat arrays at
+ * slot * SkillId.COUNT + skill, so lookups don't allocate and lag can't shorten a cooldown.
+ * Remaining ticks are written to the player_class capability on save and read back on login.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public final class CooldownService {
+
+    private static final Map<UUID, Integer> slots = new HashMap<>();
+    private static final IntArrayList freeSlots = new IntArrayList();
+    private static int slotCount = 0;
+
+    private static long[] readyAt = new long[16 * SkillId.COUNT];
+    private static int[] durations = new int[16 * SkillId.COUNT];
+    // Bit per skill, set when the player took damage during the skill's refund window
+    private static int[] damageFlags = new int[16];
+
+    private CooldownService() {}
+
+    // ------------------ QUERIES ------------------
+
+    public static boolean isOnCooldown(Player player, SkillId skill) {
+        return getRemainingTicks(player, skill) > 0;
+    }
+
+    public static int getRemainingTicks(Player player, SkillId skill) {
+        Integer slot = slots.get(player.getUUID());
+        if (slot == null) return 0;
+        return (int) Math.max(0, readyAt[index(slot, skill)] - TickScheduler.now());
+    }
+
+    public static double getRemainingSeconds(Player player, SkillId skill) {
+        return getRemainingTicks(player, skill) / 20.0;
+    }
+
+    // ------------------ CHANGES ------------------
+
+    /** Starts the skill's default cooldown */
+    public static void start(Player player, SkillId skill) {
+        start(player, skill, skill.getDefaultCooldownTicks());
+    }
+
+    public static void start(Player player, SkillId skill, int ticks) {
+        int i = index(slotFor(player), skill);
+        readyAt[i] = TickScheduler.now() + Math.max(0, ticks);
+        durations[i] = Math.max(0, ticks);
+        sync(player, skill);
+    }
+
+    /** Cuts the given fraction (0..1) off the remaining cooldown */
+    public static void refundPercent(Player player, SkillId skill, double percent) {
+        if (percent <= 0.0) return;
+        Integer slot = slots.get(player.getUUID());
+        if (slot == null) return;
+
+        int i = index(slot, skill);
+        long now = TickScheduler.now();
+        long remaining = readyAt[i] - now;
+        if (remaining <= 0) return;
+        readyAt[i] = now + remaining - Math.round(remaining * Math.min(1.0, percent));
+        sync(player, skill);
+    }
+
+    public static void clear(Player player, SkillId skill) {
+        Integer slot = slots.get(player.getUUID());
+        if (slot == null) return;
+        int i = index(slot, skill);
+        readyAt[i] = 0;
+        durations[i] = 0;
+        sync(player, skill);
+    }
+
+    // ------------------ DAMAGE-CONDITIONAL REFUNDS ------------------
+
+    /** Opens a refund window, damage taken until the refund is decided is remembered */
+    public static void beginDamageWindow(Player player, SkillId skill) {
+        damageFlags[slotFor(player)] &= ~(1 << skill.ordinal());
+    }
+
+    public static void markDamageTaken(Player player, SkillId skill) {
+        Integer slot = slots.get(player.getUUID());
+        if (slot != null) damageFlags[slot] |= 1 << skill.ordinal();
+    }
+
+    public static boolean tookDamage(Player player, SkillId skill) {
+        Integer slot = slots.get(player.getUUID());
+        return slot != null && (damageFlags[slot] & (1 << skill.ordinal())) != 0;
+    }
+
+    /**
+     * Starts the full cooldown, then refunds the given fraction if no damage was taken
+     * since beginDamageWindow. Returns whether damage was taken.
+     */
+    public static boolean startWithDamageRefund(Player player, SkillId skill, double refundIfUntouched) {
+        boolean damaged = tookDamage(player, skill);
+        start(player, skill);
+        if (!damaged) refundPercent(player, skill, refundIfUntouched);
+        return damaged;
+    }
+
+    // ------------------ SLOTS ------------------
+
+    private static int index(int slot, SkillId skill) {
+        return slot * SkillId.COUNT + skill.ordinal();
+    }
+
+    private static int slotFor(Player player) {
+        Integer existing = slots.get(player.getUUID());
+        if (existing != null) return existing;
+
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.removeInt(freeSlots.size() - 1);
+        if (slot >= damageFlags.length) {
+            int capacity = damageFlags.length * 2;
+            readyAt = Arrays.copyOf(readyAt, capacity * SkillId.COUNT);
+            durations = Arrays.copyOf(durations, capacity * SkillId.COUNT);
+            damageFlags = Arrays.copyOf(damageFlags, capacity);
+        }
+        Arrays.fill(readyAt, slot * SkillId.COUNT, (slot + 1) * SkillId.COUNT, 0L);
+        Arrays.fill(durations, slot * SkillId.COUNT, (slot + 1) * SkillId.COUNT, 0);
+        damageFlags[slot] = 0;
+        slots.put(player.getUUID(), slot);
+        return slot;
+    }
+
+    // ------------------ PERSISTENCE ------------------
+
+    /** Copies remaining ticks into the capability, no-op for players without a slot */
+    public static void saveTo(Player player, IPlayerClass cap) {
+        Integer slot = slots.get(player.getUUID());
+        if (slot == null) return;
+        long now = TickScheduler.now();
+        for (int skill = 0; skill < SkillId.COUNT; skill++) {
+            cap.setSavedCooldown(skill, (int) Math.max(0, readyAt[slot * SkillId.COUNT + skill] - now));
+        }
+    }
+
+    private static void loadFrom(Player player, IPlayerClass cap) {
+        int slot = slotFor(player);
+        long now = TickScheduler.now();
+        for (int skill = 0; skill < SkillId.COUNT; skill++) {
+            int remaining = cap.getSavedCooldown(skill);
+            int i = slot * SkillId.COUNT + skill;
+            readyAt[i] = remaining > 0 ? now + remaining : 0;
+            durations[i] = Math.max(remaining, SkillId.byOrdinal(skill).getDefaultCooldownTicks());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)) return;
+        player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> loadFrom(player, cap));
+        syncAll(player);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        Player player = event.getEntity();
+        // Logout fires before the player file is written, store the values now and free the slot
+        player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> saveTo(player, cap));
+        Integer slot = slots.remove(player.getUUID());
+        if (slot != null) freeSlots.add(slot.intValue());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        slots.clear();
+        freeSlots.clear();
+        slotCount = 0;
+    }
+
+    // ------------------ SYNC ------------------
+
+    private static void sync(Player player, SkillId skill) {
+        if (!(player instanceof ServerPlayer serverPlayer)) return;
+        int i = index(slotFor(player), skill);
+        int remaining = (int) Math.max(0, readyAt[i] - TickScheduler.now());
+        NetworkHandler.sendToClient(new CooldownSyncPacket(skill, remaining, durations[i]), serverPlayer);
+    }
+
+    /** One packet per skill, the outbound queue bundles them into a single frame */
+    public static void syncAll(ServerPlayer player) {
+        for (int skill = 0; skill < SkillId.COUNT; skill++) {
+            sync(player, SkillId.byOrdinal(skill));
+        }
+    }
+
+    public static String getStats() {
+        return "players=" + slots.size() + ", slots=" + slotCount + ", free=" + freeSlots.size()
+                + ", capacity=" + damageFlags.length;
+    }
+}
@@ -5,11 +5,13 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.phys.Vec3;
-import net.minecraftforge.event.TickEvent;
-import net.minecraftforge.event.entity.living.LivingHurtEvent;
+import net.minecraftforge.event.entity.living.MobEffectEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.effect.ModEffects;
+import net.pablo.rpgclasses.utils.SpatialQueryCache;
+import net.pablo.rpgclasses.utils.TickScheduler;
 
 import java.util.*;
 
@@ -22,13 +24,15 @@ public class PhantomStrikeManager {
     private static final double BASE_DAMAGE = 7.0;
     private static final int MAX_WAVES = 3;
 
-    private static final Map<UUID, List<SlashWave>> activeWaves = new HashMap<>();
+    private static final double WAVE_MIN_DOT = 0.2; // ~157 degree arc in front of the wave
+    private static final List<LivingEntity> WAVE_TARGETS = new ArrayList<>();
+
     private static final Map<UUID, Integer> slashCount = new HashMap<>();
 
     public static void activate(ServerPlayer player, long tick) {
-        if (PhantomCooldownManager.isOnCooldown(player)) return;
+        if (CooldownService.isOnCooldown(player, SkillId.PHANTOM_STRIKE)) return;
 
-        PhantomCooldownManager.setCooldown(player);
+        CooldownService.start(player, SkillId.PHANTOM_STRIKE);
         slashCount.put(player.getUUID(), 0);
 
         player.addEffect(new MobEffectInstance(
@@ -68,53 +72,34 @@ public class PhantomStrikeManager {
     }
 
     private static void createSlashWave(ServerPlayer player) {
-        long tick = player.level().getGameTime();
-
-        List<SlashWave> waves = activeWaves.computeIfAbsent(player.getUUID(), k -> new ArrayList<>());
-
-        waves.removeIf(wave -> !wave.isActive(tick));
+        if (!(player.level() instanceof ServerLevel serverLevel)) return;
 
-        SlashWave newWave = new SlashWave(player, tick);
-        waves.add(newWave);
+        // First step right away, then one per tick until the wave is done or the player leaves
+        SlashWave newWave = new SlashWave(player, serverLevel.getGameTime());
+        if (newWave.tick(serverLevel)) {
+            TickScheduler.scheduleRepeating(player, 1, 1, () -> newWave.tick(serverLevel));
+        }
+    }
 
-        if (player.level() instanceof ServerLevel serverLevel) {
-            newWave.tick(serverLevel);
+    @SubscribeEvent
+    public static void onEffectExpired(MobEffectEvent.Expired event) {
+        if (event.getEffectInstance() != null && event.getEffectInstance().getEffect() == ModEffects.PHANTOM.get()) {
+            slashCount.remove(event.getEntity().getUUID());
         }
     }
 
     @SubscribeEvent
-    public static void onServerTick(TickEvent.ServerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) return;
-
-        for (ServerLevel level : event.getServer().getAllLevels()) {
-            List<UUID> toRemoveCount = new ArrayList<>();
-            for (Map.Entry<UUID, Integer> entry : slashCount.entrySet()) {
-                ServerPlayer player = level.getServer().getPlayerList().getPlayer(entry.getKey());
-                if (player == null || !player.hasEffect(ModEffects.PHANTOM.get())) {
-                    toRemoveCount.add(entry.getKey());
-                }
-            }
-            toRemoveCount.forEach(slashCount::remove);
-
-            List<Map.Entry<UUID, List<SlashWave>>> waveEntries = new ArrayList<>(activeWaves.entrySet());
-            for (Map.Entry<UUID, List<SlashWave>> entry : waveEntries) {
-                List<SlashWave> waves = entry.getValue();
-
-                List<SlashWave> wavesToRemove = new ArrayList<>();
-                for (SlashWave wave : new ArrayList<>(waves)) {
-                    if (!wave.tick(level)) {
-                        wavesToRemove.add(wave);
-                    }
-                }
-                waves.removeAll(wavesToRemove);
-
-                if (waves.isEmpty()) {
-                    activeWaves.remove(entry.getKey());
-                }
-            }
+    public static void onEffectRemoved(MobEffectEvent.Remove event) {
+        if (event.getEffect() == ModEffects.PHANTOM.get()) {
+            slashCount.remove(event.getEntity().getUUID());
         }
     }
 
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        slashCount.remove(event.getEntity().getUUID());
+    }
+
     private static class SlashWave {
         private final UUID ownerId;
         private final long startTick;
@@ -129,10 +114,6 @@ public class PhantomStrikeManager {
             this.direction = owner.getLookAngle().normalize();
         }
 
-        public boolean isActive(long currentTick) {
-            return (currentTick - startTick) <= WAVE_DURATION_TICKS;
-        }
-
         public boolean tick(ServerLevel level) {
             ServerPlayer owner = level.getServer().getPlayerList().getPlayer(ownerId);
             if (owner == null) return false;
@@ -147,21 +128,16 @@ public class PhantomStrikeManager {
 
             spawnSlashParticles(level, origin, direction, radius, progress, age);
 
-            for (LivingEntity entity : level.getEntitiesOfClass(LivingEntity.class, owner.getBoundingBox().inflate(radius + forwardDistance),
-                    e -> e != owner && !hitEntities.contains(e.getUUID()))) {
+            SpatialQueryCache.cone(level, origin, direction, radius, WAVE_MIN_DOT, WAVE_TARGETS,
+                    e -> e != owner && !hitEntities.contains(e.getUUID()) && e.distanceToSqr(origin) > 0.25);
 
+            for (LivingEntity entity : WAVE_TARGETS) {
                 Vec3 toEntity = entity.position().subtract(origin);
-                double distance = toEntity.length();
-                if (distance > 0.5 && distance <= radius) {
-                    double dot = direction.dot(toEntity.normalize());
-                    if (dot > 0.2) {
-                        entity.hurt(owner.damageSources().playerAttack(owner), (float) BASE_DAMAGE);
-                        hitEntities.add(entity.getUUID());
-
-                        Vec3 knockback = direction.add(toEntity.normalize().scale(0.3)).normalize().scale(0.6);
-                        entity.setDeltaMovement(entity.getDeltaMovement().add(knockback.x, 0.25, knockback.z));
-                    }
-                }
+                entity.hurt(owner.damageSources().playerAttack(owner), (float) BASE_DAMAGE);
+                hitEntities.add(entity.getUUID());
+
+                Vec3 knockback = direction.add(toEntity.normalize().scale(0.3)).normalize().scale(0.6);
+                entity.setDeltaMovement(entity.getDeltaMovement().add(knockback.x, 0.25, knockback.z));
             }
 
             return true;
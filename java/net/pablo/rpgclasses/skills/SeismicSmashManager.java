@@ -1,6 +1,5 @@
 package net.pablo.rpgclasses.skills;
 
-import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -8,27 +7,31 @@ import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.AABB;
-import net.minecraftforge.event.TickEvent;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.classes.ComboManager;
 import net.pablo.rpgclasses.classes.Fighter;
+import net.pablo.rpgclasses.network.FxDispatcher;
+import net.pablo.rpgclasses.network.FxPacket;
+import net.pablo.rpgclasses.utils.SpatialQueryCache;
+import net.pablo.rpgclasses.utils.TickScheduler;
 
 import java.util.*;
 
 /**
  * Central server-side manager:
  * - Tracks players who initiated Skybreaker jump
- * - Detects landing via previous-on-ground tracking
+ * - Detects landing via previous-on-ground tracking (one scheduler task per jumping player)
  * - Applies AOE damage, delayed stun (launch then stun), particles, sounds
- * - Integrates with CooldownManager for refunds if no targets hit
- *
- * Note: This class uses static state and exposes a few utility methods for packet to call.
- * It is registered as an event listener for server ticks elsewhere (or via @SubscribeEvent here).
+ * - Integrates with CooldownService for refunds if no targets hit
  */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
 public class SeismicSmashManager {
     public static final double SKILL_COOLDOWN_SECONDS = 25.0;
     private static final double AOE_RADIUS = 5.0;
@@ -38,38 +41,52 @@ public class SeismicSmashManager {
     private static final double STUN_PER_COMBO = 0.5;
     private static final double MAX_STUN_SECONDS = 4.0;
     private static final double COOLDOWN_REFUND_PERCENT = 0.5;
+    private static final int STUN_DELAY_TICKS = 2; // let the launch play out before stunning
 
-    // Tracking maps (thread-safe-ish via synchronized blocks where needed)
-    private static final Map<UUID, Boolean> jumpingPlayers = new HashMap<>();
-    private static final Map<UUID, Boolean> wasOnGround = new HashMap<>();
+    // Landing check task per jumping player
+    private static final Map<UUID, TickScheduler.Task> landingChecks = new HashMap<>();
     // pendingCooldowns: set by packet start; confirmed or refunded on landing
     private static final Map<UUID, Double> pendingCooldowns = new HashMap<>();
+    private static final List<LivingEntity> LANDING_TARGETS = new ArrayList<>();
 
-    // Delayed stuns (allow launch to complete then apply effects)
-    private static final class DelayedStun {
-        final float stunSeconds;
-        final Player source;
-        int ticksLeft;
-        DelayedStun(float s, Player src, int delayTicks) { stunSeconds = s; source = src; ticksLeft = delayTicks; }
+    /** Polls one jumping player each tick until they touch the ground again */
+    private static final class LandingCheck {
+        final ServerPlayer player;
+        boolean wasOnGround = true;
+
+        LandingCheck(ServerPlayer player) { this.player = player; }
+
+        boolean tick() {
+            if (player.isRemoved()) {
+                landingChecks.remove(player.getUUID());
+                pendingCooldowns.remove(player.getUUID());
+                return false;
+            }
+            boolean currentlyOnGround = player.onGround();
+            if (!wasOnGround && currentlyOnGround) {
+                landingChecks.remove(player.getUUID());
+                handleLanding(player);
+                return false;
+            }
+            wasOnGround = currentlyOnGround;
+            return true;
+        }
     }
-    private static final Map<UUID, DelayedStun> delayedStuns = new HashMap<>();
 
     public static void startJump(ServerPlayer serverPlayer) {
         UUID id = serverPlayer.getUUID();
 
-        synchronized (jumpingPlayers) {
-            // Prevent activating if already mid-jump
-            if (jumpingPlayers.getOrDefault(id, false)) return;
+        // Prevent activating if already mid-jump
+        TickScheduler.Task existing = landingChecks.get(id);
+        if (existing != null && existing.isActive()) return;
 
-            // Mark as jumping
-            jumpingPlayers.put(id, true);
-            wasOnGround.put(id, true);
+        // Set initial cooldown (will be refunded on landing if nothing was hit)
+        CooldownService.start(serverPlayer, SkillId.SEISMIC_SMASH);
+        // Store pending cooldown to know how much to refund if missed
+        pendingCooldowns.put(id, SKILL_COOLDOWN_SECONDS);
 
-            // Set initial cooldown in CooldownManager (will be adjusted on landing)
-            SeismicCooldownManager.setCooldown(serverPlayer, SKILL_COOLDOWN_SECONDS);
-            // Store pending cooldown to know how much to refund if missed
-            pendingCooldowns.put(id, SKILL_COOLDOWN_SECONDS);
-        }
+        LandingCheck check = new LandingCheck(serverPlayer);
+        landingChecks.put(id, TickScheduler.scheduleRepeating(serverPlayer, 1, 1, check::tick));
 
         // Apply upward movement
         serverPlayer.setDeltaMovement(
@@ -93,36 +110,11 @@ public class SeismicSmashManager {
         pendingCooldowns.put(player.getUUID(), seconds);
     }
 
-    // Should be registered to server tick events; kept static for simplicity.
     @SubscribeEvent
-    public static void onServerTick(TickEvent.ServerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) return;
-
-        // Landing checks
-        List<UUID> toProcess = new ArrayList<>();
-        synchronized (jumpingPlayers) {
-            toProcess.addAll(jumpingPlayers.keySet());
-        }
-        for (UUID uuid : toProcess) {
-            ServerPlayer player = getServerPlayer(uuid);
-            if (player == null) {
-                synchronized (jumpingPlayers) { jumpingPlayers.remove(uuid); wasOnGround.remove(uuid); pendingCooldowns.remove(uuid); }
-                continue;
-            }
-            boolean currentlyOnGround = player.onGround();
-            boolean previously = wasOnGround.getOrDefault(uuid, false);
-
-            if (!previously && currentlyOnGround && jumpingPlayers.getOrDefault(uuid, false)) {
-                // landed
-                handleLanding(player);
-                synchronized (jumpingPlayers) { jumpingPlayers.remove(uuid); wasOnGround.remove(uuid); }
-            } else {
-                wasOnGround.put(uuid, currentlyOnGround);
-            }
-        }
-
-        // Handle delayed stuns
-        handleDelayedStuns();
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        // The landing task itself is cancelled by TickScheduler
+        landingChecks.remove(event.getEntity().getUUID());
+        pendingCooldowns.remove(event.getEntity().getUUID());
     }
 
     private static void handleLanding(ServerPlayer player) {
@@ -131,14 +123,14 @@ public class SeismicSmashManager {
 
         player.fallDistance = 0f;
 
-        int combo = fighter.getCombo(player.getUUID());
+        int combo = ComboManager.getCombo(player);
         double damage = BASE_DAMAGE + combo + fighter.getBaseAttack() * ATTACK_SCALING;
 
         Level world = player.level();
         List<LivingEntity> targets = getNearbyEnemies(player, AOE_RADIUS);
 
         // Apply landing effects & sound
-        createLandingEffects(player);
+        createLandingEffects(player, targets);
         world.playSound(null, player.getX(), player.getY(), player.getZ(),
                 SoundEvents.GENERIC_EXPLODE, SoundSource.PLAYERS, 1.0f, 1.0f);
 
@@ -148,7 +140,10 @@ public class SeismicSmashManager {
         for (LivingEntity target : targets) {
             target.hurt(player.damageSources().playerAttack(player), (float) damage);
             target.setDeltaMovement(target.getDeltaMovement().x, 0.8, target.getDeltaMovement().z);
-            delayedStuns.put(target.getUUID(), new DelayedStun((float) stunSeconds, player, 2));
+            float stun = (float) stunSeconds;
+            TickScheduler.schedule(target, STUN_DELAY_TICKS, () -> {
+                if (target.isAlive()) applyFinalStunEffects(target, stun, player);
+            });
             addLaunchParticlesFor(target);
             hitAny = true;
         }
@@ -157,35 +152,12 @@ public class SeismicSmashManager {
         Double pending = pendingCooldowns.remove(player.getUUID());
         if (pending != null && !hitAny) {
             // refund 50% if missed
-            SeismicCooldownManager.refundCooldownPercent(player, COOLDOWN_REFUND_PERCENT);
-        }
-
-        // Remove player from jumping map
-        synchronized (jumpingPlayers) {
-            jumpingPlayers.remove(player.getUUID());
-            wasOnGround.remove(player.getUUID());
+            CooldownService.refundPercent(player, SkillId.SEISMIC_SMASH, COOLDOWN_REFUND_PERCENT);
         }
     }
 
 
 
-    private static void handleDelayedStuns() {
-        Iterator<Map.Entry<UUID, DelayedStun>> it = delayedStuns.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<UUID, DelayedStun> e = it.next();
-            DelayedStun ds = e.getValue();
-            ds.ticksLeft--;
-            if (ds.ticksLeft <= 0) {
-                it.remove();
-                LivingEntity target = findEntityByUUID(e.getKey());
-                if (target != null && target.isAlive()) {
-                    // apply stun effects
-                    applyFinalStunEffects(target, ds.stunSeconds, ds.source);
-                }
-            }
-        }
-    }
-
     private static void applyFinalStunEffects(LivingEntity target, float stunSeconds, Player source) {
         int ticks = Math.round(stunSeconds * 20f);
         target.addEffect(new MobEffectInstance(MobEffects.MOVEMENT_SLOWDOWN, ticks, 255, false, true));
@@ -204,7 +176,7 @@ public class SeismicSmashManager {
                 SoundEvents.ANVIL_LAND, SoundSource.NEUTRAL, 0.5f, 1.25f);
     }
 
-    private static void createLandingEffects(Player player) {
+    private static void createLandingEffects(Player player, List<LivingEntity> targets) {
         Level world = player.level();
 
         // Create ground impact particles
@@ -219,7 +191,6 @@ public class SeismicSmashManager {
         }
 
         // Stun effect particles around hit enemies
-        List<LivingEntity> targets = getNearbyEnemies(player, AOE_RADIUS);
         for (LivingEntity target : targets) {
             for (int i = 0; i < 5; i++) {
                 world.addParticle(ParticleTypes.ENCHANTED_HIT,
@@ -232,14 +203,9 @@ public class SeismicSmashManager {
     private static void addLaunchParticlesFor(LivingEntity e) {
         Level world = e.level();
         if (world instanceof ServerLevel serverLevel) {
-            for (int i = 0; i < 8; i++) {
-                double angle = i * Math.PI / 4;
-                double radius = 0.4;
-                double x = e.getX() + Math.cos(angle) * radius;
-                double z = e.getZ() + Math.sin(angle) * radius;
-                serverLevel.sendParticles(ParticleTypes.CLOUD, x, e.getY(), z, 2, 0, 0.1, 0, 0.05);
-            }
-            serverLevel.sendParticles(ParticleTypes.POOF, e.getX(), e.getY(), e.getZ(), 6, 0.2, 0.15, 0.2, 0.06);
+            FxDispatcher.send(serverLevel, FxPacket.ring(ParticleTypes.CLOUD, e.position(), 0.4, 16).speed(0.05));
+            FxDispatcher.send(serverLevel, FxPacket.point(ParticleTypes.POOF, e.position(), new Vec3(0.2, 0.15, 0.2), 6)
+                    .speed(0.06));
             e.level().playSound(null, e.getX(), e.getY(), e.getZ(), SoundEvents.SLIME_JUMP, SoundSource.NEUTRAL, 0.8f, 0.75f);
         }
     }
@@ -250,52 +216,17 @@ public class SeismicSmashManager {
         double cz = target.getZ();
         double radius = 0.6;
         // single-frame circle + center glows; a repeating animation could be added by scheduling ticks.
-        for (int i = 0; i < 12; i++) {
-            double angle = i * Math.PI / 6;
-            double x = cx + Math.cos(angle) * radius;
-            double z = cz + Math.sin(angle) * radius;
-            ParticleOptions p = (i % 3 == 0) ? ParticleTypes.CRIT : (i % 3 == 1) ? ParticleTypes.ENCHANTED_HIT : ParticleTypes.ELECTRIC_SPARK;
-            serverLevel.sendParticles(p, x, cy, z, 1, 0, 0, 0, 0.1);
-        }
-        serverLevel.sendParticles(ParticleTypes.GLOW, cx, cy, cz, 3, 0.2, 0.2, 0.2, 0.04);
-    }
-
-    private static LivingEntity findEntityByUUID(UUID uuid) {
-        // try to locate entity across all loaded server levels
-        Optional<ServerLevel> maybe = Optional.empty();
-        try {
-            var server = net.minecraftforge.server.ServerLifecycleHooks.getCurrentServer();
-            if (server == null) return null;
-            for (Level lvl : server.getAllLevels()) {
-                if (lvl instanceof ServerLevel s) {
-                    Entity ent = s.getEntity(uuid);
-                    if (ent instanceof LivingEntity le) return le;
-                }
-            }
-        } catch (Exception ignored) {}
-        return null;
+        Vec3 center = new Vec3(cx, cy, cz);
+        FxDispatcher.send(serverLevel, FxPacket.ring(ParticleTypes.ENCHANTED_HIT, center, radius, 12).speed(0.1));
+        FxDispatcher.send(serverLevel, FxPacket.point(ParticleTypes.GLOW, center, new Vec3(0.2, 0.2, 0.2), 3).speed(0.04));
     }
 
-    private static List<LivingEntity> getNearbyEnemies(Player player, double radius) {
-        Level world = player.level();
-        AABB area = player.getBoundingBox().inflate(radius);
-
-        return world.getEntitiesOfClass(LivingEntity.class, area, e ->
-                e != player && e.isAlive()
-        );
+    /** Fills and returns the shared target buffer, valid until the next call */
+    private static List<LivingEntity> getNearbyEnemies(ServerPlayer player, double radius) {
+        return SpatialQueryCache.sphere(player.serverLevel(), player.position(), radius, LANDING_TARGETS, e -> e != player);
     }
 
 
-    private static ServerPlayer getServerPlayer(UUID uuid) {
-        try {
-            var server = net.minecraftforge.server.ServerLifecycleHooks.getCurrentServer();
-            if (server == null) return null;
-            return server.getPlayerList().getPlayer(uuid);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     private static Fighter getPrimaryFighterClass(Player player) {
         var cap = player.getCapability(net.pablo.rpgclasses.capability.PlayerClassProvider.PLAYER_CLASS_CAPABILITY).orElse(null);
         if (cap == null) return null;
@@ -0,0 +1,31 @@
+package net.pablo.rpgclasses.skills;
+
+/**
+ * Every active skill that has a cooldown. Saved and synced by ordinal, only append new entries.
+ */
+public enum SkillId {
+    SEISMIC_SMASH(25 * 20),
+    STORM_SURGE(40 * 20),
+    VERMILLION_LACERATION(50 * 20),
+    ARCANE_BRAND(30 * 20),
+    PHANTOM_STRIKE(35 * 20),
+    SPECTRAL_CHAINS(45 * 20);
+
+    private static final SkillId[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
+    private final int defaultCooldownTicks;
+
+    SkillId(int defaultCooldownTicks) {
+        this.defaultCooldownTicks = defaultCooldownTicks;
+    }
+
+    public int getDefaultCooldownTicks() {
+        return defaultCooldownTicks;
+    }
+
+    /** Null for ordinals this build doesn't know */
+    public static SkillId byOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < COUNT ? VALUES[ordinal] : null;
+    }
+}
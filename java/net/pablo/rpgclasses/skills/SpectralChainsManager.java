@@ -4,20 +4,23 @@ import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffectInstance;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.entity.projectile.Projectile;
 import net.minecraft.world.phys.Vec3;
-import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.EntityJoinLevelEvent;
 import net.minecraftforge.event.entity.ProjectileImpactEvent;
-import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.combat.HitContext;
 import net.pablo.rpgclasses.effect.ModEffects;
+import net.pablo.rpgclasses.network.FxDispatcher;
+import net.pablo.rpgclasses.network.FxPacket;
+import net.pablo.rpgclasses.utils.EntityHandle;
+import net.pablo.rpgclasses.utils.SpatialQueryCache;
+import net.pablo.rpgclasses.utils.TickHealthMonitor;
+import net.pablo.rpgclasses.utils.TickScheduler;
 
 import java.util.*;
 
@@ -36,9 +39,10 @@ public class SpectralChainsManager {
 
     // Config
     private static final int PROJECTILE_COUNT = 3;
-    private static final long EFFECT_DURATION_SOLO = 10_000; // 7s for anchor alone
-    private static final long EFFECT_DURATION_TWO = 8_000; // 5s when 2nd enemy hit
-    private static final long EFFECT_DURATION_THREE = 6_000; // 3s when 3rd enemy hit
+    private static final int EFFECT_DURATION_SOLO = 200; // 10s for anchor alone
+    private static final int EFFECT_DURATION_TWO = 160; // 8s when 2nd enemy hit
+    private static final int EFFECT_DURATION_THREE = 120; // 6s when 3rd enemy hit
+    private static final int CHAIN_PULSE_INTERVAL = 10; // beam redraw every 0.5s
 
     private static final float ANCHOR_SPEED_MULTIPLIER = 0.6f; // 30% slow
     private static final float BONUS_DAMAGE_MULTIPLIER = 0.20f; // +15% damage
@@ -48,16 +52,17 @@ public class SpectralChainsManager {
 
     private static final float EXPIRE_BURST_DAMAGE = 6.0f; // AOE damage on expire
     private static final double EXPIRE_BURST_RADIUS = 5.0; // blocks
+    private static final double IMPACT_SEARCH_RADIUS = 2.5; // fallback when the projectile has no direct hit
+
+    // Query buffers, filled by SpatialQueryCache
+    private static final List<LivingEntity> IMPACT_TARGETS = new ArrayList<>();
+    private static final List<LivingEntity> BURST_TARGETS = new ArrayList<>();
 
     // State
     private static final Map<UUID, AbilityState> activeAbilities = new HashMap<>();
     private static final Map<UUID, UUID> spectralProjectiles = new HashMap<>();
     private static final Map<UUID, ChainEffect> activeEffects = new HashMap<>();
 
-    // Visuals
-    private static final Map<UUID, List<ChainParticle>> activeChainParticles = new HashMap<>();
-    private static final Map<UUID, HaloTask> activeHalos = new HashMap<>();
-
     // ====== Inner Classes ======
     private static class AbilityState {
         final UUID ownerId;
@@ -71,27 +76,30 @@ public class SpectralChainsManager {
 
     private static class ChainEffect {
         final UUID ownerId;
-        UUID anchoredEnemyId;
-        final List<UUID> tetheredEnemyIds = new ArrayList<>();
-        long effectExpiry;
+        final EntityHandle<LivingEntity> anchor;
+        final List<EntityHandle<LivingEntity>> tethers = new ArrayList<>();
+        TickScheduler.Task expiryTask;
+        // Halos, beams and tether pull, all cancelled when the effect ends
+        final List<TickScheduler.Task> tasks = new ArrayList<>();
 
-        ChainEffect(UUID ownerId, UUID anchoredId, long currentTime) {
+        ChainEffect(UUID ownerId, LivingEntity anchor) {
             this.ownerId = ownerId;
-            this.anchoredEnemyId = anchoredId;
-            this.effectExpiry = currentTime + EFFECT_DURATION_SOLO;
+            this.anchor = EntityHandle.of(anchor, LivingEntity.class);
         }
 
-        void addTether(UUID enemyId) {
-            if (tetheredEnemyIds.size() < 2 && !tetheredEnemyIds.contains(enemyId)) {
-                tetheredEnemyIds.add(enemyId);
+        EntityHandle<LivingEntity> addTether(LivingEntity enemy) {
+            EntityHandle<LivingEntity> tether = EntityHandle.of(enemy, LivingEntity.class);
+            if (tethers.size() < 2 && !tethers.contains(tether)) {
+                tethers.add(tether);
             }
+            return tether;
         }
 
         int getTotalAffectedCount() {
-            return 1 + tetheredEnemyIds.size(); // anchor + tethers
+            return 1 + tethers.size(); // anchor + tethers
         }
 
-        long getDurationForCount(int count) {
+        int getDurationForCount(int count) {
             switch(count) {
                 case 1: return EFFECT_DURATION_SOLO;
                 case 2: return EFFECT_DURATION_TWO;
@@ -100,18 +108,27 @@ public class SpectralChainsManager {
             }
         }
 
-        void updateDuration(long currentTime) {
-            int count = getTotalAffectedCount();
-            long newDuration = getDurationForCount(count);
-            this.effectExpiry = currentTime + newDuration;
+        /** (Re)starts the expiry countdown for the current number of affected enemies */
+        int updateDuration() {
+            int duration = getDurationForCount(getTotalAffectedCount());
+            if (expiryTask != null) expiryTask.cancel();
+            expiryTask = TickScheduler.schedule((UUID) null, duration, () -> expireEffect(ownerId));
+            return duration;
+        }
+
+        boolean isCurrent() {
+            return activeEffects.get(ownerId) == this;
         }
 
         boolean isAnchored(UUID enemyId) {
-            return anchoredEnemyId != null && anchoredEnemyId.equals(enemyId);
+            return anchor.is(enemyId);
         }
 
         boolean isTethered(UUID enemyId) {
-            return tetheredEnemyIds.contains(enemyId);
+            for (EntityHandle<LivingEntity> tether : tethers) {
+                if (tether.is(enemyId)) return true;
+            }
+            return false;
         }
 
         boolean isAffected(UUID enemyId) {
@@ -120,62 +137,53 @@ public class SpectralChainsManager {
     }
 
     private static class ChainParticle {
-        final ServerLevel level;
-        final UUID anchorId;
-        final UUID tetherId;
-        int ticks = 0;
-
-        ChainParticle(ServerLevel level, UUID anchorId, UUID tetherId) {
-            this.level = level;
-            this.anchorId = anchorId;
-            this.tetherId = tetherId;
+        final EntityHandle<LivingEntity> anchorHandle;
+        final EntityHandle<LivingEntity> tetherHandle;
+        long pulses = 0;
+
+        ChainParticle(EntityHandle<LivingEntity> anchorHandle, EntityHandle<LivingEntity> tetherHandle) {
+            this.anchorHandle = anchorHandle;
+            this.tetherHandle = tetherHandle;
         }
 
         boolean tick() {
-            ticks++;
-            if (ticks % 10 != 0) return true; // pulse every 0.5s
-
-            LivingEntity anchor = getEntity(level, anchorId);
-            LivingEntity tether = getEntity(level, tetherId);
-            if (anchor == null || tether == null || !anchor.isAlive() || !tether.isAlive()) {
+            LivingEntity anchor = anchorHandle.getAlive();
+            LivingEntity tether = tetherHandle.getAlive();
+            if (anchor == null || tether == null || anchor.level() != tether.level()) {
                 return false;
             }
+            ServerLevel level = (ServerLevel) anchor.level();
 
             Vec3 start = anchor.position().add(0, anchor.getBbHeight() * 0.5, 0);
             Vec3 end = tether.position().add(0, tether.getBbHeight() * 0.5, 0);
-            Vec3 dir = end.subtract(start).normalize();
-            double distance = start.distanceTo(end);
 
             // Draw ghostly chain beam
-            for (double d = 0; d < distance; d += 0.5) {
-                Vec3 pos = start.add(dir.scale(d));
-                level.sendParticles(ParticleTypes.END_ROD, pos.x, pos.y, pos.z, 1, 0.02, 0.02, 0.02, 0.01);
-            }
+            FxDispatcher.send(level, start.add(end).scale(0.5),
+                    FxPacket.beam(ParticleTypes.END_ROD, start, end, 0.5).speed(0.01).flags(FxPacket.IMPORTANT));
 
-            // Subtle metallic clink sound
-            level.playSound(null, anchor.getX(), anchor.getY(), anchor.getZ(),
-                    SoundEvents.CHAIN_PLACE, SoundSource.PLAYERS, 0.3f, 1.5f);
+            // Subtle metallic clink sound, skipped on some pulses while the server is behind
+            if (TickHealthMonitor.getQuality().shouldPulse(pulses++)) {
+                level.playSound(null, anchor.getX(), anchor.getY(), anchor.getZ(),
+                        SoundEvents.CHAIN_PLACE, SoundSource.PLAYERS, 0.3f, 1.5f);
+            }
 
             return true;
         }
     }
 
     private static class HaloTask {
-        final ServerLevel level;
-        final UUID targetId;
-        long expiryTime;
-
-        HaloTask(ServerLevel level, UUID targetId, long expiryTime) {
-            this.level = level;
-            this.targetId = targetId;
-            this.expiryTime = expiryTime;
+        final EntityHandle<LivingEntity> targetHandle;
+
+        HaloTask(EntityHandle<LivingEntity> targetHandle) {
+            this.targetHandle = targetHandle;
         }
 
         boolean tick() {
-            if (System.currentTimeMillis() > expiryTime) return false;
-
-            LivingEntity target = getEntity(level, targetId);
-            if (target == null || !target.isAlive()) return false;
+            LivingEntity target = targetHandle.getAlive();
+            if (target == null) return false;
+            ServerLevel level = (ServerLevel) target.level();
+            // Keeps running while the server is behind, only the wisps are skipped
+            if (!TickHealthMonitor.getQuality().shouldPulse(level.getGameTime())) return true;
 
             double radius = target.getBbWidth() * 0.8;
             double yOffset = target.getBbHeight() * 0.6;
@@ -185,7 +193,8 @@ public class SpectralChainsManager {
             double z = target.getZ() + radius * Math.sin(angle);
 
             // Cyan soul wisps rotating around anchored target
-            level.sendParticles(ParticleTypes.SOUL_FIRE_FLAME, x, target.getY() + yOffset, z, 1, 0, 0.02, 0, 0.01);
+            FxDispatcher.send(level, FxPacket.point(ParticleTypes.SOUL_FIRE_FLAME, new Vec3(x, target.getY() + yOffset, z),
+                    new Vec3(0, 0.02, 0), 1).speed(0.01));
 
             return true;
         }
@@ -193,7 +202,7 @@ public class SpectralChainsManager {
 
     // ====== Activation ======
     public static void activate(Player player) {
-        if (SpectralChainsCooldownManager.isOnCooldown(player)) return;
+        if (CooldownService.isOnCooldown(player, SkillId.SPECTRAL_CHAINS)) return;
         UUID playerId = player.getUUID();
 
         activeAbilities.put(playerId, new AbilityState(playerId));
@@ -202,13 +211,8 @@ public class SpectralChainsManager {
         if (player.level() instanceof ServerLevel) {
             ServerLevel level = (ServerLevel) player.level();
             // Soul particle ring
-            for (int i = 0; i < 20; i++) {
-                double angle = (Math.PI * 2 * i) / 20;
-                double radius = 1.5;
-                double x = player.getX() + Math.cos(angle) * radius;
-                double z = player.getZ() + Math.sin(angle) * radius;
-                level.sendParticles(ParticleTypes.SOUL, x, player.getY() + 1, z, 1, 0, 0.1, 0, 0.05);
-            }
+            FxDispatcher.send(level, FxPacket.ring(ParticleTypes.SOUL, player.position().add(0, 1, 0), 1.5, 20)
+                    .speed(0.05));
             level.playSound(null, player.getX(), player.getY(), player.getZ(),
                     SoundEvents.ENCHANTMENT_TABLE_USE, SoundSource.PLAYERS, 0.8f, 1.2f);
         }
@@ -244,16 +248,13 @@ public class SpectralChainsManager {
         if (shooter.level() instanceof ServerLevel) {
             ServerLevel level = (ServerLevel) shooter.level();
             Vec3 pos = projectile.position();
-            for (int i = 0; i < 5; i++) {
-                level.sendParticles(ParticleTypes.ENCHANT,
-                        pos.x, pos.y, pos.z, 1, 0.1, 0.1, 0.1, 0.1);
-            }
+            FxDispatcher.send(level, FxPacket.point(ParticleTypes.ENCHANT, pos, new Vec3(0.1, 0.1, 0.1), 5).speed(0.1));
         }
 
         // End ability window if all projectiles used
         if (state.projectilesRemaining == 0) {
             activeAbilities.remove(shooterId);
-            SpectralChainsCooldownManager.setCooldown(shooter);
+            CooldownService.start(shooter, SkillId.SPECTRAL_CHAINS);
         }
     }
 
@@ -284,13 +285,9 @@ public class SpectralChainsManager {
 
         // If no direct hit, search nearby
         if (hitEntity == null) {
-            for (LivingEntity entity : level.getEntitiesOfClass(LivingEntity.class,
-                    projectile.getBoundingBox().inflate(2.0))) {
-                if (!entity.getUUID().equals(shooterId)) {
-                    hitEntity = entity;
-                    break;
-                }
-            }
+            SpatialQueryCache.sphere(level, projectile.position(), IMPACT_SEARCH_RADIUS, IMPACT_TARGETS,
+                    e -> !e.getUUID().equals(shooterId));
+            if (!IMPACT_TARGETS.isEmpty()) hitEntity = IMPACT_TARGETS.get(0);
         }
 
         if (hitEntity == null) return;
@@ -304,58 +301,47 @@ public class SpectralChainsManager {
     private static void applySpectralHit(Player shooter, LivingEntity target, ServerLevel level) {
         UUID shooterId = shooter.getUUID();
         UUID targetId = target.getUUID();
-        long now = System.currentTimeMillis();
 
         ChainEffect effect = activeEffects.get(shooterId);
 
         // First hit: Apply anchor
         if (effect == null) {
-            effect = new ChainEffect(shooterId, targetId, now);
+            effect = new ChainEffect(shooterId, target);
             activeEffects.put(shooterId, effect);
+            int duration = effect.updateDuration();
 
-            // Apply Chained effect to anchor (7s duration)
+            // Apply Chained effect to anchor
             target.addEffect(new MobEffectInstance(ModEffects.CHAINED.get(),
-                    (int)(EFFECT_DURATION_SOLO / 50), 0, false, true));
+                    duration, 0, false, true));
 
             // Anchor visuals: chains sink into ground + cyan soul wisps
             Vec3 pos = target.position();
-            for (int i = 0; i < 30; i++) {
-                double angle = (Math.PI * 2 * i) / 30;
-                double radius = target.getBbWidth();
-                double x = pos.x + Math.cos(angle) * radius;
-                double z = pos.z + Math.sin(angle) * radius;
-                level.sendParticles(ParticleTypes.SOUL_FIRE_FLAME, x, pos.y, z, 2, 0, 0, 0, 0.02);
-            }
+            FxDispatcher.send(level, FxPacket.ring(ParticleTypes.SOUL_FIRE_FLAME, pos, target.getBbWidth(), 60)
+                    .speed(0.02));
 
             // Ground chains particles
-            for (int i = 0; i < 12; i++) {
-                double angle = (Math.PI * 2 * i) / 12;
-                double radius = target.getBbWidth() * 1.2;
-                double x = pos.x + Math.cos(angle) * radius;
-                double z = pos.z + Math.sin(angle) * radius;
-                level.sendParticles(ParticleTypes.SMOKE, x, pos.y + 0.1, z, 3, 0, 0.05, 0, 0.01);
-            }
+            FxDispatcher.send(level, FxPacket.ring(ParticleTypes.SMOKE, pos.add(0, 0.1, 0), target.getBbWidth() * 1.2, 36)
+                    .speed(0.01));
 
-            // Start rotating halo
-            activeHalos.put(targetId, new HaloTask(level, targetId, effect.effectExpiry));
+            // Start rotating halo, runs until the effect ends or the anchor is gone
+            HaloTask halo = new HaloTask(effect.anchor);
+            effect.tasks.add(TickScheduler.scheduleRepeating(targetId, 1, 1, halo::tick));
 
             level.playSound(null, pos.x, pos.y, pos.z,
                     SoundEvents.CHAIN_BREAK, SoundSource.PLAYERS, 1.0f, 0.8f);
         }
         // Subsequent hits: Apply tether (max 2 tethers = 3 total with anchor)
-        else if (effect.tetheredEnemyIds.size() < 2 &&
+        else if (effect.tethers.size() < 2 &&
                 !effect.isAnchored(targetId) &&
                 !effect.isTethered(targetId)) {
 
-            effect.addTether(targetId);
+            EntityHandle<LivingEntity> tether = effect.addTether(target);
 
             // Update duration for all affected enemies
-            effect.updateDuration(now);
-            long newDuration = effect.effectExpiry - now;
-            int newDurationTicks = (int)(newDuration / 50);
+            int newDurationTicks = effect.updateDuration();
 
             // Reapply effect to anchor with new duration
-            LivingEntity anchor = getEntity(level, effect.anchoredEnemyId);
+            LivingEntity anchor = effect.anchor.get();
             if (anchor != null) {
                 anchor.removeEffect(ModEffects.CHAINED.get());
                 anchor.addEffect(new MobEffectInstance(ModEffects.CHAINED.get(),
@@ -367,9 +353,9 @@ public class SpectralChainsManager {
                     newDurationTicks, 0, false, true));
 
             // Update existing tethered enemies' duration
-            for (UUID otherId : effect.tetheredEnemyIds) {
-                if (otherId.equals(targetId)) continue; // Skip the one we just added
-                LivingEntity other = getEntity(level, otherId);
+            for (EntityHandle<LivingEntity> otherHandle : effect.tethers) {
+                if (otherHandle == tether) continue; // Skip the one we just added
+                LivingEntity other = otherHandle.get();
                 if (other != null) {
                     other.removeEffect(ModEffects.CHAINED.get());
                     other.addEffect(new MobEffectInstance(ModEffects.CHAINED.get(),
@@ -377,28 +363,20 @@ public class SpectralChainsManager {
                 }
             }
 
-            // Update halo expiry times
-            final ChainEffect finalEffect = effect;
-            activeHalos.forEach((uuid, halo) -> {
-                if (finalEffect.isAffected(uuid)) {
-                    halo.expiryTime = finalEffect.effectExpiry;
-                }
-            });
-
             // Create ghostly chain beam particles
-            UUID anchorId = effect.anchoredEnemyId;
-            activeChainParticles.computeIfAbsent(shooterId, k -> new ArrayList<>())
-                    .add(new ChainParticle(level, anchorId, targetId));
+            ChainParticle chain = new ChainParticle(effect.anchor, tether);
+            effect.tasks.add(TickScheduler.scheduleRepeating(targetId, CHAIN_PULSE_INTERVAL, CHAIN_PULSE_INTERVAL, chain::tick));
+
+            // Tether range is enforced every tick from the first tether on
+            if (effect.tethers.size() == 1) {
+                ChainEffect tetherEffect = effect;
+                effect.tasks.add(TickScheduler.scheduleRepeating((UUID) null, 1, 1, () -> applyTetherPull(tetherEffect)));
+            }
 
             // Tether application particles
             Vec3 pos = target.position();
-            for (int i = 0; i < 20; i++) {
-                double angle = (Math.PI * 2 * i) / 20;
-                double radius = target.getBbWidth() * 0.6;
-                double x = pos.x + Math.cos(angle) * radius;
-                double z = pos.z + Math.sin(angle) * radius;
-                level.sendParticles(ParticleTypes.ENCHANT, x, pos.y + target.getBbHeight() * 0.5, z, 1, 0, 0, 0, 0.02);
-            }
+            FxDispatcher.send(level, FxPacket.ring(ParticleTypes.ENCHANT, pos.add(0, target.getBbHeight() * 0.5, 0),
+                    target.getBbWidth() * 0.6, 20).speed(0.02));
 
             level.playSound(null, pos.x, pos.y, pos.z,
                     SoundEvents.CHAIN_PLACE, SoundSource.PLAYERS, 0.8f, 1.2f);
@@ -406,46 +384,28 @@ public class SpectralChainsManager {
     }
 
     // ====== Damage Amplification ======
-    @SubscribeEvent
-    public static void onLivingHurt(LivingHurtEvent event) {
-        if (!(event.getSource().getEntity() instanceof Player)) return;
-        Player attacker = (Player) event.getSource().getEntity();
+    /** Hurt pipeline step for Ranger attackers, see CombatDispatcher */
+    public static float amplifyDamage(HitContext hit, float amount) {
+        Player attacker = hit.getAttacker();
+        LivingEntity target = hit.getVictim();
 
-        if (!(event.getEntity() instanceof LivingEntity)) return;
-        LivingEntity target = (LivingEntity) event.getEntity();
-
-        UUID attackerId = attacker.getUUID();
-        UUID targetId = target.getUUID();
-
-        ChainEffect effect = activeEffects.get(attackerId);
-        if (effect == null) return;
-
-        long now = System.currentTimeMillis();
-        if (now > effect.effectExpiry) {
-            expireEffect(attackerId);
-            return;
-        }
+        ChainEffect effect = activeEffects.get(attacker.getUUID());
+        if (effect == null) return amount;
 
         // Only amplify ranged damage (projectiles, spells)
-        if (!isRangedDamage(event.getSource())) return;
+        if (!hit.isRanged()) return amount;
 
         // Anchored target takes +15% bonus damage
-        if (effect.isAnchored(targetId)) {
-            float baseDamage = event.getAmount();
+        if (effect.isAnchored(target.getUUID())) {
+            float baseDamage = amount;
             float bonusDamage = baseDamage * BONUS_DAMAGE_MULTIPLIER;
-            event.setAmount(baseDamage + bonusDamage);
 
             // Ripple effect along chains
             if (attacker.level() instanceof ServerLevel) {
                 ServerLevel level = (ServerLevel) attacker.level();
                 Vec3 pos = target.position();
-                for (int i = 0; i < 15; i++) {
-                    double angle = (Math.PI * 2 * i) / 15;
-                    double radius = 0.8;
-                    double x = pos.x + Math.cos(angle) * radius;
-                    double z = pos.z + Math.sin(angle) * radius;
-                    level.sendParticles(ParticleTypes.CRIT, x, pos.y + target.getBbHeight() * 0.5, z, 1, 0, 0.1, 0, 0.05);
-                }
+                FxDispatcher.send(level, FxPacket.ring(ParticleTypes.CRIT, pos.add(0, target.getBbHeight() * 0.5, 0), 0.8, 15)
+                        .speed(0.05));
                 // Metallic clink on bonus damage
                 level.playSound(null, pos.x, pos.y, pos.z,
                         SoundEvents.CHAIN_HIT, SoundSource.PLAYERS, 0.5f, 1.5f);
@@ -455,76 +415,48 @@ public class SpectralChainsManager {
             float sharedDamage = bonusDamage * TETHER_DAMAGE_SHARE;
             if (attacker.level() instanceof ServerLevel) {
                 ServerLevel level = (ServerLevel) attacker.level();
-                for (UUID tetheredId : effect.tetheredEnemyIds) {
-                    LivingEntity tethered = getEntity(level, tetheredId);
-                    if (tethered != null && tethered.isAlive()) {
+                for (EntityHandle<LivingEntity> tether : effect.tethers) {
+                    LivingEntity tethered = tether.getAlive();
+                    if (tethered != null && tethered.level() == level) {
                         tethered.hurt(attacker.damageSources().playerAttack(attacker), sharedDamage);
 
                         // Shared damage indicator particles
                         Vec3 tPos = tethered.position();
-                        for (int i = 0; i < 8; i++) {
-                            level.sendParticles(ParticleTypes.DAMAGE_INDICATOR,
-                                    tPos.x, tPos.y + tethered.getBbHeight() * 0.5, tPos.z, 1, 0.2, 0.2, 0.2, 0.1);
-                        }
+                        FxDispatcher.send(level, FxPacket.point(ParticleTypes.DAMAGE_INDICATOR,
+                                tPos.add(0, tethered.getBbHeight() * 0.5, 0), new Vec3(0.2, 0.2, 0.2), 8).speed(0.1));
                     }
                 }
             }
+            return baseDamage + bonusDamage;
         }
+        return amount;
     }
 
-    // ====== Tick Loop ======
-    @SubscribeEvent
-    public static void onServerTick(TickEvent.ServerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) return;
-
-        long now = System.currentTimeMillis();
-
-        // Clean up expired effects
-        List<UUID> expiredEffects = new ArrayList<>();
-        for (Map.Entry<UUID, ChainEffect> entry : activeEffects.entrySet()) {
-            if (now > entry.getValue().effectExpiry) {
-                expiredEffects.add(entry.getKey());
-            }
-        }
-        for (UUID ownerId : expiredEffects) {
-            expireEffect(ownerId);
-        }
-
-        // Tick chain particles (ghostly beams between anchor and tethered)
-        for (List<ChainParticle> particles : activeChainParticles.values()) {
-            particles.removeIf(p -> !p.tick());
-        }
-        activeChainParticles.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    // ====== Tether Pull ======
+    private static boolean applyTetherPull(ChainEffect effect) {
+        if (!effect.isCurrent()) return false;
 
-        // Tick halos (rotating cyan wisps around anchored)
-        activeHalos.entrySet().removeIf(entry -> !entry.getValue().tick());
+        // Anchor killed, nothing left to pull towards
+        if (effect.anchor.isGone()) return false;
+        LivingEntity anchor = effect.anchor.getAlive();
+        if (anchor == null) return true;
 
-        // Apply movement constraints
-        for (ChainEffect effect : activeEffects.values()) {
-            if (effect.anchoredEnemyId == null) continue;
+        for (EntityHandle<LivingEntity> tether : effect.tethers) {
+            LivingEntity tethered = tether.getAlive();
+            if (tethered == null || tethered.level() != anchor.level()) continue;
 
-            for (ServerLevel serverLevel : net.minecraftforge.server.ServerLifecycleHooks.getCurrentServer().getAllLevels()) {
-                LivingEntity anchor = getEntity(serverLevel, effect.anchoredEnemyId);
-                if (anchor == null || !anchor.isAlive()) continue;
+            double distance = anchor.position().distanceTo(tethered.position());
 
-                // Handle tethered enemies
-                for (UUID tetheredId : effect.tetheredEnemyIds) {
-                    LivingEntity tethered = getEntity(serverLevel, tetheredId);
-                    if (tethered == null || !tethered.isAlive()) continue;
-
-                    double distance = anchor.position().distanceTo(tethered.position());
-
-                    // Enforce tether range: pull if too far
-                    if (distance > TETHER_RANGE) {
-                        Vec3 direction = anchor.position().subtract(tethered.position()).normalize();
-                        double pullAmount = (distance - TETHER_RANGE) * TETHER_PULL_STRENGTH;
-                        Vec3 pullVector = direction.scale(pullAmount);
-                        tethered.setDeltaMovement(tethered.getDeltaMovement().add(pullVector));
-                        tethered.hurtMarked = true;
-                    }
-                }
+            // Enforce tether range: pull if too far
+            if (distance > TETHER_RANGE) {
+                Vec3 direction = anchor.position().subtract(tethered.position()).normalize();
+                double pullAmount = (distance - TETHER_RANGE) * TETHER_PULL_STRENGTH;
+                Vec3 pullVector = direction.scale(pullAmount);
+                tethered.setDeltaMovement(tethered.getDeltaMovement().add(pullVector));
+                tethered.hurtMarked = true;
             }
         }
+        return true;
     }
 
     // ====== Effect Expiration ======
@@ -532,125 +464,80 @@ public class SpectralChainsManager {
         ChainEffect effect = activeEffects.remove(ownerId);
         if (effect == null) return;
 
-        // Get the player who owns this effect
-        Player owner = null;
-        for (ServerLevel serverLevel : net.minecraftforge.server.ServerLifecycleHooks.getCurrentServer().getAllLevels()) {
-            owner = serverLevel.getServer().getPlayerList().getPlayer(ownerId);
-            if (owner != null) break;
-        }
-
-        // Shatter particles and AOE burst on expiration
-        for (ServerLevel serverLevel : net.minecraftforge.server.ServerLifecycleHooks.getCurrentServer().getAllLevels()) {
-            // Anchor shatter + AOE burst
-            LivingEntity anchor = getEntity(serverLevel, effect.anchoredEnemyId);
-            if (anchor != null) {
-                Vec3 pos = anchor.position();
-
-                // Explosive shatter particles
-                for (int i = 0; i < 50; i++) {
-                    double angle = (Math.PI * 2 * i) / 50;
-                    double radius = 1.5;
-                    double vx = Math.cos(angle) * 0.3;
-                    double vz = Math.sin(angle) * 0.3;
-                    serverLevel.sendParticles(ParticleTypes.SOUL_FIRE_FLAME,
-                            pos.x + vx, pos.y + 0.5, pos.z + vz, 1, vx, 0.1, vz, 0.2);
-                }
-
-                // Shockwave ring
-                for (int i = 0; i < 30; i++) {
-                    double angle = (Math.PI * 2 * i) / 30;
-                    double radius = EXPIRE_BURST_RADIUS * 0.8;
-                    double x = pos.x + Math.cos(angle) * radius;
-                    double z = pos.z + Math.sin(angle) * radius;
-                    serverLevel.sendParticles(ParticleTypes.POOF, x, pos.y + 0.2, z, 3, 0, 0.1, 0, 0.05);
-                }
+        // Stop visuals and tether pull
+        if (effect.expiryTask != null) effect.expiryTask.cancel();
+        effect.tasks.forEach(TickScheduler.Task::cancel);
 
-                // AOE Damage
-                for (LivingEntity nearbyEntity : serverLevel.getEntitiesOfClass(LivingEntity.class,
-                        anchor.getBoundingBox().inflate(EXPIRE_BURST_RADIUS))) {
-                    if (nearbyEntity.getUUID().equals(ownerId)) continue; // Don't damage the caster
-
-                    double distance = anchor.position().distanceTo(nearbyEntity.position());
-                    if (distance <= EXPIRE_BURST_RADIUS) {
-                        // Apply damage (with falloff based on distance)
-                        float damageMultiplier = 1.0f - (float)(distance / EXPIRE_BURST_RADIUS) * 0.5f;
-                        float finalDamage = EXPIRE_BURST_DAMAGE * damageMultiplier;
-
-                        if (owner != null) {
-                            nearbyEntity.hurt(owner.damageSources().playerAttack(owner), finalDamage);
-                        } else {
-                            nearbyEntity.hurt(serverLevel.damageSources().magic(), finalDamage);
-                        }
-
-                        // Knockback away from anchor
-                        Vec3 knockbackDir = nearbyEntity.position().subtract(anchor.position()).normalize();
-                        nearbyEntity.setDeltaMovement(nearbyEntity.getDeltaMovement().add(knockbackDir.scale(0.3)));
-                        nearbyEntity.hurtMarked = true;
-                    }
+        // Get the player who owns this effect
+        Player owner = net.minecraftforge.server.ServerLifecycleHooks.getCurrentServer().getPlayerList().getPlayer(ownerId);
+
+        // Anchor shatter + AOE burst, in whatever level the anchor is in now
+        LivingEntity anchor = effect.anchor.get();
+        if (anchor != null) {
+            ServerLevel serverLevel = (ServerLevel) anchor.level();
+            Vec3 pos = anchor.position();
+
+            // Explosive shatter particles
+            FxDispatcher.send(serverLevel, FxPacket.ring(ParticleTypes.SOUL_FIRE_FLAME, pos.add(0, 0.5, 0), 0.3, 50)
+                    .speed(0.2));
+
+            // Shockwave ring
+            FxDispatcher.send(serverLevel, FxPacket.ring(ParticleTypes.POOF, pos.add(0, 0.2, 0), EXPIRE_BURST_RADIUS * 0.8, 90)
+                    .speed(0.05).flags(FxPacket.IMPORTANT));
+
+            // AOE Damage
+            SpatialQueryCache.sphere(serverLevel, anchor.position(), EXPIRE_BURST_RADIUS, BURST_TARGETS,
+                    e -> !e.getUUID().equals(ownerId)); // Don't damage the caster
+            for (LivingEntity nearbyEntity : BURST_TARGETS) {
+                double distance = anchor.position().distanceTo(nearbyEntity.position());
+                // Apply damage (with falloff based on distance)
+                float damageMultiplier = 1.0f - (float)(distance / EXPIRE_BURST_RADIUS) * 0.5f;
+                float finalDamage = EXPIRE_BURST_DAMAGE * damageMultiplier;
+
+                if (owner != null) {
+                    nearbyEntity.hurt(owner.damageSources().playerAttack(owner), finalDamage);
+                } else {
+                    nearbyEntity.hurt(serverLevel.damageSources().magic(), finalDamage);
                 }
 
-                serverLevel.playSound(null, pos.x, pos.y, pos.z,
-                        SoundEvents.GENERIC_EXPLODE, SoundSource.PLAYERS, 0.6f, 1.3f);
+                // Knockback away from anchor
+                Vec3 knockbackDir = nearbyEntity.position().subtract(anchor.position()).normalize();
+                nearbyEntity.setDeltaMovement(nearbyEntity.getDeltaMovement().add(knockbackDir.scale(0.3)));
+                nearbyEntity.hurtMarked = true;
             }
 
-            // Tether shatter (smaller bursts)
-            for (UUID tetheredId : effect.tetheredEnemyIds) {
-                LivingEntity tethered = getEntity(serverLevel, tetheredId);
-                if (tethered != null) {
-                    Vec3 pos = tethered.position();
-
-                    // Smaller shatter effect for tethered
-                    for (int i = 0; i < 30; i++) {
-                        double angle = (Math.PI * 2 * i) / 30;
-                        double vx = Math.cos(angle) * 0.2;
-                        double vz = Math.sin(angle) * 0.2;
-                        serverLevel.sendParticles(ParticleTypes.ENCHANT,
-                                pos.x + vx, pos.y + 0.5, pos.z + vz, 1, vx, 0.05, vz, 0.12);
-                    }
+            serverLevel.playSound(null, pos.x, pos.y, pos.z,
+                    SoundEvents.GENERIC_EXPLODE, SoundSource.PLAYERS, 0.6f, 1.3f);
+        }
 
-                    // Mini AOE damage around tethered enemies
-                    for (LivingEntity nearbyEntity : serverLevel.getEntitiesOfClass(LivingEntity.class,
-                            tethered.getBoundingBox().inflate(EXPIRE_BURST_RADIUS * 0.5))) {
-                        if (nearbyEntity.getUUID().equals(ownerId)) continue;
-                        if (nearbyEntity.getUUID().equals(tetheredId)) continue;
-
-                        double distance = tethered.position().distanceTo(nearbyEntity.position());
-                        if (distance <= EXPIRE_BURST_RADIUS * 0.5) {
-                            float damageMultiplier = 1.0f - (float)(distance / (EXPIRE_BURST_RADIUS * 0.5)) * 0.5f;
-                            float finalDamage = (EXPIRE_BURST_DAMAGE * 0.5f) * damageMultiplier;
-
-                            if (owner != null) {
-                                nearbyEntity.hurt(owner.damageSources().playerAttack(owner), finalDamage);
-                            } else {
-                                nearbyEntity.hurt(serverLevel.damageSources().magic(), finalDamage);
-                            }
-                        }
+        // Tether shatter (smaller bursts)
+        for (EntityHandle<LivingEntity> tether : effect.tethers) {
+            LivingEntity tethered = tether.get();
+            if (tethered != null) {
+                ServerLevel serverLevel = (ServerLevel) tethered.level();
+                UUID tetheredId = tethered.getUUID();
+                Vec3 pos = tethered.position();
+
+                // Smaller shatter effect for tethered
+                FxDispatcher.send(serverLevel, FxPacket.ring(ParticleTypes.ENCHANT, pos.add(0, 0.5, 0), 0.2, 30)
+                        .speed(0.12));
+
+                // Mini AOE damage around tethered enemies
+                SpatialQueryCache.sphere(serverLevel, tethered.position(), EXPIRE_BURST_RADIUS * 0.5, BURST_TARGETS,
+                        e -> !e.getUUID().equals(ownerId) && !e.getUUID().equals(tetheredId));
+                for (LivingEntity nearbyEntity : BURST_TARGETS) {
+                    double distance = tethered.position().distanceTo(nearbyEntity.position());
+                    float damageMultiplier = 1.0f - (float)(distance / (EXPIRE_BURST_RADIUS * 0.5)) * 0.5f;
+                    float finalDamage = (EXPIRE_BURST_DAMAGE * 0.5f) * damageMultiplier;
+
+                    if (owner != null) {
+                        nearbyEntity.hurt(owner.damageSources().playerAttack(owner), finalDamage);
+                    } else {
+                        nearbyEntity.hurt(serverLevel.damageSources().magic(), finalDamage);
                     }
                 }
             }
         }
-
-        // Clean up visuals
-        activeChainParticles.remove(ownerId);
-        if (effect.anchoredEnemyId != null) {
-            activeHalos.remove(effect.anchoredEnemyId);
-        }
-        for (UUID tetheredId : effect.tetheredEnemyIds) {
-            activeHalos.remove(tetheredId);
-        }
-    }
-
-    // ====== Helpers ======
-    private static boolean isRangedDamage(DamageSource source) {
-        // Check for projectile or spell damage
-        return source.isIndirect() ||
-                source instanceof io.redspace.ironsspellbooks.damage.SpellDamageSource;
-    }
-
-    private static LivingEntity getEntity(ServerLevel level, UUID id) {
-        if (id == null) return null;
-        Entity entity = level.getEntity(id);
-        return entity instanceof LivingEntity ? (LivingEntity) entity : null;
     }
 
     // ====== Query Methods (for UI/debugging) ======
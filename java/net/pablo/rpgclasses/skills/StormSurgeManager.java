@@ -1,5 +1,6 @@
 package net.pablo.rpgclasses.skills;
 
+import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
@@ -11,11 +12,16 @@ import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.Vec3;
-import net.minecraftforge.event.TickEvent;
-import net.minecraftforge.event.entity.living.LivingHurtEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.combat.HitContext;
+import net.pablo.rpgclasses.network.FxDispatcher;
+import net.pablo.rpgclasses.network.FxPacket;
+import net.pablo.rpgclasses.utils.SpatialQueryCache;
+import net.pablo.rpgclasses.utils.TickHealthMonitor;
+import net.pablo.rpgclasses.utils.TickScheduler;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,9 +31,9 @@ public class StormSurgeManager {
 
     // Constants
     public static final int DURATION_TICKS = 100; // 5 seconds
-    public static final double COOLDOWN_SECONDS = 40.0;
     private static final double ARMOR_BUFF = 10.0;
     private static final double MOVEMENT_SLOW_MULTIPLIER = -0.5;
+    private static final double UNDAMAGED_REFUND_PERCENT = 0.6;
 
     // Shockwave params
     private static final double SHOCKWAVE_MAX_RADIUS = 5.0;
@@ -49,6 +55,7 @@ public class StormSurgeManager {
     private static final Map<UUID, StormSurgeData> activeStormSurgePlayers = new ConcurrentHashMap<>();
     private static final Map<UUID, Map<UUID, Double>> damageReceived = new ConcurrentHashMap<>();
     private static final Map<UUID, ShockwaveData> activeShockwaves = new ConcurrentHashMap<>();
+    private static final List<LivingEntity> RING_TARGETS = new ArrayList<>();
 
     /** Data class for tracking stormbound state */
     private static class StormSurgeData {
@@ -81,7 +88,7 @@ public class StormSurgeManager {
     public static void startStormSurge(ServerPlayer player) {
         UUID playerId = player.getUUID();
 
-        if (StormCooldownManager.isOnCooldown(player) || isStormSurgeActive(player) || isShockwaveActive(player)){
+        if (CooldownService.isOnCooldown(player, SkillId.STORM_SURGE) || isStormSurgeActive(player) || isShockwaveActive(player)){
             return;
         }
 
@@ -97,11 +104,17 @@ public class StormSurgeManager {
         player.level().playSound(null, player.getX(), player.getY(), player.getZ(),
                 SoundEvents.BEACON_ACTIVATE, SoundSource.PLAYERS, 1.0f, 0.8f);
 
-        // Initialize damage tracking
+        // Initialize damage tracking, taking damage cancels the cooldown refund
         damageReceived.put(playerId, new HashMap<>());
+        CooldownService.beginDamageWindow(player, SkillId.STORM_SURGE);
 
-        // Store active state
+        // Store active state, Stormbound ends on its own after DURATION_TICKS
         activeStormSurgePlayers.put(playerId, new StormSurgeData(playerId, player.level().getGameTime()));
+        TickScheduler.schedule(player, DURATION_TICKS, () -> {
+            // Look the player up again in case they respawned meanwhile
+            ServerPlayer current = player.server.getPlayerList().getPlayer(playerId);
+            if (current != null) endStormSurge(current);
+        });
     }
 
     /** Apply buffs */
@@ -130,18 +143,14 @@ public class StormSurgeManager {
         player.getAttribute(Attributes.KNOCKBACK_RESISTANCE).removeModifier(KNOCKBACK_RESISTANCE_UUID);
     }
 
-    @SubscribeEvent
-    public static void onPlayerHurt(LivingHurtEvent event) {
-        if (event.getEntity() instanceof Player player && isStormSurgeActive(player)) {
-            LivingEntity attacker = null;
-            if (event.getSource().getEntity() instanceof LivingEntity livingAttacker) {
-                attacker = livingAttacker;
-            }
-            if (attacker != null) {
-                recordDamage(player, event.getAmount(), attacker);
-                StormCooldownManager.markDamageTaken(player);
-            }
+    /** Hurt pipeline observer for Tank victims, see CombatDispatcher */
+    public static float onHurt(HitContext hit, float amount) {
+        Player player = hit.getVictimPlayer();
+        if (isStormSurgeActive(player) && hit.getSourceEntity() instanceof LivingEntity attacker) {
+            recordDamage(player, amount, attacker);
+            CooldownService.markDamageTaken(player, SkillId.STORM_SURGE);
         }
+        return amount;
     }
 
     /** Record damage */
@@ -164,11 +173,11 @@ public class StormSurgeManager {
         // Remove buffs
         removeStormSurgeEffects(player);
 
-        // Handle cooldown with refund logic (sets cooldown internally)
-        StormCooldownManager.onStormSurgeEnd(player);
+        // Full cooldown if damaged, 60% refund otherwise (16s instead of 40s)
+        boolean damaged = CooldownService.startWithDamageRefund(player, SkillId.STORM_SURGE, UNDAMAGED_REFUND_PERCENT);
 
         // Shockwave at end (only if damage was taken)
-        if (StormCooldownManager.tookDamage(player) && player.level() instanceof ServerLevel serverLevel) {
+        if (damaged && player.level() instanceof ServerLevel serverLevel) {
             spawnShockwave(serverLevel, player);
         }
 
@@ -189,16 +198,17 @@ public class StormSurgeManager {
         level.playSound(null, player.getX(), player.getY(), player.getZ(),
                 SoundEvents.LIGHTNING_BOLT_THUNDER, SoundSource.PLAYERS, 2.0f, 0.5f);
 
-        // Start shockwave animation
-        activeShockwaves.put(player.getUUID(), new ShockwaveData(player.getUUID(), scaledDamage, level.getGameTime()));
+        // Start shockwave animation, the ring grows one step per tick
+        ShockwaveData shockwaveData = new ShockwaveData(player.getUUID(), scaledDamage, level.getGameTime());
+        activeShockwaves.put(player.getUUID(), shockwaveData);
+        TickScheduler.scheduleRepeating(player, 1, 1, () -> updateShockwave(level, player, shockwaveData));
     }
 
-    /** Update shockwave expansion */
-    private static void updateShockwave(ServerLevel level, Player player, ShockwaveData shockwaveData) {
+    /** Update shockwave expansion, returns false once it's done */
+    private static boolean updateShockwave(ServerLevel level, Player player, ShockwaveData shockwaveData) {
         if (shockwaveData.radius >= SHOCKWAVE_MAX_RADIUS) {
             activeShockwaves.remove(player.getUUID());
-
-            return;
+            return false;
         }
 
         // Create custom damage source from player
@@ -206,55 +216,51 @@ public class StormSurgeManager {
 
         double currentRadius = shockwaveData.radius;
 
-        // Spawn particles in a circle
-        for (double angle = 0; angle < 2 * Math.PI; angle += Math.PI / 8) {
-            double x = player.getX() + currentRadius * Math.cos(angle);
-            double z = player.getZ() + currentRadius * Math.sin(angle);
-            double y = player.getY() + 0.5;
-
-            level.sendParticles(net.minecraft.core.particles.ParticleTypes.ELECTRIC_SPARK,
-                    x, y, z, 3, 0.1, 0.1, 0.1, 0.05);
-        }
+        // Spark ring marking where the wave hits this tick
+        FxDispatcher.send(level, FxPacket.ring(ParticleTypes.ELECTRIC_SPARK, player.position().add(0, 0.5, 0), currentRadius, 48)
+                .speed(0.05).flags(FxPacket.IMPORTANT));
 
         // Damage and knockback at the current ring
         if (currentRadius > 0) {
-            List<LivingEntity> entities = level.getEntitiesOfClass(LivingEntity.class,
-                    player.getBoundingBox().inflate(currentRadius + 0.5));
-
-            for (LivingEntity entity : entities) {
-                if (entity == player || !entity.isAlive()) continue;
-
-                double distance = entity.distanceTo(player);
-                if (distance <= currentRadius + 0.5 && distance >= currentRadius - 0.5) {
-                    // Apply knockback
-                    Vec3 direction = entity.position().subtract(player.position()).normalize();
-                    entity.setDeltaMovement(
-                            direction.x * SHOCKWAVE_KNOCKBACK,
-                            Math.min(0.7, SHOCKWAVE_KNOCKBACK * 0.3),
-                            direction.z * SHOCKWAVE_KNOCKBACK
-                    );
-
-                    // Apply damage directly from player
-                    entity.hurt(shockwaveDamage, shockwaveData.damage);
-
-                    // Play hit sound
-                    level.playSound(null, entity.getX(), entity.getY(), entity.getZ(),
-                            SoundEvents.LIGHTNING_BOLT_IMPACT, SoundSource.PLAYERS, 0.3f, 1.2f);
-                }
+            SpatialQueryCache.annulus(level, player.position(), currentRadius - 0.5, currentRadius + 0.5,
+                    RING_TARGETS, e -> e != player);
+
+            for (LivingEntity entity : RING_TARGETS) {
+                // Apply knockback
+                Vec3 direction = entity.position().subtract(player.position()).normalize();
+                entity.setDeltaMovement(
+                        direction.x * SHOCKWAVE_KNOCKBACK,
+                        Math.min(0.7, SHOCKWAVE_KNOCKBACK * 0.3),
+                        direction.z * SHOCKWAVE_KNOCKBACK
+                );
+
+                // Apply damage directly from player
+                entity.hurt(shockwaveDamage, shockwaveData.damage);
+
+                // Play hit sound
+                level.playSound(null, entity.getX(), entity.getY(), entity.getZ(),
+                        SoundEvents.LIGHTNING_BOLT_IMPACT, SoundSource.PLAYERS, 0.3f, 1.2f);
             }
         }
 
         // Increase radius for next tick
         shockwaveData.radius += SHOCKWAVE_STEP;
+        return true;
     }
 
-    /** Spawn visual lightning on player */
+    /** Spawn visual lightning on player, a spark column instead of a bolt entity while the server is behind */
     private static void spawnVisualLightning(ServerLevel serverLevel, LivingEntity target) {
-        LightningBolt lightning = new LightningBolt(net.minecraft.world.entity.EntityType.LIGHTNING_BOLT, serverLevel);
-        lightning.moveTo(target.getX(), target.getY(), target.getZ());
-        lightning.setVisualOnly(true);
-        lightning.setCause(null);
-        serverLevel.addFreshEntity(lightning);
+        if (TickHealthMonitor.isFull()) {
+            LightningBolt lightning = new LightningBolt(net.minecraft.world.entity.EntityType.LIGHTNING_BOLT, serverLevel);
+            lightning.moveTo(target.getX(), target.getY(), target.getZ());
+            lightning.setVisualOnly(true);
+            lightning.setCause(null);
+            serverLevel.addFreshEntity(lightning);
+        } else {
+            Vec3 base = target.position();
+            FxDispatcher.send(serverLevel, FxPacket.line(ParticleTypes.ELECTRIC_SPARK, base.add(0, 8, 0), base, 24)
+                    .speed(0.1));
+        }
 
         // Play lightning sound
         serverLevel.playSound(null, target.getX(), target.getY(), target.getZ(),
@@ -280,27 +286,12 @@ public class StormSurgeManager {
         return Math.max(0, DURATION_TICKS - (int) elapsed);
     }
 
-    /** Tick handler */
+    /** Scheduled end and shockwave tasks are cancelled by TickScheduler, drop the state with them */
     @SubscribeEvent
-    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) return;
-        Player player = event.player;
-
-        // Handle shockwave animation
-        if (isShockwaveActive(player)) {
-            ShockwaveData shockwaveData = activeShockwaves.get(player.getUUID());
-            if (player.level() instanceof ServerLevel serverLevel) {
-                updateShockwave(serverLevel, player, shockwaveData);
-            }
-            return;
-        }
-
-        // Handle normal stormbound duration
-        if (isStormSurgeActive(player)) {
-            int remaining = getRemainingDuration(player);
-            if (remaining <= 0) {
-                endStormSurge(player);
-            }
-        }
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        UUID playerId = event.getEntity().getUUID();
+        activeStormSurgePlayers.remove(playerId);
+        activeShockwaves.remove(playerId);
+        damageReceived.remove(playerId);
     }
 }
\ No newline at end of file
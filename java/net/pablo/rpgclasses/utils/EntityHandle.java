@@ -0,0 +1,182 @@
+package net.pablo.rpgclasses.utils;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import net.pablo.rpgclasses.RpgClassesMod;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reference to an entity held by skill state instead of a bare UUID.
+ *
+ * Remembers the level and int entity id it was last found at, so resolving is a single
+ * id lookup in that level. When the entity leaves its level for a while (unload, dimension
+ * change) the cached location is dropped and get() searches all levels by UUID until it turns
+ * up again. When it's removed for good (killed, discarded) the handle is marked gone and get()
+ * returns null without searching. Players are never gone, respawning keeps their UUID.
+ * Server thread only.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public final class EntityHandle<T extends Entity> {
+
+    // Handles with a cached location, so leave events can invalidate them. A handle that lost its
+    // slot here to one of another type still checks the UUID on every get(), so it can't go stale.
+    private static final Map<UUID, EntityHandle<?>> bound = new HashMap<>();
+
+    // Counters for /rpgdebug entitybench
+    private static long fastHits = 0;
+    private static long slowLookups = 0;
+    private static long invalidations = 0;
+
+    private final UUID uuid;
+    private final Class<T> type;
+    @Nullable private ServerLevel level;
+    private int id = -1;
+    private boolean gone = false;
+
+    private EntityHandle(UUID uuid, Class<T> type) {
+        this.uuid = uuid;
+        this.type = type;
+    }
+
+    /** Shares the handle already bound to this entity, so one leave event invalidates every holder */
+    @SuppressWarnings("unchecked")
+    public static <T extends Entity> EntityHandle<T> of(T entity, Class<T> type) {
+        EntityHandle<?> existing = bound.get(entity.getUUID());
+        if (existing != null && existing.type == type) return (EntityHandle<T>) existing;
+
+        EntityHandle<T> handle = new EntityHandle<>(entity.getUUID(), type);
+        if (entity.level() instanceof ServerLevel serverLevel) handle.bind(serverLevel, entity);
+        return handle;
+    }
+
+    /** Handle for an entity only known by UUID, located on the first get() */
+    public static <T extends Entity> EntityHandle<T> of(UUID uuid, Class<T> type) {
+        return new EntityHandle<>(uuid, type);
+    }
+
+    public UUID getUUID() {
+        return uuid;
+    }
+
+    public boolean is(Entity entity) {
+        return entity.getUUID().equals(uuid);
+    }
+
+    public boolean is(UUID other) {
+        return uuid.equals(other);
+    }
+
+    /** The entity if it is loaded in any level and of the handle's type, else null */
+    @Nullable
+    public T get() {
+        if (gone) return null;
+        if (level != null) {
+            Entity entity = level.getEntity(id);
+            if (entity != null && entity.getUUID().equals(uuid)) {
+                if (!entity.isRemoved()) {
+                    fastHits++;
+                    return type.isInstance(entity) ? type.cast(entity) : null;
+                }
+                if (removedForGood(entity)) {
+                    markGone();
+                    return null;
+                }
+            }
+            unbind();
+        }
+
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) return null;
+        slowLookups++;
+        for (ServerLevel serverLevel : server.getAllLevels()) {
+            Entity entity = serverLevel.getEntity(uuid);
+            if (entity != null && !entity.isRemoved()) {
+                bind(serverLevel, entity);
+                return type.isInstance(entity) ? type.cast(entity) : null;
+            }
+        }
+        return null;
+    }
+
+    /** Like get(), but only if the entity is also alive */
+    @Nullable
+    public T getAlive() {
+        T entity = get();
+        return entity != null && entity.isAlive() ? entity : null;
+    }
+
+    private void bind(ServerLevel serverLevel, Entity entity) {
+        level = serverLevel;
+        id = entity.getId();
+        bound.put(uuid, this);
+    }
+
+    /** Killed or discarded, it won't come back under this UUID */
+    private static boolean removedForGood(Entity entity) {
+        Entity.RemovalReason reason = entity.getRemovalReason();
+        return reason != null && reason.shouldDestroy() && !(entity instanceof Player);
+    }
+
+    private void markGone() {
+        unbind();
+        gone = true;
+    }
+
+    /** Removed for good, get() will only ever return null */
+    public boolean isGone() {
+        return gone;
+    }
+
+    private void unbind() {
+        level = null;
+        id = -1;
+        if (bound.get(uuid) == this) bound.remove(uuid);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EntityHandle<?> other && other.uuid.equals(uuid);
+    }
+
+    @Override
+    public int hashCode() {
+        return uuid.hashCode();
+    }
+
+    // ------------------ INVALIDATION ------------------
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() || bound.isEmpty()) return;
+        EntityHandle<?> handle = bound.remove(event.getEntity().getUUID());
+        if (handle != null) {
+            handle.level = null;
+            handle.id = -1;
+            handle.gone = removedForGood(event.getEntity());
+            invalidations++;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        bound.clear();
+    }
+
+    public static String getStats() {
+        return "bound=" + bound.size()
+                + ", fast hits=" + fastHits
+                + ", level scans=" + slowLookups
+                + ", invalidations=" + invalidations;
+    }
+}
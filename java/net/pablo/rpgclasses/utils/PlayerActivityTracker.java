@@ -0,0 +1,198 @@
+package net.pablo.rpgclasses.utils;
+
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.AttackEntityEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * What each online player last did and when, in server ticks: moved, looked around, attacked,
+ * took damage.
+ * Also holds small per-player cooldowns, optionally per target, for XP handlers that only reward
+ * a hit every so often. Each channel has its own few slots.
+ *
+ * One primitive record per player keyed by UUID, so respawning keeps it, removed on logout.
+ * Queries are a map lookup and some arithmetic, nothing is allocated after login.
+ * Server thread only.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class PlayerActivityTracker {
+
+    /** Ticks without moving or looking around before a player counts as AFK */
+    public static final int AFK_TICKS = 200;
+
+    private static final double MOVE_EPSILON = 0.01;
+    private static final float LOOK_EPSILON = 0.01f;
+    // Per channel, more targets than this on cooldown at once and the grant is refused
+    private static final int COOLDOWN_SLOTS = 8;
+    private static final long NEVER = Long.MIN_VALUE / 2;
+
+    /** Who a cooldown belongs to, each has its own slots */
+    public enum Channel {
+        FIGHTER_XP,
+        WARRIOR_XP,
+        ROGUE_XP
+    }
+
+    private static class Activity {
+        double x, y, z;
+        float yaw, pitch;
+        long lastMoveTick;
+        long lastLookTick;
+        long lastAttackTick = NEVER;
+        long lastHurtTick = NEVER;
+
+        // Cooldown slots per channel, a slot is free once its tick has passed
+        final int[][] cooldownTarget = new int[Channel.values().length][COOLDOWN_SLOTS];
+        final long[][] cooldownUntil = new long[Channel.values().length][COOLDOWN_SLOTS];
+
+        Activity(Player player, long now) {
+            x = player.getX();
+            y = player.getY();
+            z = player.getZ();
+            yaw = player.getYRot();
+            pitch = player.getXRot();
+            // Logging in counts as activity
+            lastMoveTick = now;
+            lastLookTick = now;
+            for (long[] slots : cooldownUntil) Arrays.fill(slots, NEVER);
+        }
+    }
+
+    private static final Map<UUID, Activity> activities = new HashMap<>();
+
+    private static Activity get(Player player) {
+        return activities.get(player.getUUID());
+    }
+
+    private static Activity getOrCreate(Player player) {
+        Activity activity = activities.get(player.getUUID());
+        if (activity == null) {
+            activity = new Activity(player, TickScheduler.now());
+            activities.put(player.getUUID(), activity);
+        }
+        return activity;
+    }
+
+    // ------------------ QUERIES ------------------
+
+    /** Hasn't moved or looked around for AFK_TICKS, false for players not tracked yet */
+    public static boolean isAfk(Player player) {
+        Activity activity = get(player);
+        if (activity == null) return false;
+        return TickScheduler.now() - Math.max(activity.lastMoveTick, activity.lastLookTick) > AFK_TICKS;
+    }
+
+    public static boolean movedWithin(Player player, int ticks) {
+        Activity activity = get(player);
+        return activity != null && TickScheduler.now() - activity.lastMoveTick < ticks;
+    }
+
+    public static boolean attackedWithin(Player player, int ticks) {
+        Activity activity = get(player);
+        return activity != null && TickScheduler.now() - activity.lastAttackTick < ticks;
+    }
+
+    public static boolean hurtWithin(Player player, int ticks) {
+        Activity activity = get(player);
+        return activity != null && TickScheduler.now() - activity.lastHurtTick < ticks;
+    }
+
+    /** Per-player cooldown, see the per-target version */
+    public static boolean tryCooldown(Player player, Channel channel, int ticks) {
+        return tryCooldown(player, channel, -1, ticks);
+    }
+
+    /**
+     * True and starts the cooldown if the player's cooldown on this channel and target (entity id)
+     * isn't running, false while it is. Also false when all of the channel's slots are running,
+     * a live cooldown is never dropped to make room.
+     */
+    public static boolean tryCooldown(Player player, Channel channel, int targetId, int ticks) {
+        Activity activity = getOrCreate(player);
+        long now = TickScheduler.now();
+        int[] targets = activity.cooldownTarget[channel.ordinal()];
+        long[] until = activity.cooldownUntil[channel.ordinal()];
+
+        int free = -1;
+        for (int i = 0; i < COOLDOWN_SLOTS; i++) {
+            if (until[i] <= now) {
+                if (free < 0) free = i;
+            } else if (targets[i] == targetId) {
+                return false;
+            }
+        }
+        if (free < 0) return false;
+
+        targets[free] = targetId;
+        until[free] = now + ticks;
+        return true;
+    }
+
+    /** Called from the combat dispatcher for any damage a player takes */
+    public static void markHurt(Player player) {
+        getOrCreate(player).lastHurtTick = TickScheduler.now();
+    }
+
+    // ------------------ EVENTS ------------------
+
+    @SubscribeEvent
+    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
+        Player player = event.player;
+        if (event.phase != TickEvent.Phase.END || player.level().isClientSide) return;
+
+        Activity activity = getOrCreate(player);
+        long now = TickScheduler.now();
+
+        double x = player.getX(), y = player.getY(), z = player.getZ();
+        if (Math.abs(x - activity.x) > MOVE_EPSILON || Math.abs(y - activity.y) > MOVE_EPSILON
+                || Math.abs(z - activity.z) > MOVE_EPSILON) {
+            activity.lastMoveTick = now;
+        }
+        float yaw = player.getYRot(), pitch = player.getXRot();
+        if (Math.abs(yaw - activity.yaw) > LOOK_EPSILON || Math.abs(pitch - activity.pitch) > LOOK_EPSILON) {
+            activity.lastLookTick = now;
+        }
+
+        activity.x = x;
+        activity.y = y;
+        activity.z = z;
+        activity.yaw = yaw;
+        activity.pitch = pitch;
+    }
+
+    @SubscribeEvent
+    public static void onPlayerAttack(AttackEntityEvent event) {
+        Player player = event.getEntity();
+        if (player.level().isClientSide) return;
+        getOrCreate(player).lastAttackTick = TickScheduler.now();
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        activities.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        activities.clear();
+    }
+
+    public static String getStats() {
+        int afk = 0;
+        long now = TickScheduler.now();
+        for (Activity activity : activities.values()) {
+            if (now - Math.max(activity.lastMoveTick, activity.lastLookTick) > AFK_TICKS) afk++;
+        }
+        return "tracked=" + activities.size() + ", afk=" + afk;
+    }
+}
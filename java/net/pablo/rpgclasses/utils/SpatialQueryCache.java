@@ -0,0 +1,198 @@
+package net.pablo.rpgclasses.utils;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Per-level index of living entities for AOE skills, bucketed by 16x16x16 section cell.
+ *
+ * Cells are filled lazily, only where something queries, with one getEntitiesOfClass call
+ * covering all missing cells of that query. They're valid for the rest of the server tick,
+ * so overlapping queries in the same tick cost no further entity lookups. Entities that
+ * spawn after their cell was filled show up from the next tick on.
+ *
+ * Results go into a caller-owned list which is cleared first. Server thread only.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class SpatialQueryCache {
+
+    // Extra blocks around every query so entities that moved across a cell edge earlier in the tick aren't missed
+    private static final double CELL_MARGIN = 1.0;
+
+    private static final Map<ServerLevel, LevelCells> levels = new IdentityHashMap<>();
+    private static final LongOpenHashSet NEW_CELLS = new LongOpenHashSet();
+
+    // Counters for /rpgdebug spatial
+    private static long queries = 0;
+    private static long backingCalls = 0;
+    private static long cellsFilled = 0;
+    private static long cellsReused = 0;
+
+    private static class LevelCells {
+        final Long2ObjectOpenHashMap<List<LivingEntity>> cells = new Long2ObjectOpenHashMap<>();
+        final List<List<LivingEntity>> pool = new ArrayList<>();
+        long tick = Long.MIN_VALUE;
+
+        void resetIfStale(long now) {
+            if (tick == now) return;
+            tick = now;
+            for (List<LivingEntity> cell : cells.values()) {
+                cell.clear();
+                pool.add(cell);
+            }
+            cells.clear();
+        }
+
+        List<LivingEntity> newCell() {
+            return pool.isEmpty() ? new ArrayList<>() : pool.remove(pool.size() - 1);
+        }
+    }
+
+    // ------------------ QUERIES ------------------
+
+    /** Entities whose position is within radius of center */
+    public static List<LivingEntity> sphere(ServerLevel level, Vec3 center, double radius,
+                                            List<LivingEntity> out, Predicate<LivingEntity> filter) {
+        return collect(level, center, 0.0, radius, null, 0.0, out, filter);
+    }
+
+    /** Entities whose position is between innerRadius and outerRadius from center (a spherical shell) */
+    public static List<LivingEntity> annulus(ServerLevel level, Vec3 center, double innerRadius, double outerRadius,
+                                             List<LivingEntity> out, Predicate<LivingEntity> filter) {
+        return collect(level, center, innerRadius, outerRadius, null, 0.0, out, filter);
+    }
+
+    /**
+     * Entities within range of origin whose direction from origin has at least minDot with
+     * direction (which must be normalized), e.g. 0.5 for a 120 degree cone
+     */
+    public static List<LivingEntity> cone(ServerLevel level, Vec3 origin, Vec3 direction, double range, double minDot,
+                                          List<LivingEntity> out, Predicate<LivingEntity> filter) {
+        return collect(level, origin, 0.0, range, direction, minDot, out, filter);
+    }
+
+    private static List<LivingEntity> collect(ServerLevel level, Vec3 center, double innerRadius, double outerRadius,
+                                              @Nullable Vec3 direction, double minDot,
+                                              List<LivingEntity> out, Predicate<LivingEntity> filter) {
+        out.clear();
+        queries++;
+        LevelCells cache = levels.computeIfAbsent(level, k -> new LevelCells());
+        cache.resetIfStale(TickScheduler.now());
+
+        double reach = outerRadius + CELL_MARGIN;
+        int minX = cell(center.x - reach), maxX = cell(center.x + reach);
+        int minY = cell(center.y - reach), maxY = cell(center.y + reach);
+        int minZ = cell(center.z - reach), maxZ = cell(center.z + reach);
+        fill(level, cache, minX, minY, minZ, maxX, maxY, maxZ);
+
+        double innerSq = innerRadius > 0 ? innerRadius * innerRadius : -1.0;
+        double outerSq = outerRadius * outerRadius;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    List<LivingEntity> bucket = cache.cells.get(SectionPos.asLong(x, y, z));
+                    if (bucket == null) continue;
+                    for (int i = 0; i < bucket.size(); i++) {
+                        LivingEntity entity = bucket.get(i);
+                        double dx = entity.getX() - center.x;
+                        double dy = entity.getY() - center.y;
+                        double dz = entity.getZ() - center.z;
+                        double distSq = dx * dx + dy * dy + dz * dz;
+                        if (distSq > outerSq || distSq < innerSq) continue;
+                        if (direction != null) {
+                            if (distSq < 1.0E-6) continue;
+                            double dot = (dx * direction.x + dy * direction.y + dz * direction.z) / Math.sqrt(distSq);
+                            if (dot < minDot) continue;
+                        }
+                        if (entity.isAlive() && filter.test(entity)) out.add(entity);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    // ------------------ CELLS ------------------
+
+    /** Fills the missing cells of the range with a single getEntitiesOfClass call */
+    private static void fill(ServerLevel level, LevelCells cache, int minX, int minY, int minZ,
+                             int maxX, int maxY, int maxZ) {
+        // Extent of the cells that aren't filled yet this tick
+        int fillMinX = Integer.MAX_VALUE, fillMinY = Integer.MAX_VALUE, fillMinZ = Integer.MAX_VALUE;
+        int fillMaxX = Integer.MIN_VALUE, fillMaxY = Integer.MIN_VALUE, fillMaxZ = Integer.MIN_VALUE;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    if (cache.cells.containsKey(SectionPos.asLong(x, y, z))) {
+                        cellsReused++;
+                        continue;
+                    }
+                    fillMinX = Math.min(fillMinX, x); fillMaxX = Math.max(fillMaxX, x);
+                    fillMinY = Math.min(fillMinY, y); fillMaxY = Math.max(fillMaxY, y);
+                    fillMinZ = Math.min(fillMinZ, z); fillMaxZ = Math.max(fillMaxZ, z);
+                }
+            }
+        }
+        if (fillMinX == Integer.MAX_VALUE) return;
+
+        // Every missing cell in the extent becomes filled (possibly empty)
+        NEW_CELLS.clear();
+        for (int x = fillMinX; x <= fillMaxX; x++) {
+            for (int y = fillMinY; y <= fillMaxY; y++) {
+                for (int z = fillMinZ; z <= fillMaxZ; z++) {
+                    long key = SectionPos.asLong(x, y, z);
+                    if (!cache.cells.containsKey(key)) {
+                        cache.cells.put(key, cache.newCell());
+                        NEW_CELLS.add(key);
+                        cellsFilled++;
+                    }
+                }
+            }
+        }
+
+        backingCalls++;
+        AABB box = new AABB(
+                SectionPos.sectionToBlockCoord(fillMinX), SectionPos.sectionToBlockCoord(fillMinY), SectionPos.sectionToBlockCoord(fillMinZ),
+                SectionPos.sectionToBlockCoord(fillMaxX + 1), SectionPos.sectionToBlockCoord(fillMaxY + 1), SectionPos.sectionToBlockCoord(fillMaxZ + 1));
+        for (LivingEntity entity : level.getEntitiesOfClass(LivingEntity.class, box)) {
+            long key = SectionPos.asLong(cell(entity.getX()), cell(entity.getY()), cell(entity.getZ()));
+            // Cells filled earlier this tick already hold their entities
+            if (NEW_CELLS.contains(key)) cache.cells.get(key).add(entity);
+        }
+    }
+
+    private static int cell(double coord) {
+        return SectionPos.blockToSectionCoord(Mth.floor(coord));
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) levels.remove(level);
+    }
+
+    public static String getStats() {
+        return "queries=" + queries
+                + ", getEntitiesOfClass calls=" + backingCalls
+                + " (saved " + (queries - backingCalls) + ")"
+                + ", cells filled=" + cellsFilled
+                + ", cells reused=" + cellsReused
+                + ", levels=" + levels.size();
+    }
+}
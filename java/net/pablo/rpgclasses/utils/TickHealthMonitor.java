@@ -0,0 +1,142 @@
+package net.pablo.rpgclasses.utils;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.config.ServerConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Rolling average of how long server ticks take, and the cosmetic quality level that follows from it.
+ *
+ * Skill managers and FxDispatcher ask getQuality() before purely visual or audio work (particles,
+ * visual-only lightning, ambient sounds) and scale it down while the server is behind. Damage,
+ * tethers, cooldowns and anything else that changes the game never look at this.
+ *
+ * Quality drops as soon as the average passes a threshold but only comes back once the average is
+ * recoveryMargin below it, so it doesn't flap around a threshold. Checked once a second.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class TickHealthMonitor {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public enum Quality {
+        FULL(1.0, 1),
+        REDUCED(0.5, 2),
+        MINIMAL(0.25, 4);
+
+        /** Fraction of particles to send */
+        public final double density;
+        /** Multiplier for the interval between repeating cosmetic pulses */
+        public final int intervalMultiplier;
+
+        Quality(double density, int intervalMultiplier) {
+            this.density = density;
+            this.intervalMultiplier = intervalMultiplier;
+        }
+
+        /** Whether a pulse counted by pulse should play, every one at FULL, fewer below */
+        public boolean shouldPulse(long pulse) {
+            return pulse % intervalMultiplier == 0;
+        }
+    }
+
+    private static final int WINDOW = 100; // 5 seconds at 20 TPS
+    private static final int CHECK_INTERVAL = 20;
+
+    private static final long[] tickNanos = new long[WINDOW];
+    private static int index = 0;
+    private static int filled = 0;
+    private static long windowTotal = 0;
+    private static long tickStart = 0;
+    private static int sinceCheck = 0;
+
+    private static Quality quality = Quality.FULL;
+    private static int transitions = 0;
+
+    public static Quality getQuality() {
+        return quality;
+    }
+
+    public static boolean isFull() {
+        return quality == Quality.FULL;
+    }
+
+    public static double getAverageMspt() {
+        return filled == 0 ? 0.0 : windowTotal / (double) filled / 1_000_000.0;
+    }
+
+    // First in, last out, so the measurement covers every other subscriber's tick work
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onTickStart(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) tickStart = System.nanoTime();
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onTickEnd(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || tickStart == 0) return;
+
+        long nanos = System.nanoTime() - tickStart;
+        windowTotal += nanos - tickNanos[index];
+        tickNanos[index] = nanos;
+        index = (index + 1) % WINDOW;
+        if (filled < WINDOW) filled++;
+
+        if (++sinceCheck >= CHECK_INTERVAL) {
+            sinceCheck = 0;
+            update(getAverageMspt());
+        }
+    }
+
+    private static void update(double mspt) {
+        double reducedAt = ServerConfig.QUALITY_REDUCED_MSPT.get();
+        double minimalAt = ServerConfig.QUALITY_MINIMAL_MSPT.get();
+        double margin = ServerConfig.QUALITY_RECOVERY_MARGIN.get();
+
+        Quality next = quality;
+        switch (quality) {
+            case FULL -> {
+                if (mspt >= minimalAt) next = Quality.MINIMAL;
+                else if (mspt >= reducedAt) next = Quality.REDUCED;
+            }
+            case REDUCED -> {
+                if (mspt >= minimalAt) next = Quality.MINIMAL;
+                else if (mspt < reducedAt - margin) next = Quality.FULL;
+            }
+            case MINIMAL -> {
+                if (mspt < reducedAt - margin) next = Quality.FULL;
+                else if (mspt < minimalAt - margin) next = Quality.REDUCED;
+            }
+        }
+
+        if (next != quality) {
+            LOGGER.info("Skill visuals {} -> {} (average tick {} ms)", quality, next, String.format("%.1f", mspt));
+            quality = next;
+            transitions++;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        Arrays.fill(tickNanos, 0L);
+        index = 0;
+        filled = 0;
+        windowTotal = 0;
+        tickStart = 0;
+        sinceCheck = 0;
+        quality = Quality.FULL;
+    }
+
+    public static String getStats() {
+        return String.format("mspt=%.2f", getAverageMspt())
+                + ", quality=" + quality
+                + ", transitions=" + transitions;
+    }
+}
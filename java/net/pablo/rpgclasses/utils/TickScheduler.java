@@ -0,0 +1,304 @@
+package net.pablo.rpgclasses.utils;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import net.pablo.rpgclasses.RpgClassesMod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Shared delayed/repeating task runner for skill effects, keyed on the server tick count.
+ *
+ * Tasks live in a hierarchical timing wheel (4 levels of 64 slots), so a tick only touches
+ * the slot that is due plus the occasional cascade from a higher level. Tasks can be given
+ * an owner UUID and are cancelled when that player logs out or that entity is removed.
+ * Server thread only.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class TickScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    @SuppressWarnings("unchecked")
+    private static final List<Task>[][] WHEEL = new List[LEVELS][SLOTS];
+    // Deadlines past the top level (~9.7 days), re-placed once per top-level rotation
+    private static final List<Task> OVERFLOW = new ArrayList<>();
+    private static final Map<UUID, List<Task>> TASKS_BY_OWNER = new HashMap<>();
+
+    static {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                WHEEL[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    // Last tick that has been processed
+    private static long currentTick = 0;
+    private static int pending = 0;
+
+    // Counters for /rpgdebug scheduler
+    private static long scheduledCount = 0;
+    private static long runCount = 0;
+    private static long cancelledCount = 0;
+    private static long cascadedCount = 0;
+
+    /** Handle returned by schedule calls */
+    public static final class Task {
+        @Nullable private final UUID owner;
+        @Nullable private final Runnable action;
+        @Nullable private final BooleanSupplier repeatingAction;
+        private final int interval;
+        private long deadline;
+        private boolean cancelled;
+        private boolean done;
+
+        private Task(@Nullable UUID owner, @Nullable Runnable action, @Nullable BooleanSupplier repeatingAction,
+                     int interval, long deadline) {
+            this.owner = owner;
+            this.action = action;
+            this.repeatingAction = repeatingAction;
+            this.interval = interval;
+            this.deadline = deadline;
+        }
+
+        /** Stops the task, the slot entry is dropped when its tick comes around */
+        public void cancel() {
+            if (!isActive()) return;
+            cancelled = true;
+            cancelledCount++;
+            finish(this);
+        }
+
+        public boolean isActive() {
+            return !cancelled && !done;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    // ------------------ SCHEDULING ------------------
+
+    /** Runs the action once, delayTicks from now (at least 1) */
+    public static Task schedule(@Nullable UUID owner, int delayTicks, Runnable action) {
+        return add(new Task(owner, action, null, 0, currentTick + Math.max(1, delayTicks)));
+    }
+
+    public static Task schedule(Entity owner, int delayTicks, Runnable action) {
+        return schedule(owner.getUUID(), delayTicks, action);
+    }
+
+    /** Runs the action every intervalTicks until it returns false or the task is cancelled */
+    public static Task scheduleRepeating(@Nullable UUID owner, int initialDelayTicks, int intervalTicks,
+                                         BooleanSupplier action) {
+        return add(new Task(owner, null, action, Math.max(1, intervalTicks),
+                currentTick + Math.max(1, initialDelayTicks)));
+    }
+
+    public static Task scheduleRepeating(Entity owner, int initialDelayTicks, int intervalTicks,
+                                         BooleanSupplier action) {
+        return scheduleRepeating(owner.getUUID(), initialDelayTicks, intervalTicks, action);
+    }
+
+    /** Cancels every task registered to the owner */
+    public static void cancelAll(UUID owner) {
+        List<Task> tasks = TASKS_BY_OWNER.remove(owner);
+        if (tasks == null) return;
+        for (Task task : tasks) {
+            if (!task.isActive()) continue;
+            task.cancelled = true;
+            cancelledCount++;
+            pending--;
+        }
+    }
+
+    /** The current server tick, same clock the deadlines use */
+    public static long now() {
+        return currentTick;
+    }
+
+    private static Task add(Task task) {
+        scheduledCount++;
+        pending++;
+        if (task.owner != null) {
+            TASKS_BY_OWNER.computeIfAbsent(task.owner, k -> new ArrayList<>()).add(task);
+        }
+        place(task);
+        return task;
+    }
+
+    /** Puts the task in the lowest level whose rotation still contains its deadline */
+    private static void place(Task task) {
+        long deadline = task.deadline;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >> shift) == (currentTick >> shift)) {
+                WHEEL[level][(int) (deadline >> (SLOT_BITS * level)) & SLOT_MASK].add(task);
+                return;
+            }
+        }
+        OVERFLOW.add(task);
+    }
+
+    private static void finish(Task task) {
+        pending--;
+        if (task.owner == null) return;
+        List<Task> tasks = TASKS_BY_OWNER.get(task.owner);
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            TASKS_BY_OWNER.remove(task.owner);
+        }
+    }
+
+    // ------------------ TICKING ------------------
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        // Run at START so now() already equals getTickCount() for everything scheduled during the tick
+        if (event.phase != TickEvent.Phase.START) return;
+        long target = event.getServer().getTickCount() + 1;
+        while (currentTick < target) {
+            advance(currentTick + 1);
+        }
+    }
+
+    private static void advance(long tick) {
+        currentTick = tick;
+
+        // Crossing a rotation boundary: pull the next block of each higher level down, top first
+        if ((tick & SLOT_MASK) == 0) {
+            int top = 1;
+            while (top < LEVELS && (tick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) top++;
+            if (top == LEVELS && !OVERFLOW.isEmpty()) {
+                cascade(OVERFLOW);
+            }
+            for (int level = Math.min(top, LEVELS - 1); level >= 1; level--) {
+                cascade(WHEEL[level][(int) (tick >> (SLOT_BITS * level)) & SLOT_MASK]);
+            }
+        }
+
+        List<Task> due = WHEEL[0][(int) tick & SLOT_MASK];
+        if (due.isEmpty()) return;
+        // Swap the slot out so tasks scheduled from callbacks don't land in the list being walked
+        List<Task> running = new ArrayList<>(due);
+        due.clear();
+        for (Task task : running) {
+            if (!task.isActive()) continue;
+            if (task.deadline > tick) {
+                place(task);
+                continue;
+            }
+            run(task, tick);
+        }
+    }
+
+    private static void cascade(List<Task> bucket) {
+        if (bucket.isEmpty()) return;
+        List<Task> moving = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Task task : moving) {
+            if (!task.isActive()) continue;
+            cascadedCount++;
+            place(task);
+        }
+    }
+
+    private static void run(Task task, long tick) {
+        runCount++;
+        boolean again = false;
+        try {
+            if (task.repeatingAction != null) {
+                again = task.repeatingAction.getAsBoolean();
+            } else if (task.action != null) {
+                task.action.run();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Scheduled task failed (owner {})", task.owner, e);
+            again = false;
+        }
+
+        if (!task.isActive()) return; // cancelled from inside the callback
+        if (again) {
+            task.deadline = tick + task.interval;
+            place(task);
+        } else {
+            task.done = true;
+            finish(task);
+        }
+    }
+
+    // ------------------ CLEANUP ------------------
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        cancelAll(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() || TASKS_BY_OWNER.isEmpty()) return;
+        Entity entity = event.getEntity();
+        // Players leave a level on respawn and dimension change too, they're handled by logout
+        if (entity instanceof Player) return;
+        Entity.RemovalReason reason = entity.getRemovalReason();
+        if (reason != null && reason.shouldDestroy()) {
+            cancelAll(entity.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStarting(ServerStartingEvent event) {
+        reset(event.getServer());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        reset(null);
+    }
+
+    private static void reset(@Nullable MinecraftServer server) {
+        for (List<Task>[] level : WHEEL) {
+            for (List<Task> slot : level) slot.clear();
+        }
+        OVERFLOW.clear();
+        TASKS_BY_OWNER.clear();
+        pending = 0;
+        currentTick = server != null ? server.getTickCount() : 0;
+    }
+
+    public static String getStats() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        return "tick=" + currentTick
+                + (server != null ? " (server " + server.getTickCount() + ")" : "")
+                + ", pending=" + pending
+                + ", owners=" + TASKS_BY_OWNER.size()
+                + ", scheduled=" + scheduledCount
+                + ", run=" + runCount
+                + ", cancelled=" + cancelledCount
+                + ", cascaded=" + cascadedCount
+                + ", overflow=" + OVERFLOW.size();
+    }
+}
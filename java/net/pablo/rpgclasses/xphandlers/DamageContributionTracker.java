@@ -0,0 +1,156 @@
+package net.pablo.rpgclasses.xphandlers;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.config.ServerConfig;
+import net.pablo.rpgclasses.utils.TickScheduler;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Who damaged which mob and how much, for MobKillXP's kill split.
+ *
+ * Keyed by entity id, with contributors kept in small parallel primitive arrays. The map is in
+ * last-hit order, so entries nobody has hit for the TTL are trimmed from the front every tick and
+ * the least recently hit mob goes first once the cap is reached. Mobs that leave the level
+ * (despawn, unload, /kill) are dropped right away. Server thread only.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class DamageContributionTracker {
+
+    private static final int INITIAL_CONTRIBUTORS = 2;
+    // A mob rarely has more, damage from players past this is simply not counted
+    private static final int MAX_CONTRIBUTORS = 16;
+
+    /** Damage dealt to one mob, one slot per player */
+    public static class Contributions {
+        private long[] mostBits = new long[INITIAL_CONTRIBUTORS];
+        private long[] leastBits = new long[INITIAL_CONTRIBUTORS];
+        private float[] damage = new float[INITIAL_CONTRIBUTORS];
+        private int size = 0;
+        private float total = 0f;
+        private long lastHitTick;
+
+        private void add(UUID playerId, float amount) {
+            long most = playerId.getMostSignificantBits();
+            long least = playerId.getLeastSignificantBits();
+            for (int i = 0; i < size; i++) {
+                if (mostBits[i] == most && leastBits[i] == least) {
+                    damage[i] += amount;
+                    total += amount;
+                    return;
+                }
+            }
+            if (size == MAX_CONTRIBUTORS) return;
+            if (size == damage.length) {
+                int capacity = Math.min(MAX_CONTRIBUTORS, size * 2);
+                mostBits = Arrays.copyOf(mostBits, capacity);
+                leastBits = Arrays.copyOf(leastBits, capacity);
+                damage = Arrays.copyOf(damage, capacity);
+            }
+            mostBits[size] = most;
+            leastBits[size] = least;
+            damage[size] = amount;
+            size++;
+            total += amount;
+        }
+
+        public int size() { return size; }
+        public UUID getPlayerId(int index) { return new UUID(mostBits[index], leastBits[index]); }
+        public float getDamage(int index) { return damage[index]; }
+        public float getTotal() { return total; }
+
+        private int capacity() { return damage.length; }
+    }
+
+    private static final Int2ObjectLinkedOpenHashMap<Contributions> byEntity = new Int2ObjectLinkedOpenHashMap<>();
+
+    // Counters for /rpgdebug damagetracker
+    private static long recorded = 0;
+    private static long claimed = 0;
+    private static long evictedLeave = 0;
+    private static long evictedTtl = 0;
+    private static long evictedCap = 0;
+    private static int peak = 0;
+
+    public static void record(LivingEntity mob, Player player, float amount) {
+        if (amount <= 0) return;
+        long now = TickScheduler.now();
+
+        Contributions entry = byEntity.getAndMoveToLast(mob.getId());
+        if (entry == null) {
+            int cap = ServerConfig.XP_MAX_TRACKED_MOBS.get();
+            while (byEntity.size() >= cap && !byEntity.isEmpty()) {
+                byEntity.removeFirst();
+                evictedCap++;
+            }
+            entry = new Contributions();
+            byEntity.putAndMoveToLast(mob.getId(), entry);
+            peak = Math.max(peak, byEntity.size());
+        }
+        entry.lastHitTick = now;
+        entry.add(player.getUUID(), amount);
+        recorded++;
+    }
+
+    /** Takes the mob's contributions out of the tracker, null if nobody damaged it recently */
+    @Nullable
+    public static Contributions claim(LivingEntity mob) {
+        Contributions entry = byEntity.remove(mob.getId());
+        if (entry != null) claimed++;
+        return entry;
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() || byEntity.isEmpty()) return;
+        if (byEntity.remove(event.getEntity().getId()) != null) evictedLeave++;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || byEntity.isEmpty()) return;
+
+        // Oldest hit is first, stop at the first one still inside the TTL
+        long expiredBefore = TickScheduler.now() - ServerConfig.XP_CONTRIBUTION_TTL_SECONDS.get() * 20L;
+        while (!byEntity.isEmpty() && byEntity.get(byEntity.firstIntKey()).lastHitTick < expiredBefore) {
+            byEntity.removeFirst();
+            evictedTtl++;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        byEntity.clear();
+        byEntity.trim();
+    }
+
+    public static String getStats() {
+        long contributors = 0;
+        long slots = 0;
+        for (Contributions entry : byEntity.values()) {
+            contributors += entry.size;
+            slots += entry.capacity();
+        }
+        // Rough: entry object + three array headers, 20 bytes a slot, ~40 bytes of map overhead per mob
+        long bytes = byEntity.size() * (40L + 48L + 3 * 16L) + slots * 20L;
+
+        return "mobs=" + byEntity.size() + "/" + ServerConfig.XP_MAX_TRACKED_MOBS.get()
+                + " (peak " + peak + ")"
+                + ", contributors=" + contributors
+                + ", slots=" + slots
+                + String.format(", ~%.1f KiB", bytes / 1024.0)
+                + ", recorded=" + recorded
+                + ", claimed=" + claimed
+                + ", evicted leave/ttl/cap=" + evictedLeave + "/" + evictedTtl + "/" + evictedCap;
+    }
+}
@@ -7,6 +7,7 @@ import net.minecraft.world.InteractionResultHolder;
 import net.minecraft.world.level.Level;
 import net.minecraft.network.chat.Component;
 import net.pablo.rpgclasses.capability.PlayerClassProvider;
+import net.pablo.rpgclasses.classes.RPGClass;
 import net.pablo.rpgclasses.item.ModItems;
 
 import java.util.Random;
@@ -33,8 +34,9 @@ public class GamblerXP {
                         return;
                     }
 
-                    int xpToAward = rollXp(cap.getLevel("gambler"));
-                    XPUtils.addXPAndCheckLevel(player, cap, "gambler", xpToAward);
+                    RPGClass gambler = cap.getSelectedClass();
+                    int xpToAward = rollXp(cap.getLevel(gambler.getId()));
+                    XPUtils.addPrimaryXP(player, cap, gambler, xpToAward);
 
                     player.sendSystemMessage(Component.literal("🎲 You rolled Loaded Dice and gained " + xpToAward + " Gambler XP!"));
 
@@ -46,8 +48,9 @@ public class GamblerXP {
                         return;
                     }
 
-                    int xpToAward = rollXp(cap.getLevel("gambler"));
-                    XPUtils.addSecondaryXP(player, cap, "gambler", xpToAward);
+                    RPGClass gambler = cap.getSecondaryClass();
+                    int xpToAward = rollXp(cap.getLevel(gambler.getId()));
+                    XPUtils.addSecondaryXP(player, cap, gambler, xpToAward);
 
                     player.sendSystemMessage(Component.literal("🎲 You rolled Weighted Dice and gained " + xpToAward + " Gambler XP!"));
 
@@ -6,7 +6,9 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.RpgClassesMod;
 import net.pablo.rpgclasses.capability.PlayerClassProvider;
-import net.pablo.rpgclasses.utils.AFKUtils;
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.progression.LevelCurve;
+import net.pablo.rpgclasses.utils.PlayerActivityTracker;
 
 @Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
 public class MageXP {
@@ -16,13 +18,17 @@ public class MageXP {
     private static final int CAP_LEVEL = 50;
     private static final double GAIN_MULT = Math.pow(CAP_GAIN / BASE_GAIN, 1.0 / (CAP_LEVEL - 1));
 
+    // Gain per level, levels past the cap use the capped value
+    private static final double[] GAIN_TABLE = LevelCurve.tabulate(CAP_LEVEL,
+            level -> Math.min(BASE_GAIN * Math.pow(GAIN_MULT, level - 1), CAP_GAIN));
+
     @SubscribeEvent
     public static void onMageCastSpell(SpellOnCastEvent event) {
         Player player = event.getEntity();
         if (player == null || player.level().isClientSide) return;
 
         // Skip AFK players
-        if (AFKUtils.isPlayerAFK(player)) return;
+        if (PlayerActivityTracker.isAfk(player)) return;
 
         player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
             boolean isMagePrimary = cap.getSelectedClass() != null &&
@@ -32,23 +38,23 @@ public class MageXP {
 
             if (!isMagePrimary && !isMageSecondary) return;
 
-            int mageLevel = cap.getLevel("mage");
+            RPGClass mage = isMagePrimary ? cap.getSelectedClass() : cap.getSecondaryClass();
+            int mageLevel = cap.getLevel(mage.getId());
             double xpToAdd = calculateMageXP(mageLevel);
 
             // Primary class XP
             if (isMagePrimary) {
-                XPUtils.addXPAndCheckLevel(player, cap, "mage", (int) xpToAdd);
+                XPUtils.addPrimaryXP(player, cap, mage, (int) xpToAdd);
             }
 
             // Secondary class XP using unified multiplier
             if (isMageSecondary) {
-                XPUtils.addSecondaryXP(player, cap, "mage", (int) xpToAdd);
+                XPUtils.addSecondaryXP(player, cap, mage, (int) xpToAdd);
             }
         });
     }
 
     private static double calculateMageXP(int level) {
-        double gain = BASE_GAIN * Math.pow(GAIN_MULT, level - 1);
-        return Math.min(gain, CAP_GAIN);
+        return LevelCurve.lookup(GAIN_TABLE, level);
     }
 }
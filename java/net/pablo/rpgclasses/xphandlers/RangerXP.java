@@ -9,7 +9,8 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.pablo.rpgclasses.RpgClassesMod;
 import net.pablo.rpgclasses.capability.PlayerClassProvider;
-import net.pablo.rpgclasses.utils.AFKUtils;
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.utils.PlayerActivityTracker;
 
 @Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
 public class RangerXP {
@@ -26,7 +27,7 @@ public class RangerXP {
         if (player.level().isClientSide) return; // Ensure server-side
 
         // Skip AFK players
-        if (AFKUtils.isPlayerAFK(player)) return;
+        if (PlayerActivityTracker.isAfk(player)) return;
 
         player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
             boolean isPrimary = cap.getSelectedClass() != null &&
@@ -45,7 +46,8 @@ public class RangerXP {
             if (distance < MIN_EFFECTIVE_RANGE) return;
 
             // Ranger level
-            int level = cap.getLevel("ranger");
+            RPGClass ranger = isPrimary ? cap.getSelectedClass() : cap.getSecondaryClass();
+            int level = cap.getLevel(ranger.getId());
             if (level < 1) level = 1; // Safety check
 
             // Base XP formula (capped at 75)
@@ -59,10 +61,10 @@ public class RangerXP {
 
             // Award XP
             if (isPrimary) {
-                XPUtils.addXPAndCheckLevel(player, cap, "ranger", xpToAward);
+                XPUtils.addPrimaryXP(player, cap, ranger, xpToAward);
             }
             if (isSecondary) {
-                XPUtils.addSecondaryXP(player, cap, "ranger", xpToAward);
+                XPUtils.addSecondaryXP(player, cap, ranger, xpToAward);
             }
         });
     }
@@ -1,20 +1,16 @@
 package net.pablo.rpgclasses.xphandlers;
 
 import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.Vec3;
-import net.minecraftforge.event.entity.living.LivingDamageEvent;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
-import net.minecraftforge.fml.common.Mod;
-import net.pablo.rpgclasses.RpgClassesMod;
-import net.pablo.rpgclasses.capability.PlayerClassProvider;
-import net.pablo.rpgclasses.utils.AFKUtils;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-
-@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+import net.pablo.rpgclasses.capability.IPlayerClass;
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.combat.HitContext;
+import net.pablo.rpgclasses.progression.LevelCurve;
+import net.pablo.rpgclasses.utils.PlayerActivityTracker;
+
+/** Rogue XP from critical hits, run by CombatDispatcher */
 public class RogueXP {
 
     private static final double BASE_GAIN = 5.0;
@@ -22,22 +18,21 @@ public class RogueXP {
     private static final int CAP_LEVEL = 60;
     private static final double GAIN_MULT = Math.pow(CAP_GAIN / BASE_GAIN, 1.0 / (CAP_LEVEL - 1));
 
-    private static final Map<String, Long> lastXpTime = new HashMap<>();
-    private static final long COOLDOWN_MS = 1000; // 1 second cooldown
+    // Gain per level, levels past the cap use the capped value
+    private static final double[] GAIN_TABLE = LevelCurve.tabulate(CAP_LEVEL,
+            level -> Math.min(BASE_GAIN * Math.pow(GAIN_MULT, level - 1), CAP_GAIN));
+
+    private static final int COOLDOWN_TICKS = 20; // 1 second per target
 
-    @SubscribeEvent
-    public static void onCritHit(LivingDamageEvent event) {
-        if (!(event.getSource().getEntity() instanceof Player player)) return;
-        if (player.level().isClientSide) return;
+    public static void onDamage(HitContext hit) {
+        Player player = hit.getAttacker();
+        LivingEntity target = hit.getVictim();
 
         // Skip AFK players
-        if (AFKUtils.isPlayerAFK(player)) return;
+        if (PlayerActivityTracker.isAfk(player)) return;
 
-        UUID targetUUID = event.getEntity().getUUID();
-        String key = player.getUUID() + "-" + targetUUID;
-        long now = System.currentTimeMillis();
-        if (lastXpTime.containsKey(key) && now - lastXpTime.get(key) < COOLDOWN_MS) return;
-        lastXpTime.put(key, now);
+        if (!PlayerActivityTracker.tryCooldown(player, PlayerActivityTracker.Channel.ROGUE_XP,
+                target.getId(), COOLDOWN_TICKS)) return;
 
         // Detect jump crit
         boolean jumpCrit = player.fallDistance > 0.0F
@@ -46,8 +41,8 @@ public class RogueXP {
                 && !player.isPassenger();
 
         // Detect backstab (player behind target)
-        Vec3 targetDir = event.getEntity().getLookAngle();
-        Vec3 toPlayer = event.getEntity().position().subtract(player.position()).normalize();
+        Vec3 targetDir = target.getLookAngle();
+        Vec3 toPlayer = target.position().subtract(player.position()).normalize();
 
         Vec3 targetDirFlat = new Vec3(targetDir.x, 0, targetDir.z).normalize();
         Vec3 toPlayerFlat = new Vec3(toPlayer.x, 0, toPlayer.z).normalize();
@@ -60,30 +55,21 @@ public class RogueXP {
         boolean isCrit = jumpCrit || backstab || invisCrit;
         if (!isCrit) return;
 
-        player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).ifPresent(cap -> {
-            boolean isRoguePrimary = cap.getSelectedClass() != null &&
-                    "Rogue".equalsIgnoreCase(cap.getSelectedClass().getClassName());
-            boolean isRogueSecondary = cap.getSecondaryClass() != null &&
-                    "Rogue".equalsIgnoreCase(cap.getSecondaryClass().getClassName());
-
-            if (!isRoguePrimary && !isRogueSecondary) return;
-
-            int level = isRoguePrimary ? cap.getLevel(cap.getSelectedClass().getClassName())
-                    : cap.getLevel(cap.getSecondaryClass().getClassName());
+        IPlayerClass cap = hit.getModuleClassData();
+        RPGClass rogue = hit.getModuleClass();
+        int level = cap.getLevel(rogue.getId());
 
-            double xpToAdd = calculateRogueXP(level);
+        double xpToAdd = calculateRogueXP(level);
 
-            if (isRoguePrimary) {
-                XPUtils.addXPAndCheckLevel(player, cap, "rogue", (int) xpToAdd);
-            }
-            if (isRogueSecondary) {
-                XPUtils.addSecondaryXP(player, cap, "rogue", (int) xpToAdd);
-            }
-        });
+        if (hit.isModulePrimary()) {
+            XPUtils.addPrimaryXP(player, cap, rogue, (int) xpToAdd);
+        }
+        if (hit.isModuleSecondary()) {
+            XPUtils.addSecondaryXP(player, cap, rogue, (int) xpToAdd);
+        }
     }
 
     private static double calculateRogueXP(int level) {
-        double gain = BASE_GAIN * Math.pow(GAIN_MULT, level - 1);
-        return Math.min(gain, CAP_GAIN);
+        return LevelCurve.lookup(GAIN_TABLE, level);
     }
 }
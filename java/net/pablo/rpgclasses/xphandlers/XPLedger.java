@@ -0,0 +1,186 @@
+package net.pablo.rpgclasses.xphandlers;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.pablo.rpgclasses.RpgClassesMod;
+import net.pablo.rpgclasses.capability.IPlayerClass;
+import net.pablo.rpgclasses.capability.PlayerClassProvider;
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.config.ServerConfig;
+import net.pablo.rpgclasses.network.NetworkHandler;
+import net.pablo.rpgclasses.network.XPGainPacket;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+import net.pablo.rpgclasses.utils.TickScheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * XP granted during a tick, applied in one pass at the end of it.
+ *
+ * Grants are merged per class and per primary/secondary, so a multishot into a mob farm costs one
+ * addXP, one level check and one HUD entry per class instead of one per arrow, all sent to the
+ * player in one XPGainPacket. Chat gets a summary every few seconds instead of a line per grant
+ * (ServerConfig, xp section, 0 turns it off).
+ * Players are looked up again at flush, so a respawn mid-tick doesn't lose XP. Server thread only.
+ */
+@Mod.EventBusSubscriber(modid = RpgClassesMod.MOD_ID)
+public class XPLedger {
+
+    private static class Ledger {
+        // Index = class id * 2, +1 for secondary
+        final int[] pending;
+        // Bits of the pending slots that are set
+        long pendingMask;
+        // XP per class since the last chat summary
+        final int[] summary;
+        long summaryStartTick = -1;
+
+        Ledger(int classCount) {
+            pending = new int[classCount * 2];
+            summary = new int[classCount];
+        }
+    }
+
+    private static final Map<UUID, Ledger> ledgers = new HashMap<>();
+
+    // Counters for /rpgdebug xpledger
+    private static long grants = 0;
+    private static long applied = 0;
+    private static long summaries = 0;
+
+    /** Queues XP for the end of the tick, callers have already checked AFK and scaled secondary XP */
+    public static void add(Player player, RPGClass rpgClass, int xpAmount, boolean primary) {
+        if (xpAmount <= 0 || rpgClass.getId() < 0) return;
+
+        Ledger ledger = ledgers.get(player.getUUID());
+        if (ledger == null) {
+            ledger = new Ledger(RPGClassRegistry.getClassCount());
+            ledgers.put(player.getUUID(), ledger);
+        }
+
+        int slot = rpgClass.getId() * 2 + (primary ? 0 : 1);
+        ledger.pending[slot] += xpAmount;
+        ledger.pendingMask |= 1L << slot;
+        grants++;
+    }
+
+    // Late so XP from other end-of-tick handlers still lands this tick, before OutboundQueue flushes
+    @SubscribeEvent(priority = EventPriority.LOW)
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || ledgers.isEmpty()) return;
+
+        long now = TickScheduler.now();
+        int summaryTicks = ServerConfig.XP_CHAT_SUMMARY_SECONDS.get() * 20;
+        for (Map.Entry<UUID, Ledger> entry : ledgers.entrySet()) {
+            Ledger ledger = entry.getValue();
+            if (ledger.pendingMask == 0 && ledger.summaryStartTick < 0) continue;
+
+            ServerPlayer player = event.getServer().getPlayerList().getPlayer(entry.getKey());
+            if (player == null) continue;
+
+            if (ledger.pendingMask != 0) apply(player, ledger, now, summaryTicks > 0, true);
+            if (ledger.summaryStartTick >= 0 && now - ledger.summaryStartTick >= summaryTicks) {
+                sendSummary(player, ledger);
+            }
+        }
+    }
+
+    private static void apply(ServerPlayer player, Ledger ledger, long now, boolean summarize, boolean notify) {
+        IPlayerClass cap = player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).orElse(null);
+        if (cap == null) {
+            clearPending(ledger);
+            return;
+        }
+
+        XPGainPacket packet = notify ? new XPGainPacket(Long.bitCount(ledger.pendingMask)) : null;
+        long mask = ledger.pendingMask;
+        while (mask != 0) {
+            int slot = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+
+            int classId = slot >> 1;
+            int xpAmount = ledger.pending[slot];
+            ledger.pending[slot] = 0;
+
+            int oldLevel = cap.getLevel(classId);
+            cap.addXP(classId, xpAmount);
+            applied++;
+
+            // Level-up chat and skill points are handled by ClassLevelChangedEvent listeners
+            int newLevel = cap.getLevel(classId);
+            if (packet != null) packet.add(classId, xpAmount, (slot & 1) == 0, newLevel > oldLevel ? newLevel : 0);
+
+            if (summarize) {
+                if (ledger.summaryStartTick < 0) ledger.summaryStartTick = now;
+                ledger.summary[classId] += xpAmount;
+            }
+        }
+        ledger.pendingMask = 0;
+
+        // Floating XP on the HUD
+        if (packet != null) NetworkHandler.sendToClient(packet, player);
+    }
+
+    /** One chat line for everything gained since the last one */
+    private static void sendSummary(ServerPlayer player, Ledger ledger) {
+        IPlayerClass cap = player.getCapability(PlayerClassProvider.PLAYER_CLASS_CAPABILITY).orElse(null);
+        StringBuilder message = new StringBuilder();
+        for (int classId = 0; classId < ledger.summary.length; classId++) {
+            if (ledger.summary[classId] == 0) continue;
+            if (cap != null) {
+                if (message.length() > 0) message.append(", ");
+                message.append("Gained ").append(ledger.summary[classId])
+                        .append(" XP for ").append(RPGClassRegistry.getClassById(classId).getClassName())
+                        .append(" (Level: ").append(cap.getLevel(classId))
+                        .append(", XP: ").append(cap.getXP(classId)).append(")");
+            }
+            ledger.summary[classId] = 0;
+        }
+        ledger.summaryStartTick = -1;
+
+        if (message.length() > 0) {
+            player.sendSystemMessage(Component.literal(message.toString()));
+            summaries++;
+        }
+    }
+
+    private static void clearPending(Ledger ledger) {
+        long mask = ledger.pendingMask;
+        while (mask != 0) {
+            ledger.pending[Long.numberOfTrailingZeros(mask)] = 0;
+            mask &= mask - 1;
+        }
+        ledger.pendingMask = 0;
+    }
+
+    /** Applies what's still pending before the player is saved */
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        Ledger ledger = ledgers.remove(event.getEntity().getUUID());
+        if (ledger != null && ledger.pendingMask != 0 && event.getEntity() instanceof ServerPlayer player) {
+            apply(player, ledger, TickScheduler.now(), false, false);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        ledgers.clear();
+    }
+
+    public static String getStats() {
+        return "players=" + ledgers.size()
+                + ", grants=" + grants
+                + ", applied=" + applied
+                + (applied > 0 ? String.format(" (%.1f grants per apply)", grants / (double) applied) : "")
+                + ", summaries=" + summaries;
+    }
+}
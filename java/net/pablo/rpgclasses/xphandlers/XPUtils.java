@@ -1,12 +1,10 @@
 package net.pablo.rpgclasses.xphandlers;
 
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.network.chat.Component;
 import net.pablo.rpgclasses.capability.IPlayerClass;
-import net.pablo.rpgclasses.utils.AFKUtils;
-import net.pablo.rpgclasses.hud.XPDisplay;
-import net.pablo.rpgclasses.registry.IconRegistry;
+import net.pablo.rpgclasses.classes.RPGClass;
+import net.pablo.rpgclasses.registry.RPGClassRegistry;
+import net.pablo.rpgclasses.utils.PlayerActivityTracker;
 
 public class XPUtils {
 
@@ -18,58 +16,38 @@ public class XPUtils {
         addXPAndCheckLevel(player, cap, className, xpAmount, true); // Default to primary
     }
 
-    /** Add XP and notify player (with primary flag) - NEW METHOD */
+    /** Name based version, resolves the class through the registry */
     public static void addXPAndCheckLevel(Player player, IPlayerClass cap, String className, int xpAmount, boolean primary) {
-        if (player == null || cap == null || className == null) return;
-
-        // Check AFK
-        if (AFKUtils.isPlayerAFK(player)) return;
-
-        // Normalize class key
-        String key = className.toLowerCase();
-
-        // Get the icon for this class
-        ItemStack icon = IconRegistry.getIcon(key);
-
-        // Show floating XP on HUD
-        XPDisplay.showXP(xpAmount, icon, primary);
-
-        // Get old level before adding XP
-        int oldLevel = cap.getLevel(key);
-
-        // Add XP
-        cap.addXP(key, xpAmount);
-
-        // Retrieve updated XP and level
-        int newLevel = cap.getLevel(key);
-        int newXP = cap.getXP(key);
+        addXPAndCheckLevel(player, cap, RPGClassRegistry.getClassByName(className), xpAmount, primary);
+    }
 
-        // Optional: chat notification
-        player.sendSystemMessage(Component.literal(
-                "Gained " + xpAmount + " XP for " + className +
-                        " (Level: " + newLevel + ", XP: " + newXP + ")"
-        ));
+    /** Queue XP for the player (with primary flag), applied and shown at the end of the tick by XPLedger */
+    public static void addXPAndCheckLevel(Player player, IPlayerClass cap, RPGClass rpgClass, int xpAmount, boolean primary) {
+        if (player == null || cap == null || rpgClass == null) return;
 
-        // Notify player if they leveled up
-        if (newLevel > oldLevel) {
-            player.sendSystemMessage(Component.literal(
-                    "Your " + className + " class leveled up to " + newLevel + "!"
-            ));
+        // Check AFK
+        if (PlayerActivityTracker.isAfk(player)) return;
 
-            // Show level-up popup on HUD with icon
-            XPDisplay.showLevelUp(newLevel, icon);
-        }
+        XPLedger.add(player, rpgClass, xpAmount, primary);
     }
 
     /** Add secondary XP consistently */
     public static void addSecondaryXP(Player player, IPlayerClass cap, String className, int baseXP) {
+        addSecondaryXP(player, cap, RPGClassRegistry.getClassByName(className), baseXP);
+    }
+
+    public static void addSecondaryXP(Player player, IPlayerClass cap, RPGClass rpgClass, int baseXP) {
         int secondaryXP = (int)(baseXP * SECONDARY_XP_MULTIPLIER);
         // Always mark secondary XP as not primary (right side)
-        addXPAndCheckLevel(player, cap, className, secondaryXP, false);
+        addXPAndCheckLevel(player, cap, rpgClass, secondaryXP, false);
     }
 
     /** Add primary XP (left side) */
     public static void addPrimaryXP(Player player, IPlayerClass cap, String className, int xpAmount) {
         addXPAndCheckLevel(player, cap, className, xpAmount, true);
     }
-}
\ No newline at end of file
+
+    public static void addPrimaryXP(Player player, IPlayerClass cap, RPGClass rpgClass, int xpAmount) {
+        addXPAndCheckLevel(player, cap, rpgClass, xpAmount, true);
+    }
+}